@@ -53,7 +53,8 @@ CREATE TABLE users (
     INDEX idx_username (username) COMMENT 'Fast username lookup for login',
     INDEX idx_email (email) COMMENT 'Fast email lookup for registration',
     INDEX idx_role (role) COMMENT 'Fast role-based queries',
-    INDEX idx_active (is_active) COMMENT 'Fast active user queries'
+    INDEX idx_active (is_active) COMMENT 'Fast active user queries',
+    INDEX idx_role_created (role, created_date) COMMENT 'Keyset paging of the customer list'
 ) 
 ENGINE=InnoDB 
 COMMENT='System users including customers and bank managers';
@@ -105,7 +106,8 @@ CREATE TABLE accounts (
     INDEX idx_account_type (account_type) COMMENT 'Fast account type queries',
     INDEX idx_status (status) COMMENT 'Fast status-based queries',
     INDEX idx_balance (balance) COMMENT 'Fast balance range queries',
-    INDEX idx_created_date (created_date) COMMENT 'Fast date range queries'
+    INDEX idx_created_date (created_date) COMMENT 'Fast date range queries',
+    INDEX idx_created_account (created_date, account_number) COMMENT 'Keyset paging of the account list'
 ) 
 ENGINE=InnoDB 
 COMMENT='Bank accounts owned by customers';
@@ -162,6 +164,7 @@ CREATE TABLE transactions (
     INDEX idx_account_number (account_number) COMMENT 'Fast account transaction lookup',
     INDEX idx_transaction_type (transaction_type) COMMENT 'Fast transaction type queries',
     INDEX idx_timestamp (timestamp) COMMENT 'Fast date range queries',
+    INDEX idx_timestamp_id (timestamp, transaction_id) COMMENT 'Keyset paging of the transaction list',
     INDEX idx_amount (amount) COMMENT 'Fast amount range queries',
     INDEX idx_reference_number (reference_number) COMMENT 'Fast transfer lookup',
     INDEX idx_created_by (created_by) COMMENT 'Fast user transaction lookup'
@@ -222,6 +225,106 @@ CREATE TABLE audit_log (
 ENGINE=InnoDB 
 COMMENT='Audit trail for all system activities';
 
+-- =====================================================
+-- 4b. ACCOUNT SEQUENCES TABLE
+-- =====================================================
+-- Purpose: Allocate account numbers without scanning accounts
+-- Business Rules:
+--   - One row per sequence, next_value is the next unissued number
+--   - Application servers reserve blocks with
+--     UPDATE ... SET next_value = LAST_INSERT_ID(next_value + n)
+--   - Reservations commit immediately; skipped numbers are never reused
+-- =====================================================
+
+CREATE TABLE account_sequences (
+    name VARCHAR(50) PRIMARY KEY 
+        COMMENT 'Sequence name (e.g., ACCOUNT_NUMBER)',
+    next_value BIGINT NOT NULL 
+        COMMENT 'Next value to hand out'
+) 
+ENGINE=InnoDB 
+COMMENT='Block-allocated number sequences';
+
+-- =====================================================
+-- 4c. JOB CHECKPOINTS TABLE
+-- =====================================================
+-- Purpose: Make long-running batch jobs restartable
+-- Business Rules:
+--   - One row per job; a new run resets the row
+--   - last_key advances in the same transaction as each chunk of work
+--   - A RUNNING row is resumed after last_key by the next run
+--   - A run whose input_hash differs from the row's is refused, not resumed
+-- =====================================================
+
+CREATE TABLE job_checkpoints (
+    job_name VARCHAR(100) PRIMARY KEY 
+        COMMENT 'Batch job identifier (e.g., INTEREST_CREDIT)',
+    run_id VARCHAR(50) NOT NULL 
+        COMMENT 'Current or last run; used as ledger reference number',
+    last_key VARCHAR(100) NOT NULL DEFAULT '' 
+        COMMENT 'Highest key committed by the run',
+    processed_count BIGINT NOT NULL DEFAULT 0 
+        COMMENT 'Records processed so far in the run',
+    input_hash VARCHAR(64) NOT NULL DEFAULT '' 
+        COMMENT 'Hash of the input the run started on; empty if not recorded',
+    status ENUM('RUNNING', 'COMPLETED') NOT NULL 
+        COMMENT 'RUNNING rows are resumed on the next run',
+    started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP 
+        COMMENT 'When the run started',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP 
+        COMMENT 'Last checkpoint write'
+) 
+ENGINE=InnoDB 
+COMMENT='Checkpoints for restartable batch jobs';
+
+-- =====================================================
+-- 4d. CHANGE LOG TABLE
+-- =====================================================
+-- Purpose: Let open screens reload only what other writes changed
+-- Business Rules:
+--   - Written in the same transaction as the change it records
+--   - Writes touching more than 100 keys of a type log one '*' row
+--   - Rows older than a day are purged by the pollers
+-- =====================================================
+
+CREATE TABLE change_log (
+    change_id BIGINT AUTO_INCREMENT PRIMARY KEY 
+        COMMENT 'Feed position; pollers read past the highest id seen',
+    entity_type VARCHAR(20) NOT NULL 
+        COMMENT 'ACCOUNT or USER',
+    entity_key VARCHAR(50) NOT NULL 
+        COMMENT 'Account number or user id, or * for all of the type',
+    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP 
+        COMMENT 'Used for retention only',
+    
+    INDEX idx_changed_at (changed_at) COMMENT 'Retention purge'
+) 
+ENGINE=InnoDB 
+COMMENT='Changed entities for the change feed';
+
+-- =====================================================
+-- 4e. NODE LEASES TABLE
+-- =====================================================
+-- Purpose: Give every running application its own id generator node id
+-- Business Rules:
+--   - One row per node id (0-1023) ever leased
+--   - The holder renews expires_at while it runs and stops issuing ids
+--     if a renewal is overdue
+--   - An expired row is only reclaimed once it has been expired for a
+--     further lease period
+-- =====================================================
+
+CREATE TABLE node_leases (
+    node_id SMALLINT PRIMARY KEY 
+        COMMENT 'Node id embedded in transaction ids and references',
+    owner VARCHAR(100) NOT NULL 
+        COMMENT 'Process holding the lease (pid@host/random)',
+    expires_at TIMESTAMP(3) NOT NULL 
+        COMMENT 'Lease end unless renewed'
+) 
+ENGINE=InnoDB 
+COMMENT='Id generator node ids leased by running applications';
+
 -- =====================================================
 -- 5. VIEWS FOR COMMON QUERIES
 -- =====================================================
@@ -285,11 +388,9 @@ CREATE PROCEDURE CreateAccount(
     OUT p_account_number VARCHAR(20)
 )
 BEGIN
-    DECLARE v_account_count INT;
-    
-    -- Generate account number
-    SELECT COUNT(*) + 1 INTO v_account_count FROM accounts;
-    SET p_account_number = CONCAT('ACC', LPAD(v_account_count, 10, '0'));
+    -- Generate account number from the shared sequence (same source as the application allocator)
+    UPDATE account_sequences SET next_value = LAST_INSERT_ID(next_value + 1) WHERE name = 'ACCOUNT_NUMBER';
+    SET p_account_number = CONCAT('ACC', LPAD(LAST_INSERT_ID() - 1, 10, '0'));
     
     -- Insert account
     INSERT INTO accounts (account_number, account_holder_name, account_type, balance, customer_id)
@@ -400,6 +501,10 @@ INSERT IGNORE INTO users (username, password, full_name, email, role) VALUES
 ('manager', 'manager123', 'Bank Manager', 'manager@bank.com', 'BANK_MANAGER'),
 ('customer', 'customer123', 'John Doe', 'john.doe@email.com', 'CUSTOMER');
 
+-- Start account numbers after the highest one already issued
+INSERT IGNORE INTO account_sequences (name, next_value)
+SELECT 'ACCOUNT_NUMBER', COALESCE(MAX(CAST(SUBSTRING(account_number, 4) AS UNSIGNED)), 0) + 1 FROM accounts;
+
 -- =====================================================
 -- 9. PERFORMANCE OPTIMIZATION
 -- =====================================================
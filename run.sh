@@ -18,6 +18,14 @@ fi
 # Set classpath
 CLASSPATH="build/classes:lib/mysql-connector-j-8.2.0.jar"
 
+# Headless API server: ./run.sh --server [port]
+if [ "$1" = "--server" ]; then
+    echo "Starting Banking API server..."
+    echo "Make sure MySQL server is running on localhost:3306"
+    java -cp "$CLASSPATH" server.BankingServer "${@:2}"
+    exit $?
+fi
+
 echo "Starting Banking Application..."
 echo "Make sure MySQL server is running on localhost:3306"
 echo "Default database credentials: root/password"
@@ -25,7 +25,8 @@ CREATE TABLE IF NOT EXISTS users (
     is_active BOOLEAN DEFAULT TRUE,
     last_login TIMESTAMP NULL,
     INDEX idx_username (username),
-    INDEX idx_email (email)
+    INDEX idx_email (email),
+    INDEX idx_role_created (role, created_date)
 );
 
 -- Accounts table
@@ -41,7 +42,8 @@ CREATE TABLE IF NOT EXISTS accounts (
     FOREIGN KEY (customer_id) REFERENCES users(user_id) ON DELETE CASCADE,
     INDEX idx_customer_id (customer_id),
     INDEX idx_account_type (account_type),
-    INDEX idx_status (status)
+    INDEX idx_status (status),
+    INDEX idx_created_account (created_date, account_number)
 );
 
 -- Transactions table
@@ -60,6 +62,7 @@ CREATE TABLE IF NOT EXISTS transactions (
     INDEX idx_account_number (account_number),
     INDEX idx_transaction_type (transaction_type),
     INDEX idx_timestamp (timestamp),
+    INDEX idx_timestamp_id (timestamp, transaction_id),
     INDEX idx_amount (amount)
 );
 
@@ -80,11 +83,49 @@ CREATE TABLE IF NOT EXISTS audit_log (
     INDEX idx_timestamp (timestamp)
 );
 
+-- Account number sequence (blocks are reserved by the application)
+CREATE TABLE IF NOT EXISTS account_sequences (
+    name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+-- Checkpoints for restartable batch jobs (interest runs)
+CREATE TABLE IF NOT EXISTS job_checkpoints (
+    job_name VARCHAR(100) PRIMARY KEY,
+    run_id VARCHAR(50) NOT NULL,
+    last_key VARCHAR(100) NOT NULL DEFAULT '',
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    input_hash VARCHAR(64) NOT NULL DEFAULT '',
+    status ENUM('RUNNING', 'COMPLETED') NOT NULL,
+    started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- Change log read by the GUIs' change feed
+CREATE TABLE IF NOT EXISTS change_log (
+    change_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_key VARCHAR(50) NOT NULL,
+    changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_changed_at (changed_at)
+);
+
+-- Id generator node ids leased by running applications
+CREATE TABLE IF NOT EXISTS node_leases (
+    node_id SMALLINT PRIMARY KEY,
+    owner VARCHAR(100) NOT NULL,
+    expires_at TIMESTAMP(3) NOT NULL
+);
+
 -- Insert default users
 INSERT IGNORE INTO users (username, password, full_name, email, role) VALUES 
 ('manager', 'manager123', 'Bank Manager', 'manager@bank.com', 'BANK_MANAGER'),
 ('customer', 'customer123', 'John Doe', 'john.doe@email.com', 'CUSTOMER');
 
+-- Start account numbers after the highest one already issued
+INSERT IGNORE INTO account_sequences (name, next_value)
+SELECT 'ACCOUNT_NUMBER', COALESCE(MAX(CAST(SUBSTRING(account_number, 4) AS UNSIGNED)), 0) + 1 FROM accounts;
+
 -- Show created tables
 SHOW TABLES;
 
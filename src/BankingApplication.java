@@ -101,7 +101,7 @@ public class BankingApplication {
     static {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             logger.info("Banking Application shutting down...");
-            // Add any cleanup code here
+            DatabaseManager.shutdown();
             logger.info("Banking Application shutdown complete");
         }));
     }
@@ -0,0 +1,88 @@
+package benchmark;
+
+import dao.AccountDAO;
+import dao.Page;
+import dao.TransactionDAO;
+import database.DatabaseConfig;
+import database.DatabaseManager;
+import models.Account;
+import models.AccountStatus;
+import models.Money;
+import services.BulkCredit;
+import services.BulkPostingResult;
+import services.BulkPostingService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures bulk credit throughput through BulkPostingService.postCredits,
+ * the path behind the bulk API, in credits per minute. Each run posts a new
+ * batch of ₹1.00 credits spread round-robin over the active accounts, then
+ * posts the same batch again to time the completed-batch check.
+ *
+ * Every credit adds money and a ledger row: run it against a test database.
+ *
+ * Run: java -cp build/classes:lib/mysql-connector-j-8.2.0.jar benchmark.BulkPostingBenchmark
+ *          [credits] [accounts] [runs]
+ */
+public class BulkPostingBenchmark {
+    private static final int WARMUP_CREDITS = 5000;
+    private static final Money AMOUNT = Money.ofRupees(1);
+    
+    public static void main(String[] args) throws Exception {
+        int creditCount = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int accountCount = args.length > 1 ? Integer.parseInt(args[1]) : DatabaseConfig.MAX_PAGE_SIZE;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        
+        DatabaseManager.initializeDatabase();
+        List<String> accounts = activeAccounts(accountCount);
+        if (accounts.isEmpty()) {
+            System.out.println("No active accounts to credit; create some first.");
+            return;
+        }
+        
+        BulkPostingService service = new BulkPostingService(new AccountDAO(), new TransactionDAO());
+        String prefix = "BENCH-" + System.currentTimeMillis() + "-";
+        service.postCredits(prefix + "warmup", credits(accounts, WARMUP_CREDITS));
+        
+        System.out.println("Bulk posting benchmark: " + creditCount + " credits on " + accounts.size()
+            + " accounts, chunks of " + DatabaseConfig.BULK_CHUNK_SIZE);
+        System.out.println();
+        System.out.println("  run  credits  chunks  elapsed(ms)  credits/min  repeat(ms)");
+        
+        for (int run = 1; run <= runs; run++) {
+            List<BulkCredit> credits = credits(accounts, creditCount);
+            String batchId = prefix + run;
+            BulkPostingResult result = service.postCredits(batchId, credits);
+            
+            // The same batch again only finds the completed checkpoint
+            long start = System.nanoTime();
+            service.postCredits(batchId, credits);
+            long repeatMillis = (System.nanoTime() - start) / 1_000_000;
+            
+            System.out.printf("  %3d  %7d  %6d  %11d  %11.0f  %10d%n", run, result.getCredited(), result.getChunks(),
+                result.getElapsedMillis(), result.getCreditsPerMinute(), repeatMillis);
+        }
+        DatabaseManager.shutdown();
+    }
+    
+    private static List<BulkCredit> credits(List<String> accounts, int count) {
+        List<BulkCredit> credits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            credits.add(new BulkCredit(i + 1, accounts.get(i % accounts.size()), AMOUNT, "Benchmark"));
+        }
+        return credits;
+    }
+    
+    private static List<String> activeAccounts(int limit) throws Exception {
+        Page<Account> page = new AccountDAO().getAccountsPage(null, limit);
+        List<String> accounts = new ArrayList<>();
+        for (Account account : page.getItems()) {
+            if (account.getStatus() == AccountStatus.ACTIVE) {
+                accounts.add(account.getAccountNumber());
+            }
+        }
+        return accounts;
+    }
+}
\ No newline at end of file
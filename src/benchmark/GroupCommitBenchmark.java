@@ -0,0 +1,106 @@
+package benchmark;
+
+import dao.AccountDAO;
+import dao.Page;
+import database.DatabaseConfig;
+import database.DatabaseManager;
+import models.Account;
+import models.AccountStatus;
+import models.Money;
+import services.PostingPipeline;
+import services.PostingStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures posting throughput through the PostingPipeline at different
+ * group-commit settings. Batch size 1 is the one-commit-per-posting baseline.
+ *
+ * Every caller thread posts deposit/withdrawal pairs of ₹1.00 on active
+ * accounts, so balances end where they started, but each posting adds a
+ * ledger row: run it against a test database.
+ *
+ * Run: java -cp build/classes:lib/mysql-connector-j-8.2.0.jar benchmark.GroupCommitBenchmark
+ *          [postings] [callerThreads] [batchSize:lingerMicros,...]
+ */
+public class GroupCommitBenchmark {
+    private static final int ACCOUNTS = 200;
+    private static final int WARMUP_POSTINGS = 500;
+    private static final Money AMOUNT = Money.ofRupees(1);
+    
+    public static void main(String[] args) throws Exception {
+        int postings = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int callers = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        String settings = args.length > 2 ? args[2] : "1:0,8:0,32:200,64:200,128:500";
+        
+        DatabaseManager.initializeDatabase();
+        List<String> accounts = activeAccounts();
+        if (accounts.isEmpty()) {
+            System.out.println("No active accounts to post against; create some first.");
+            return;
+        }
+        
+        System.out.println("Group commit benchmark: " + postings + " postings from " + callers + " callers on "
+            + accounts.size() + " accounts, " + DatabaseConfig.POSTING_SHARDS + " writers");
+        System.out.println();
+        System.out.println("  batch  linger(us)  postings/s  commits  per commit  p50(us)  p99(us)  failed");
+        
+        for (String setting : settings.split(",")) {
+            String[] parts = setting.trim().split(":");
+            int batchSize = Integer.parseInt(parts[0]);
+            long lingerMicros = parts.length > 1 ? Long.parseLong(parts[1]) : 0;
+            
+            run(accounts, WARMUP_POSTINGS, callers, batchSize, lingerMicros);
+            long start = System.nanoTime();
+            PostingStats stats = run(accounts, postings, callers, batchSize, lingerMicros);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            
+            System.out.printf("  %5d  %10d  %10.0f  %7d  %10.1f  %7d  %7d  %6d%n",
+                batchSize, lingerMicros, postings / seconds, stats.getCommits(), stats.getPostingsPerCommit(),
+                stats.getLatency().getP50Micros(), stats.getLatency().getP99Micros(), stats.getFailed());
+        }
+        DatabaseManager.shutdown();
+    }
+    
+    private static PostingStats run(List<String> accounts, int postings, int callers, int batchSize, long lingerMicros)
+            throws InterruptedException {
+        // Room for every posting, so the run measures commits rather than backpressure
+        PostingPipeline pipeline = new PostingPipeline(DatabaseConfig.POSTING_SHARDS, postings, batchSize, lingerMicros);
+        CountDownLatch done = new CountDownLatch(callers);
+        for (int c = 0; c < callers; c++) {
+            int caller = c;
+            Thread thread = new Thread(() -> {
+                List<CompletableFuture<Money>> futures = new ArrayList<>();
+                // Pairs on one account, so each withdrawal is queued behind its deposit
+                for (int i = caller * 2; i < postings; i += callers * 2) {
+                    String account = accounts.get((i / 2) % accounts.size());
+                    futures.add(pipeline.post(account, "DEPOSIT", AMOUNT, AMOUNT, "Benchmark"));
+                    if (i + 1 < postings) {
+                        futures.add(pipeline.post(account, "WITHDRAWAL", AMOUNT, AMOUNT.negate(), "Benchmark"));
+                    }
+                }
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+                done.countDown();
+            }, "benchmark-caller-" + c);
+            thread.start();
+        }
+        done.await();
+        PostingStats stats = pipeline.getStats();
+        pipeline.shutdown();
+        return stats;
+    }
+    
+    private static List<String> activeAccounts() throws Exception {
+        Page<Account> page = new AccountDAO().getAccountsPage(null, ACCOUNTS);
+        List<String> accounts = new ArrayList<>();
+        for (Account account : page.getItems()) {
+            if (account.getStatus() == AccountStatus.ACTIVE) {
+                accounts.add(account.getAccountNumber());
+            }
+        }
+        return accounts;
+    }
+}
\ No newline at end of file
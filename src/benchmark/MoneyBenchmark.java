@@ -0,0 +1,161 @@
+package benchmark;
+
+import models.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+/**
+ * Compares the fixed-point Money path with the double arithmetic it replaced.
+ * Replays the same postings and monthly interest credits on both and reports
+ * the elapsed time and how far the double totals drift from the exact result.
+ *
+ * Run: java -cp build/classes benchmark.MoneyBenchmark [accounts] [postingsPerAccount]
+ */
+public class MoneyBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    
+    public static void main(String[] args) {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int postingsPerAccount = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        
+        long[] amounts = generateAmounts(accounts * postingsPerAccount);
+        String[] columnValues = generateColumnValues(100000);
+        
+        System.out.println("Money benchmark: " + accounts + " accounts x " + postingsPerAccount + " postings, 12 interest credits");
+        System.out.println();
+        
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runDouble(accounts, amounts);
+            runMoney(accounts, amounts);
+            parseDouble(columnValues);
+            parseMoney(columnValues);
+            parseBigDecimal(columnValues);
+        }
+        
+        long doubleNanos = 0, moneyNanos = 0;
+        double doubleTotal = 0;
+        Money moneyTotal = Money.ZERO;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            doubleTotal = runDouble(accounts, amounts);
+            doubleNanos += System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            moneyTotal = runMoney(accounts, amounts);
+            moneyNanos += System.nanoTime() - start;
+        }
+        
+        System.out.println("Posting + interest path");
+        System.out.printf("  double : %8.2f ms   total %.6f%n", doubleNanos / 1e6 / MEASURED_ROUNDS, doubleTotal);
+        System.out.printf("  Money  : %8.2f ms   total %s%n", moneyNanos / 1e6 / MEASURED_ROUNDS, moneyTotal);
+        System.out.printf("  double drift from exact: %.6f%n", doubleTotal - moneyTotal.getPaise() / 100.0);
+        System.out.println();
+        
+        long parseDoubleNanos = 0, parseMoneyNanos = 0, parseBigDecimalNanos = 0;
+        long checksum = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            checksum += (long) parseDouble(columnValues);
+            parseDoubleNanos += System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            checksum += parseMoney(columnValues);
+            parseMoneyNanos += System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            checksum += parseBigDecimal(columnValues);
+            parseBigDecimalNanos += System.nanoTime() - start;
+        }
+        
+        System.out.println("DECIMAL(15,2) column mapping (" + columnValues.length + " values)");
+        System.out.printf("  Double.parseDouble : %8.2f ms%n", parseDoubleNanos / 1e6 / MEASURED_ROUNDS);
+        System.out.printf("  Money.parse        : %8.2f ms%n", parseMoneyNanos / 1e6 / MEASURED_ROUNDS);
+        System.out.printf("  new BigDecimal     : %8.2f ms%n", parseBigDecimalNanos / 1e6 / MEASURED_ROUNDS);
+        System.out.println("  (checksum " + checksum + ")");
+    }
+    
+    private static double runDouble(int accounts, long[] amounts) {
+        double[] balances = new double[accounts];
+        for (int i = 0; i < amounts.length; i++) {
+            balances[i % accounts] += amounts[i] / 100.0;
+        }
+        for (int month = 0; month < 12; month++) {
+            for (int a = 0; a < accounts; a++) {
+                balances[a] += balances[a] * 0.04 / 12;
+            }
+        }
+        double total = 0;
+        for (double balance : balances) {
+            total += balance;
+        }
+        return total;
+    }
+    
+    private static Money runMoney(int accounts, long[] amounts) {
+        Money[] balances = new Money[accounts];
+        for (int a = 0; a < accounts; a++) {
+            balances[a] = Money.ZERO;
+        }
+        for (int i = 0; i < amounts.length; i++) {
+            int a = i % accounts;
+            balances[a] = balances[a].plus(Money.ofPaise(amounts[i]));
+        }
+        for (int month = 0; month < 12; month++) {
+            for (int a = 0; a < accounts; a++) {
+                balances[a] = balances[a].plus(balances[a].interest(400, 12));
+            }
+        }
+        Money total = Money.ZERO;
+        for (Money balance : balances) {
+            total = total.plus(balance);
+        }
+        return total;
+    }
+    
+    private static double parseDouble(String[] values) {
+        double sum = 0;
+        for (String value : values) {
+            sum += Double.parseDouble(value);
+        }
+        return sum;
+    }
+    
+    private static long parseMoney(String[] values) {
+        long sum = 0;
+        for (String value : values) {
+            sum += Money.parse(value).getPaise();
+        }
+        return sum;
+    }
+    
+    private static long parseBigDecimal(String[] values) {
+        long sum = 0;
+        for (String value : values) {
+            sum += new BigDecimal(value).setScale(2, RoundingMode.UNNECESSARY).unscaledValue().longValue();
+        }
+        return sum;
+    }
+    
+    // Deposits and withdrawals between ₹0.01 and ₹50,000, skewed towards deposits
+    private static long[] generateAmounts(int count) {
+        Random random = new Random(42);
+        long[] amounts = new long[count];
+        for (int i = 0; i < count; i++) {
+            long paise = 1 + random.nextInt(5_000_000);
+            amounts[i] = random.nextInt(3) == 0 ? -paise / 2 : paise;
+        }
+        return amounts;
+    }
+    
+    private static String[] generateColumnValues(int count) {
+        Random random = new Random(7);
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = Money.ofPaise(random.nextInt(1_000_000_000)).toString();
+        }
+        return values;
+    }
+}
\ No newline at end of file
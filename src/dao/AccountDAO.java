@@ -7,8 +7,14 @@ import exceptions.AccountNotFoundException;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -16,23 +22,30 @@ public class AccountDAO {
     private static final Logger logger = Logger.getLogger(AccountDAO.class.getName());
     
     public boolean createAccount(Account account) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            boolean created = createAccount(conn, account);
+            conn.commit();
+            return created;
+        }
+    }
+    
+    // Joins the caller's transaction; the caller is responsible for commit
+    public boolean createAccount(Connection conn, Account account) throws SQLException {
         String sql = """
             INSERT INTO accounts (account_number, account_holder_name, account_type, 
-            balance, customer_id, status) VALUES (?, ?, ?, ?, ?, ?)
+            balance, customer_id, status) VALUES (?, ?, ?, ? / 100, ?, ?)
         """;
         
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, account.getAccountNumber());
             pstmt.setString(2, account.getAccountHolderName());
             pstmt.setString(3, account.getAccountType());
-            pstmt.setDouble(4, account.getBalance());
+            pstmt.setLong(4, account.getBalance().getPaise());
             pstmt.setInt(5, account.getCustomerId());
             pstmt.setString(6, account.getStatus().name());
             
             int affectedRows = pstmt.executeUpdate();
-            conn.commit();
             
             if (affectedRows > 0) {
                 logger.info("Account created successfully: " + account.getAccountNumber());
@@ -46,10 +59,15 @@ public class AccountDAO {
     }
     
     public Optional<Account> getAccountByNumber(String accountNumber) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            return getAccountByNumber(conn, accountNumber);
+        }
+    }
+    
+    public Optional<Account> getAccountByNumber(Connection conn, String accountNumber) throws SQLException {
         String sql = "SELECT * FROM accounts WHERE account_number = ?";
         
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, accountNumber);
             
@@ -104,23 +122,109 @@ public class AccountDAO {
         return accounts;
     }
     
+    /**
+     * Newest-first page of all accounts, keyed on (created_date, account_number).
+     * Pass a null cursor for the first page.
+     */
+    public Page<Account> getAccountsPage(PageCursor after, int pageSize) throws SQLException {
+        return getAccountsPage(after, pageSize, false);
+    }
+    
+    // Same keyset walked in either direction; both use idx_created_account
+    public Page<Account> getAccountsPage(PageCursor after, int pageSize, boolean oldestFirst) throws SQLException {
+        int limit = Page.clampSize(pageSize);
+        String direction = oldestFirst ? "ASC" : "DESC";
+        String seek = oldestFirst ? ">" : "<";
+        String sql = "SELECT * FROM accounts"
+            + (after == null ? "" : " WHERE created_date " + seek + " ? OR (created_date = ? AND account_number " + seek + " ?)")
+            + " ORDER BY created_date " + direction + ", account_number " + direction + " LIMIT ?";
+        List<Account> accounts = new ArrayList<>(limit + 1);
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            if (after != null) {
+                Timestamp createdDate = Timestamp.valueOf(after.getTimestamp());
+                pstmt.setTimestamp(index++, createdDate);
+                pstmt.setTimestamp(index++, createdDate);
+                pstmt.setString(index++, after.getKey());
+            }
+            pstmt.setInt(index, limit + 1);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    accounts.add(mapResultSetToAccount(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error fetching account page after: " + after, e);
+            throw e;
+        }
+        return Page.of(accounts, limit,
+            account -> new PageCursor(account.getCreatedDate(), account.getAccountNumber()));
+    }
+    
+    // One row per (type, status) pair; aggregated in the database
+    public List<AccountTotals> getAccountTotals() throws SQLException {
+        String sql = """
+            SELECT account_type, status, COUNT(*) AS account_count, COALESCE(SUM(balance), 0) AS total_balance 
+            FROM accounts GROUP BY account_type, status
+        """;
+        List<AccountTotals> totals = new ArrayList<>();
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                totals.add(new AccountTotals(
+                    rs.getString("account_type"),
+                    AccountStatus.valueOf(rs.getString("status")),
+                    rs.getLong("account_count"),
+                    Money.parse(rs.getString("total_balance"))));
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error fetching account totals", e);
+            throw e;
+        }
+        return totals;
+    }
+    
+    // Streams every account in account-number order; the caller must close the cursor
+    public RowCursor<Account> openAccountCursor() throws SQLException {
+        try {
+            return RowCursor.open("SELECT * FROM accounts ORDER BY account_number",
+                pstmt -> { }, this::mapResultSetToAccount);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error opening account cursor", e);
+            throw e;
+        }
+    }
+    
     public boolean updateAccount(Account account) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            boolean updated = updateAccount(conn, account);
+            conn.commit();
+            return updated;
+        }
+    }
+    
+    public boolean updateAccount(Connection conn, Account account) throws SQLException {
         String sql = """
-            UPDATE accounts SET account_holder_name = ?, balance = ?, 
+            UPDATE accounts SET account_holder_name = ?, balance = ? / 100, 
             status = ?, last_transaction_date = CURRENT_TIMESTAMP 
             WHERE account_number = ?
         """;
         
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, account.getAccountHolderName());
-            pstmt.setDouble(2, account.getBalance());
+            pstmt.setLong(2, account.getBalance().getPaise());
             pstmt.setString(3, account.getStatus().name());
             pstmt.setString(4, account.getAccountNumber());
             
             int affectedRows = pstmt.executeUpdate();
-            conn.commit();
             
             if (affectedRows > 0) {
                 logger.info("Account updated successfully: " + account.getAccountNumber());
@@ -133,20 +237,41 @@ public class AccountDAO {
         }
     }
     
-    public boolean updateBalance(String accountNumber, double newBalance) throws SQLException {
+    // Status only, so a balance posted meanwhile is never written back; false if missing or already closed
+    public boolean closeAccount(Connection conn, String accountNumber) throws SQLException {
+        String sql = "UPDATE accounts SET status = 'CLOSED' WHERE account_number = ? AND status <> 'CLOSED'";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, accountNumber);
+            
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error closing account: " + accountNumber, e);
+            throw e;
+        }
+    }
+    
+    public boolean updateBalance(String accountNumber, Money newBalance) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            boolean updated = updateBalance(conn, accountNumber, newBalance);
+            conn.commit();
+            return updated;
+        }
+    }
+    
+    public boolean updateBalance(Connection conn, String accountNumber, Money newBalance) throws SQLException {
         String sql = """
-            UPDATE accounts SET balance = ?, last_transaction_date = CURRENT_TIMESTAMP 
+            UPDATE accounts SET balance = ? / 100, last_transaction_date = CURRENT_TIMESTAMP 
             WHERE account_number = ?
         """;
         
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setDouble(1, newBalance);
+            pstmt.setLong(1, newBalance.getPaise());
             pstmt.setString(2, accountNumber);
             
             int affectedRows = pstmt.executeUpdate();
-            conn.commit();
             
             return affectedRows > 0;
         } catch (SQLException e) {
@@ -155,6 +280,163 @@ public class AccountDAO {
         }
     }
     
+    /**
+     * Applies a signed balance change in the database instead of writing back a
+     * balance computed in Java, so concurrent postings cannot overwrite each other.
+     * Debits are only applied while the account stays at or above its minimum
+     * balance, and only ACTIVE accounts accept postings. The guarded UPDATE and
+     * the read-back of the resulting balance travel in a single round trip.
+     */
+    public PostingResult postBalanceChange(Connection conn, String accountNumber, Money amount) throws SQLException {
+        String sql = """
+            UPDATE accounts SET balance = balance + ? / 100, last_transaction_date = CURRENT_TIMESTAMP 
+            WHERE account_number = ? AND status = 'ACTIVE' 
+            AND (? >= 0 OR balance + ? / 100 >= CASE account_type WHEN 'SAVINGS' THEN ? / 100 ELSE ? / 100 END);
+            SELECT balance, status, account_type FROM accounts WHERE account_number = ?
+        """;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setLong(1, amount.getPaise());
+            pstmt.setString(2, accountNumber);
+            pstmt.setLong(3, amount.getPaise());
+            pstmt.setLong(4, amount.getPaise());
+            pstmt.setLong(5, SavingsAccount.getStaticMinimumBalance().getPaise());
+            pstmt.setLong(6, CurrentAccount.getStaticMinimumBalance().getPaise());
+            pstmt.setString(7, accountNumber);
+            
+            pstmt.execute();
+            boolean applied = pstmt.getUpdateCount() > 0;
+            
+            if (!pstmt.getMoreResults()) {
+                throw new SQLException("Balance read-back missing for account: " + accountNumber);
+            }
+            try (ResultSet rs = pstmt.getResultSet()) {
+                if (!rs.next()) {
+                    return PostingResult.accountNotFound();
+                }
+                String accountType = rs.getString("account_type");
+                AccountStatus status = AccountStatus.valueOf(rs.getString("status"));
+                Money balance = Money.parse(rs.getString("balance"));
+                return applied
+                    ? PostingResult.applied(accountType, status, balance)
+                    : PostingResult.rejected(accountType, status, balance);
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error posting balance change for account: " + accountNumber, e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Takes row locks on the given accounts in ascending account-number order and
+     * returns the account numbers that exist. Every caller that locks more than one
+     * account goes through here, so two transactions can never wait on each other
+     * in opposite order.
+     */
+    public Set<String> lockAccounts(Connection conn, Collection<String> accountNumbers) throws SQLException {
+        String sql = "SELECT account_number FROM accounts WHERE account_number = ? FOR UPDATE";
+        Set<String> found = new TreeSet<>();
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (String accountNumber : new TreeSet<>(accountNumbers)) {
+                pstmt.setString(1, accountNumber);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        found.add(accountNumber);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error locking accounts: " + accountNumbers, e);
+            throw e;
+        }
+        return found;
+    }
+    
+    /**
+     * Locks and returns the next active accounts after the given account number,
+     * in account-number order. Used by chunked batch jobs; pass "" to start.
+     */
+    public List<Account> lockActiveAccountsAfter(Connection conn, String afterAccountNumber, int limit) throws SQLException {
+        String sql = """
+            SELECT * FROM accounts WHERE account_number > ? AND status = 'ACTIVE' 
+            ORDER BY account_number LIMIT ? FOR UPDATE
+        """;
+        List<Account> accounts = new ArrayList<>();
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, afterAccountNumber);
+            pstmt.setInt(2, limit);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    accounts.add(mapResultSetToAccount(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error locking accounts after: " + afterAccountNumber, e);
+            throw e;
+        }
+        return accounts;
+    }
+    
+    /**
+     * Locks the given accounts in one round trip and returns those that exist,
+     * keyed by account number. Rows are locked in account-number order.
+     */
+    public Map<String, Account> lockAccountsByNumber(Connection conn, Collection<String> accountNumbers) throws SQLException {
+        Map<String, Account> accounts = new HashMap<>();
+        if (accountNumbers.isEmpty()) {
+            return accounts;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(accountNumbers.size(), "?"));
+        String sql = "SELECT * FROM accounts WHERE account_number IN (" + placeholders + ") ORDER BY account_number FOR UPDATE";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            for (String accountNumber : accountNumbers) {
+                pstmt.setString(index++, accountNumber);
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Account account = mapResultSetToAccount(rs);
+                    accounts.put(account.getAccountNumber(), account);
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error locking " + accountNumbers.size() + " accounts", e);
+            throw e;
+        }
+        return accounts;
+    }
+    
+    // Adds each transaction's amount to its account in one JDBC batch; rows must already be locked
+    public void creditBalances(Connection conn, List<Transaction> credits) throws SQLException {
+        if (credits.isEmpty()) {
+            return;
+        }
+        String sql = """
+            UPDATE accounts SET balance = balance + ? / 100, last_transaction_date = CURRENT_TIMESTAMP 
+            WHERE account_number = ?
+        """;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (Transaction credit : credits) {
+                pstmt.setLong(1, credit.getAmount().getPaise());
+                pstmt.setString(2, credit.getAccountNumber());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error applying batch of " + credits.size() + " balance credits", e);
+            throw e;
+        }
+    }
+    
     public boolean deleteAccount(String accountNumber) throws SQLException {
         String sql = "DELETE FROM accounts WHERE account_number = ?";
         
@@ -178,24 +460,11 @@ public class AccountDAO {
     }
     
     public String generateAccountNumber() throws SQLException {
-        String sql = "SELECT COUNT(*) as count FROM accounts";
-        
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            
-            if (rs.next()) {
-                int count = rs.getInt("count");
-                return String.format("ACC%010d", count + 1);
-            }
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Error generating account number", e);
-            throw e;
-        }
-        return "ACC0000000001";
+        return AccountNumberAllocator.getInstance().nextAccountNumber();
     }
     
-    private Account mapResultSetToAccount(ResultSet rs) throws SQLException {
+    // Package-private so ReportDAO can map the account columns of its joins
+    Account mapResultSetToAccount(ResultSet rs) throws SQLException {
         String accountType = rs.getString("account_type");
         Account account;
         
@@ -207,7 +476,7 @@ public class AccountDAO {
         
         account.setAccountNumber(rs.getString("account_number"));
         account.setAccountHolderName(rs.getString("account_holder_name"));
-        account.setBalance(rs.getDouble("balance"));
+        account.setBalance(Money.parse(rs.getString("balance")));
         account.setCustomerId(rs.getInt("customer_id"));
         account.setStatus(AccountStatus.valueOf(rs.getString("status")));
         
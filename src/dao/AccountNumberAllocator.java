@@ -0,0 +1,117 @@
+package dao;
+
+import database.DatabaseConfig;
+import database.DatabaseManager;
+
+import java.sql.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Hands out account numbers from blocks reserved in the account_sequences table.
+ * Each reservation is one short, separately committed UPDATE, so JVMs never
+ * receive overlapping blocks and account openings never wait on each other's
+ * transactions. Numbers within a block are served from memory; unused numbers
+ * of a block are skipped when the JVM exits.
+ */
+public class AccountNumberAllocator {
+    private static final Logger logger = Logger.getLogger(AccountNumberAllocator.class.getName());
+    
+    private static final String SEQUENCE_NAME = "ACCOUNT_NUMBER";
+    
+    private static final AccountNumberAllocator INSTANCE =
+        new AccountNumberAllocator(DatabaseConfig.ACCOUNT_NUMBER_BLOCK_SIZE);
+    
+    private final int blockSize;
+    private volatile Block current = new Block(0, 0);
+    
+    AccountNumberAllocator(int blockSize) {
+        this.blockSize = blockSize;
+    }
+    
+    public static AccountNumberAllocator getInstance() {
+        return INSTANCE;
+    }
+    
+    public String nextAccountNumber() throws SQLException {
+        return String.format("ACC%010d", nextValue());
+    }
+    
+    long nextValue() throws SQLException {
+        while (true) {
+            Block block = current;
+            long value = block.next.getAndIncrement();
+            if (value < block.end) {
+                return value;
+            }
+            synchronized (this) {
+                // Only the first thread to find the block exhausted reserves the next one
+                if (current == block) {
+                    current = reserveBlock();
+                }
+            }
+        }
+    }
+    
+    private Block reserveBlock() throws SQLException {
+        String reserveSql = "UPDATE account_sequences SET next_value = LAST_INSERT_ID(next_value + ?) WHERE name = ?";
+        
+        try (Connection conn = DatabaseManager.getConnection()) {
+            long end = reserve(conn, reserveSql);
+            if (end < 0) {
+                // Databases created before the sequence table existed start after the highest number in use
+                seedSequence(conn);
+                end = reserve(conn, reserveSql);
+                if (end < 0) {
+                    throw new SQLException("Account number sequence is missing: " + SEQUENCE_NAME);
+                }
+            }
+            conn.commit();
+            
+            logger.fine("Reserved account numbers " + (end - blockSize) + " to " + (end - 1));
+            return new Block(end - blockSize, end);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error reserving account number block", e);
+            throw e;
+        }
+    }
+    
+    // Returns the exclusive end of the reserved block, or -1 if the sequence row is missing
+    private long reserve(Connection conn, String reserveSql) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(reserveSql)) {
+            pstmt.setInt(1, blockSize);
+            pstmt.setString(2, SEQUENCE_NAME);
+            if (pstmt.executeUpdate() == 0) {
+                return -1;
+            }
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT LAST_INSERT_ID()")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+    
+    private void seedSequence(Connection conn) throws SQLException {
+        String sql = """
+            INSERT IGNORE INTO account_sequences (name, next_value)
+            SELECT ?, COALESCE(MAX(CAST(SUBSTRING(account_number, 4) AS UNSIGNED)), 0) + 1 FROM accounts
+        """;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, SEQUENCE_NAME);
+            pstmt.executeUpdate();
+        }
+    }
+    
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+        
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package dao;
+
+import models.Account;
+
+import java.time.LocalDateTime;
+
+/**
+ * One account with the size of its ledger. lastTransaction is null for an
+ * account with no transactions.
+ */
+public class AccountSummary {
+    private final Account account;
+    private final long transactionCount;
+    private final LocalDateTime lastTransaction;
+    
+    AccountSummary(Account account, long transactionCount, LocalDateTime lastTransaction) {
+        this.account = account;
+        this.transactionCount = transactionCount;
+        this.lastTransaction = lastTransaction;
+    }
+    
+    public Account getAccount() { return account; }
+    public long getTransactionCount() { return transactionCount; }
+    public LocalDateTime getLastTransaction() { return lastTransaction; }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package dao;
+
+import models.AccountStatus;
+import models.Money;
+
+/**
+ * Count and summed balance of the accounts sharing one type and status.
+ */
+public class AccountTotals {
+    private final String accountType;
+    private final AccountStatus status;
+    private final long count;
+    private final Money balance;
+    
+    AccountTotals(String accountType, AccountStatus status, long count, Money balance) {
+        this.accountType = accountType;
+        this.status = status;
+        this.count = count;
+        this.balance = balance;
+    }
+    
+    public String getAccountType() { return accountType; }
+    public AccountStatus getStatus() { return status; }
+    public long getCount() { return count; }
+    public Money getBalance() { return balance; }
+}
\ No newline at end of file
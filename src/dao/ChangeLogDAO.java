@@ -0,0 +1,139 @@
+package dao;
+
+import database.DatabaseConfig;
+import database.DatabaseManager;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Append-only log of changed accounts and users that feeds the GUIs' change
+ * feed. record joins the caller's transaction, so a change becomes visible
+ * exactly when the write it describes commits.
+ */
+public class ChangeLogDAO {
+    private static final Logger logger = Logger.getLogger(ChangeLogDAO.class.getName());
+    
+    public static final String ACCOUNT = "ACCOUNT";
+    public static final String USER = "USER";
+    // Key logged once instead of more than CHANGE_LOG_MAX_KEYS keys of one type
+    public static final String ALL_KEYS = "*";
+    
+    public void record(Connection conn, String entityType, String entityKey) throws SQLException {
+        record(conn, entityType, List.of(entityKey));
+    }
+    
+    public void record(Connection conn, String entityType, Collection<String> entityKeys) throws SQLException {
+        if (entityKeys.isEmpty()) {
+            return;
+        }
+        Collection<String> keys = entityKeys.size() > DatabaseConfig.CHANGE_LOG_MAX_KEYS
+            ? List.of(ALL_KEYS) : entityKeys;
+        String sql = "INSERT INTO change_log (entity_type, entity_key) VALUES (?, ?)";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            for (String key : keys) {
+                pstmt.setString(1, entityType);
+                pstmt.setString(2, key);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error recording " + keys.size() + " " + entityType + " change(s)", e);
+            throw e;
+        }
+    }
+    
+    public long getLatestChangeId() throws SQLException {
+        String sql = "SELECT COALESCE(MAX(change_id), 0) FROM change_log";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error reading latest change id", e);
+            throw e;
+        }
+    }
+    
+    // Primary-key range read; returns nothing when there are no new changes
+    public List<ChangeLogEntry> findAfter(long changeId, int limit) throws SQLException {
+        String sql = """
+            SELECT change_id, entity_type, entity_key FROM change_log 
+            WHERE change_id > ? ORDER BY change_id LIMIT ?
+        """;
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setLong(1, changeId);
+            pstmt.setInt(2, limit);
+            return readEntries(pstmt);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error reading changes after: " + changeId, e);
+            throw e;
+        }
+    }
+    
+    public List<ChangeLogEntry> findByIds(Collection<Long> changeIds) throws SQLException {
+        if (changeIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT change_id, entity_type, entity_key FROM change_log WHERE change_id IN ("
+            + String.join(", ", Collections.nCopies(changeIds.size(), "?")) + ")";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            for (long changeId : changeIds) {
+                pstmt.setLong(index++, changeId);
+            }
+            return readEntries(pstmt);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error reading " + changeIds.size() + " changes by id", e);
+            throw e;
+        }
+    }
+    
+    // Deletes at most limit rows older than the cutoff; returns how many went
+    public int purgeBefore(LocalDateTime cutoff, int limit) throws SQLException {
+        String sql = "DELETE FROM change_log WHERE changed_at < ? LIMIT ?";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            pstmt.setInt(2, limit);
+            int deleted = pstmt.executeUpdate();
+            conn.commit();
+            return deleted;
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error purging changes before: " + cutoff, e);
+            throw e;
+        }
+    }
+    
+    private List<ChangeLogEntry> readEntries(PreparedStatement pstmt) throws SQLException {
+        List<ChangeLogEntry> entries = new ArrayList<>();
+        try (ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                entries.add(new ChangeLogEntry(
+                    rs.getLong("change_id"),
+                    rs.getString("entity_type"),
+                    rs.getString("entity_key")));
+            }
+        }
+        return entries;
+    }
+}
\ No newline at end of file
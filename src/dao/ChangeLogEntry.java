@@ -0,0 +1,26 @@
+package dao;
+
+/**
+ * One row of change_log: an entity touched by a committed write.
+ */
+public class ChangeLogEntry {
+    private final long changeId;
+    private final String entityType;
+    private final String entityKey;
+    
+    public ChangeLogEntry(long changeId, String entityType, String entityKey) {
+        this.changeId = changeId;
+        this.entityType = entityType;
+        this.entityKey = entityKey;
+    }
+    
+    // Getters
+    public long getChangeId() { return changeId; }
+    public String getEntityType() { return entityType; }
+    public String getEntityKey() { return entityKey; }
+    
+    // True for the single row logged in place of a large batch of keys
+    public boolean isAllKeys() {
+        return ChangeLogDAO.ALL_KEYS.equals(entityKey);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package dao;
+
+import models.Money;
+
+/**
+ * One customer with the count and summed balance of their accounts.
+ */
+public class CustomerSummary {
+    private final int userId;
+    private final String username;
+    private final String fullName;
+    private final String email;
+    private final boolean active;
+    private final long totalAccounts;
+    private final Money totalBalance;
+    
+    CustomerSummary(int userId, String username, String fullName, String email, boolean active,
+                    long totalAccounts, Money totalBalance) {
+        this.userId = userId;
+        this.username = username;
+        this.fullName = fullName;
+        this.email = email;
+        this.active = active;
+        this.totalAccounts = totalAccounts;
+        this.totalBalance = totalBalance;
+    }
+    
+    public int getUserId() { return userId; }
+    public String getUsername() { return username; }
+    public String getFullName() { return fullName; }
+    public String getEmail() { return email; }
+    public boolean isActive() { return active; }
+    public long getTotalAccounts() { return totalAccounts; }
+    public Money getTotalBalance() { return totalBalance; }
+}
\ No newline at end of file
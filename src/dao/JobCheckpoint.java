@@ -0,0 +1,39 @@
+package dao;
+
+/**
+ * Progress of a restartable batch job as stored in job_checkpoints.
+ * lastKey is the highest key the job has committed; a resumed run continues
+ * strictly after it. inputHash identifies the input the job was started on,
+ * and is empty for jobs that do not record one.
+ */
+public class JobCheckpoint {
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    
+    private final String jobName;
+    private final String runId;
+    private final String lastKey;
+    private final long processedCount;
+    private final String inputHash;
+    private final String status;
+    
+    JobCheckpoint(String jobName, String runId, String lastKey, long processedCount, String inputHash, String status) {
+        this.jobName = jobName;
+        this.runId = runId;
+        this.lastKey = lastKey;
+        this.processedCount = processedCount;
+        this.inputHash = inputHash;
+        this.status = status;
+    }
+    
+    public String getJobName() { return jobName; }
+    public String getRunId() { return runId; }
+    public String getLastKey() { return lastKey; }
+    public long getProcessedCount() { return processedCount; }
+    public String getInputHash() { return inputHash; }
+    public String getStatus() { return status; }
+    
+    public boolean isRunning() {
+        return STATUS_RUNNING.equals(status);
+    }
+}
\ No newline at end of file
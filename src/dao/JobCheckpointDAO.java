@@ -0,0 +1,95 @@
+package dao;
+
+import java.sql.*;
+import java.util.Optional;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Checkpoints for restartable batch jobs. Every method joins the caller's
+ * transaction, so a checkpoint only advances together with the work it records.
+ */
+public class JobCheckpointDAO {
+    private static final Logger logger = Logger.getLogger(JobCheckpointDAO.class.getName());
+    
+    // Locks the checkpoint row; concurrent runners of the same job serialize here
+    public Optional<JobCheckpoint> findForUpdate(Connection conn, String jobName) throws SQLException {
+        String sql = "SELECT * FROM job_checkpoints WHERE job_name = ? FOR UPDATE";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, jobName);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(new JobCheckpoint(
+                        rs.getString("job_name"),
+                        rs.getString("run_id"),
+                        rs.getString("last_key"),
+                        rs.getLong("processed_count"),
+                        rs.getString("input_hash"),
+                        rs.getString("status")));
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error reading checkpoint for job: " + jobName, e);
+            throw e;
+        }
+        return Optional.empty();
+    }
+    
+    public void start(Connection conn, String jobName, String runId) throws SQLException {
+        start(conn, jobName, runId, "");
+    }
+    
+    public void start(Connection conn, String jobName, String runId, String inputHash) throws SQLException {
+        String sql = """
+            INSERT INTO job_checkpoints (job_name, run_id, last_key, processed_count, input_hash, status)
+            VALUES (?, ?, '', 0, ?, 'RUNNING')
+            ON DUPLICATE KEY UPDATE run_id = VALUES(run_id), last_key = '', processed_count = 0,
+            input_hash = VALUES(input_hash), status = 'RUNNING', started_at = CURRENT_TIMESTAMP
+        """;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, jobName);
+            pstmt.setString(2, runId);
+            pstmt.setString(3, inputHash);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error starting checkpoint for job: " + jobName, e);
+            throw e;
+        }
+    }
+    
+    public void advance(Connection conn, String jobName, String lastKey, long processed) throws SQLException {
+        String sql = """
+            UPDATE job_checkpoints SET last_key = ?, processed_count = processed_count + ?
+            WHERE job_name = ?
+        """;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, lastKey);
+            pstmt.setLong(2, processed);
+            pstmt.setString(3, jobName);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error advancing checkpoint for job: " + jobName, e);
+            throw e;
+        }
+    }
+    
+    public void complete(Connection conn, String jobName) throws SQLException {
+        String sql = "UPDATE job_checkpoints SET status = 'COMPLETED' WHERE job_name = ?";
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, jobName);
+            pstmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error completing checkpoint for job: " + jobName, e);
+            throw e;
+        }
+    }
+}
\ No newline at end of file
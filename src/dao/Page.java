@@ -0,0 +1,47 @@
+package dao;
+
+import database.DatabaseConfig;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated query. next is the cursor to pass back for
+ * the following page, or null when this is the last page.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final PageCursor next;
+    
+    public Page(List<T> items, PageCursor next) {
+        this.items = Collections.unmodifiableList(items);
+        this.next = next;
+    }
+    
+    // Getters
+    public List<T> getItems() { return items; }
+    public PageCursor getNext() { return next; }
+    
+    public boolean hasMore() {
+        return next != null;
+    }
+    
+    public int size() {
+        return items.size();
+    }
+    
+    // Clamps a requested page size to 1..MAX_PAGE_SIZE
+    static int clampSize(int pageSize) {
+        return Math.max(1, Math.min(pageSize, DatabaseConfig.MAX_PAGE_SIZE));
+    }
+    
+    // Builds a page from pageSize + 1 fetched rows; the extra row only signals that more exist
+    static <T> Page<T> of(List<T> rows, int pageSize, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new Page<>(items, cursorOf.apply(items.get(pageSize - 1)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package dao;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position of the last row on a keyset page: the row's sort timestamp and its
+ * unique key as a tie-breaker. The next page starts strictly after it, so a
+ * page costs an index range scan no matter how deep the caller has paged.
+ */
+public final class PageCursor {
+    private final LocalDateTime timestamp;
+    private final String key;
+    
+    public PageCursor(LocalDateTime timestamp, String key) {
+        if (timestamp == null || key == null) {
+            throw new IllegalArgumentException("Cursor timestamp and key are required");
+        }
+        this.timestamp = timestamp;
+        this.key = key;
+    }
+    
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public String getKey() { return key; }
+    
+    // Inverse of toString, for cursors handed to API clients
+    public static PageCursor parse(String text) {
+        int slash = text.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Malformed page cursor: " + text);
+        }
+        try {
+            return new PageCursor(LocalDateTime.parse(text.substring(0, slash)), text.substring(slash + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed page cursor: " + text, e);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return timestamp + "/" + key;
+    }
+}
\ No newline at end of file
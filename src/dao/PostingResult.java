@@ -0,0 +1,72 @@
+package dao;
+
+import exceptions.AccountNotFoundException;
+import exceptions.InsufficientFundsException;
+import models.AccountStatus;
+import models.CurrentAccount;
+import models.Money;
+import models.SavingsAccount;
+
+/**
+ * Outcome of a conditional balance posting. When the guard rejects the
+ * posting the account's current state is returned so the caller can report
+ * why without another query.
+ */
+public class PostingResult {
+    private final boolean applied;
+    private final boolean accountFound;
+    private final String accountType;
+    private final AccountStatus status;
+    private final Money balance;
+    
+    private PostingResult(boolean applied, boolean accountFound, String accountType,
+                          AccountStatus status, Money balance) {
+        this.applied = applied;
+        this.accountFound = accountFound;
+        this.accountType = accountType;
+        this.status = status;
+        this.balance = balance;
+    }
+    
+    static PostingResult applied(String accountType, AccountStatus status, Money newBalance) {
+        return new PostingResult(true, true, accountType, status, newBalance);
+    }
+    
+    static PostingResult rejected(String accountType, AccountStatus status, Money currentBalance) {
+        return new PostingResult(false, true, accountType, status, currentBalance);
+    }
+    
+    static PostingResult accountNotFound() {
+        return new PostingResult(false, false, null, null, Money.ZERO);
+    }
+    
+    public boolean isApplied() { return applied; }
+    public boolean isAccountFound() { return accountFound; }
+    public String getAccountType() { return accountType; }
+    public AccountStatus getStatus() { return status; }
+    
+    /** New balance when applied, otherwise the unchanged current balance. */
+    public Money getBalance() { return balance; }
+    
+    /**
+     * Returns the new balance of an applied posting, otherwise throws the
+     * exception describing why the guard rejected it.
+     */
+    public Money balanceOrThrow(String accountNumber, String accountLabel)
+            throws AccountNotFoundException, InsufficientFundsException {
+        if (applied) {
+            return balance;
+        }
+        if (!accountFound) {
+            throw new AccountNotFoundException(accountLabel + " not found: " + accountNumber);
+        }
+        if (status != AccountStatus.ACTIVE) {
+            throw new InsufficientFundsException(accountLabel + " is not active");
+        }
+        if ("SAVINGS".equals(accountType)) {
+            throw new InsufficientFundsException(
+                "Insufficient funds. Minimum balance required: ₹" + SavingsAccount.getStaticMinimumBalance());
+        }
+        throw new InsufficientFundsException("Overdraft limit of ₹" + CurrentAccount.getOverdraftLimit() + " exceeded");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package dao;
+
+import models.Money;
+
+import java.sql.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Grouped queries behind the manager reports. Each report is one statement
+ * whose rows are streamed, instead of a follow-up query per customer or
+ * account; the caller must close the returned cursor.
+ */
+public class ReportDAO {
+    private static final Logger logger = Logger.getLogger(ReportDAO.class.getName());
+    
+    private final AccountDAO accountDAO = new AccountDAO();
+    
+    // Customers by name, each with all of their accounts counted and summed
+    public RowCursor<CustomerSummary> openCustomerSummaryCursor() throws SQLException {
+        String sql = """
+            SELECT u.user_id, u.username, u.full_name, u.email, u.is_active, 
+            COUNT(a.account_number) AS total_accounts, COALESCE(SUM(a.balance), 0) AS total_balance 
+            FROM users u 
+            LEFT JOIN accounts a ON a.customer_id = u.user_id 
+            WHERE u.role = 'CUSTOMER' 
+            GROUP BY u.user_id, u.username, u.full_name, u.email, u.is_active 
+            ORDER BY u.full_name
+        """;
+        
+        try {
+            return RowCursor.open(sql, pstmt -> { }, rs -> new CustomerSummary(
+                rs.getInt("user_id"),
+                rs.getString("username"),
+                rs.getString("full_name"),
+                rs.getString("email"),
+                rs.getBoolean("is_active"),
+                rs.getLong("total_accounts"),
+                Money.parse(rs.getString("total_balance"))));
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error opening customer summary cursor", e);
+            throw e;
+        }
+    }
+    
+    // Accounts newest first, each with its ledger counted in a single pass over transactions
+    public RowCursor<AccountSummary> openAccountSummaryCursor() throws SQLException {
+        String sql = """
+            SELECT a.*, COALESCE(t.transaction_count, 0) AS transaction_count, t.last_transaction 
+            FROM accounts a 
+            LEFT JOIN (
+                SELECT account_number, COUNT(*) AS transaction_count, MAX(timestamp) AS last_transaction 
+                FROM transactions GROUP BY account_number
+            ) t ON t.account_number = a.account_number 
+            ORDER BY a.created_date DESC
+        """;
+        
+        try {
+            return RowCursor.open(sql, pstmt -> { }, rs -> {
+                Timestamp lastTransaction = rs.getTimestamp("last_transaction");
+                return new AccountSummary(
+                    accountDAO.mapResultSetToAccount(rs),
+                    rs.getLong("transaction_count"),
+                    lastTransaction != null ? lastTransaction.toLocalDateTime() : null);
+            });
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error opening account summary cursor", e);
+            throw e;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package dao;
+
+import database.DatabaseConfig;
+import database.DatabaseManager;
+
+import java.sql.*;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Forward-only walk over a large query result using a server-side cursor, so
+ * only DatabaseConfig.STREAM_FETCH_SIZE rows are held in memory at a time.
+ * The cursor owns its pooled connection until it is closed.
+ *
+ * <pre>
+ * try (RowCursor&lt;Transaction&gt; cursor = transactionDAO.openTransactionCursor(null, null)) {
+ *     while (cursor.next()) {
+ *         write(cursor.get());
+ *     }
+ * }
+ * </pre>
+ */
+public class RowCursor<T> implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(RowCursor.class.getName());
+    
+    @FunctionalInterface
+    interface Binder {
+        void bind(PreparedStatement pstmt) throws SQLException;
+    }
+    
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+    
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final ResultSet resultSet;
+    private final RowMapper<T> mapper;
+    private T current;
+    private long rowCount;
+    
+    private RowCursor(Connection connection, PreparedStatement statement, ResultSet resultSet, RowMapper<T> mapper) {
+        this.connection = connection;
+        this.statement = statement;
+        this.resultSet = resultSet;
+        this.mapper = mapper;
+    }
+    
+    static <T> RowCursor<T> open(String sql, Binder binder, RowMapper<T> mapper) throws SQLException {
+        Connection conn = DatabaseManager.getConnection();
+        PreparedStatement pstmt = null;
+        try {
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(DatabaseConfig.STREAM_FETCH_SIZE);
+            binder.bind(pstmt);
+            return new RowCursor<>(conn, pstmt, pstmt.executeQuery(), mapper);
+        } catch (SQLException e) {
+            if (pstmt != null) {
+                try {
+                    pstmt.close();
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            DatabaseManager.closeConnection(conn);
+            throw e;
+        }
+    }
+    
+    /**
+     * Advances to the next row; false once the result is exhausted.
+     */
+    public boolean next() throws SQLException {
+        if (resultSet.next()) {
+            current = mapper.map(resultSet);
+            rowCount++;
+            return true;
+        }
+        current = null;
+        return false;
+    }
+    
+    public T get() {
+        if (current == null) {
+            throw new IllegalStateException("No current row; call next() first");
+        }
+        return current;
+    }
+    
+    public long getRowCount() {
+        return rowCount;
+    }
+    
+    @Override
+    public void close() {
+        try {
+            resultSet.close();
+            statement.close();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error closing row cursor", e);
+        } finally {
+            // Read-only, but end the snapshot before the connection goes back to the pool
+            DatabaseManager.rollback(connection);
+            DatabaseManager.closeConnection(connection);
+        }
+    }
+}
\ No newline at end of file
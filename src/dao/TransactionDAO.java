@@ -1,12 +1,15 @@
 package dao;
 
 import database.DatabaseManager;
+import models.Money;
 import models.Transaction;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -14,26 +17,33 @@ public class TransactionDAO {
     private static final Logger logger = Logger.getLogger(TransactionDAO.class.getName());
     
     public boolean saveTransaction(Transaction transaction) throws SQLException {
+        try (Connection conn = DatabaseManager.getConnection()) {
+            boolean saved = saveTransaction(conn, transaction);
+            conn.commit();
+            return saved;
+        }
+    }
+    
+    // Joins the caller's transaction; the caller is responsible for commit
+    public boolean saveTransaction(Connection conn, Transaction transaction) throws SQLException {
         String sql = """
             INSERT INTO transactions (transaction_id, account_number, transaction_type, 
             amount, balance_after, description, reference_number, created_by) 
-            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            VALUES (?, ?, ?, ? / 100, ? / 100, ?, ?, ?)
         """;
         
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, transaction.getTransactionId());
             pstmt.setString(2, transaction.getAccountNumber());
             pstmt.setString(3, transaction.getType());
-            pstmt.setDouble(4, transaction.getAmount());
-            pstmt.setDouble(5, transaction.getBalanceAfter());
+            pstmt.setLong(4, transaction.getAmount().getPaise());
+            pstmt.setLong(5, transaction.getBalanceAfter().getPaise());
             pstmt.setString(6, transaction.getDescription());
             pstmt.setString(7, transaction.getReferenceNumber());
             pstmt.setObject(8, null); // created_by - can be set later if needed
             
             int affectedRows = pstmt.executeUpdate();
-            conn.commit();
             
             if (affectedRows > 0) {
                 logger.info("Transaction saved successfully: " + transaction.getTransactionId());
@@ -46,6 +56,36 @@ public class TransactionDAO {
         }
     }
     
+    // Inserts all ledger rows in one JDBC batch; the caller is responsible for commit
+    public void saveTransactions(Connection conn, List<Transaction> transactions) throws SQLException {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        String sql = """
+            INSERT INTO transactions (transaction_id, account_number, transaction_type, 
+            amount, balance_after, description, reference_number, created_by) 
+            VALUES (?, ?, ?, ? / 100, ? / 100, ?, ?, ?)
+        """;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (Transaction transaction : transactions) {
+                pstmt.setString(1, transaction.getTransactionId());
+                pstmt.setString(2, transaction.getAccountNumber());
+                pstmt.setString(3, transaction.getType());
+                pstmt.setLong(4, transaction.getAmount().getPaise());
+                pstmt.setLong(5, transaction.getBalanceAfter().getPaise());
+                pstmt.setString(6, transaction.getDescription());
+                pstmt.setString(7, transaction.getReferenceNumber());
+                pstmt.setObject(8, null);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error saving batch of " + transactions.size() + " transactions", e);
+            throw e;
+        }
+    }
+    
     public List<Transaction> getTransactionsByAccount(String accountNumber) throws SQLException {
         String sql = """
             SELECT * FROM transactions WHERE account_number = ? 
@@ -114,9 +154,60 @@ public class TransactionDAO {
         return transactions;
     }
     
-    public List<Transaction> getHighValueTransactions(double threshold) throws SQLException {
+    /**
+     * One page of the transactions matching the query, in the query's sort
+     * order, keyed on (timestamp, transaction_id).
+     */
+    public Page<Transaction> findTransactions(TransactionQuery query) throws SQLException {
+        List<Transaction> transactions = new ArrayList<>(query.getLimit() + 1);
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(query.toSql(true))) {
+            
+            query.bind(pstmt, true);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    transactions.add(mapResultSetToTransaction(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error searching transactions: " + query, e);
+            throw e;
+        }
+        return Page.of(transactions, query.getLimit(),
+            transaction -> new PageCursor(transaction.getTimestamp(), transaction.getTransactionId()));
+    }
+    
+    // Newest-first page of all transactions; pass a null cursor for the first page
+    public Page<Transaction> getTransactionsPage(PageCursor after, int pageSize) throws SQLException {
+        return findTransactions(TransactionQuery.builder().after(after).limit(pageSize).build());
+    }
+    
+    // Streams every transaction matching the query, ignoring its page settings. Close the cursor.
+    public RowCursor<Transaction> openTransactionCursor(TransactionQuery query) throws SQLException {
+        try {
+            return RowCursor.open(query.toSql(false), pstmt -> query.bind(pstmt, false), this::mapResultSetToTransaction);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error opening transaction cursor: " + query, e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Streams transactions oldest first, optionally bounded to [from, to).
+     * Either bound may be null. The caller must close the cursor.
+     */
+    public RowCursor<Transaction> openTransactionCursor(LocalDateTime from, LocalDateTime to) throws SQLException {
+        return openTransactionCursor(TransactionQuery.builder()
+            .between(from, to)
+            .sort(TransactionQuery.Sort.OLDEST_FIRST)
+            .build());
+    }
+    
+    public List<Transaction> getHighValueTransactions(Money threshold) throws SQLException {
         String sql = """
-            SELECT * FROM transactions WHERE amount > ? 
+            SELECT * FROM transactions WHERE amount > ? / 100 
             ORDER BY amount DESC, timestamp DESC
         """;
         List<Transaction> transactions = new ArrayList<>();
@@ -124,7 +215,7 @@ public class TransactionDAO {
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
-            pstmt.setDouble(1, threshold);
+            pstmt.setLong(1, threshold.getPaise());
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
@@ -164,7 +255,51 @@ public class TransactionDAO {
         return transactions;
     }
     
-    public double getTotalTransactionAmount(String accountNumber, String transactionType) throws SQLException {
+    // Served from idx_transaction_type without touching the rows
+    public Map<String, Long> getTransactionCountsByType() throws SQLException {
+        String sql = "SELECT transaction_type, COUNT(*) AS transaction_count FROM transactions GROUP BY transaction_type";
+        Map<String, Long> counts = new HashMap<>();
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                counts.put(rs.getString("transaction_type"), rs.getLong("transaction_count"));
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error counting transactions by type", e);
+            throw e;
+        }
+        return counts;
+    }
+    
+    // One row per type, in type order; aggregated in the database
+    public List<TransactionTotals> getTransactionTotalsByType() throws SQLException {
+        String sql = """
+            SELECT transaction_type, COUNT(*) AS transaction_count, COALESCE(SUM(amount), 0) AS total_amount 
+            FROM transactions GROUP BY transaction_type ORDER BY transaction_type
+        """;
+        List<TransactionTotals> totals = new ArrayList<>();
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            while (rs.next()) {
+                totals.add(new TransactionTotals(
+                    rs.getString("transaction_type"),
+                    rs.getLong("transaction_count"),
+                    Money.parse(rs.getString("total_amount"))));
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error fetching transaction totals by type", e);
+            throw e;
+        }
+        return totals;
+    }
+    
+    public Money getTotalTransactionAmount(String accountNumber, String transactionType) throws SQLException {
         String sql = """
             SELECT COALESCE(SUM(amount), 0) as total 
             FROM transactions 
@@ -179,14 +314,14 @@ public class TransactionDAO {
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getDouble("total");
+                    return Money.parse(rs.getString("total"));
                 }
             }
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error calculating total transaction amount", e);
             throw e;
         }
-        return 0.0;
+        return Money.ZERO;
     }
     
     private Transaction mapResultSetToTransaction(ResultSet rs) throws SQLException {
@@ -194,8 +329,8 @@ public class TransactionDAO {
         transaction.setTransactionId(rs.getString("transaction_id"));
         transaction.setAccountNumber(rs.getString("account_number"));
         transaction.setType(rs.getString("transaction_type"));
-        transaction.setAmount(rs.getDouble("amount"));
-        transaction.setBalanceAfter(rs.getDouble("balance_after"));
+        transaction.setAmount(Money.parse(rs.getString("amount")));
+        transaction.setBalanceAfter(Money.parse(rs.getString("balance_after")));
         transaction.setDescription(rs.getString("description"));
         transaction.setReferenceNumber(rs.getString("reference_number"));
         
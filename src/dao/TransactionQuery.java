@@ -0,0 +1,267 @@
+package dao;
+
+import database.DatabaseConfig;
+import models.Money;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Filter, sort and page for a transaction search, rendered as parameterized
+ * SQL so only matching rows leave the database.
+ *
+ * <pre>
+ * TransactionQuery query = TransactionQuery.builder()
+ *     .customer(customerId)
+ *     .type("DEPOSIT")
+ *     .amountAbove(Money.ofRupees(10000))
+ *     .limit(50)
+ *     .build();
+ * </pre>
+ *
+ * The same combination of filters always renders the same SQL text, so the
+ * driver's prepared statement cache holds one server-side statement per query
+ * shape and repeated searches skip the parse.
+ */
+public final class TransactionQuery {
+    
+    public enum Sort {
+        NEWEST_FIRST("DESC", "<"),
+        OLDEST_FIRST("ASC", ">");
+        
+        private final String direction;
+        private final String seek;
+        
+        Sort(String direction, String seek) {
+            this.direction = direction;
+            this.seek = seek;
+        }
+    }
+    
+    private final String accountNumber;
+    private final Integer customerId;
+    private final List<String> types;
+    private final Money amountAbove;
+    private final Money amountAtMost;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final String referenceNumber;
+    private final Sort sort;
+    private final PageCursor after;
+    private final int limit;
+    
+    private TransactionQuery(Builder builder) {
+        this.accountNumber = builder.accountNumber;
+        this.customerId = builder.customerId;
+        this.types = Collections.unmodifiableList(new ArrayList<>(builder.types));
+        this.amountAbove = builder.amountAbove;
+        this.amountAtMost = builder.amountAtMost;
+        this.from = builder.from;
+        this.to = builder.to;
+        this.referenceNumber = builder.referenceNumber;
+        this.sort = builder.sort;
+        this.after = builder.after;
+        this.limit = Page.clampSize(builder.limit);
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    // Same filters and sort; use with after(...) to fetch the next page
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.accountNumber = accountNumber;
+        builder.customerId = customerId;
+        builder.types.addAll(types);
+        builder.amountAbove = amountAbove;
+        builder.amountAtMost = amountAtMost;
+        builder.from = from;
+        builder.to = to;
+        builder.referenceNumber = referenceNumber;
+        builder.sort = sort;
+        builder.after = after;
+        builder.limit = limit;
+        return builder;
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    /**
+     * Renders the query. Paged SQL adds the keyset seek and LIMIT; cursor SQL
+     * returns every match.
+     */
+    String toSql(boolean paged) {
+        StringBuilder sql = new StringBuilder("SELECT t.* FROM transactions t");
+        if (customerId != null) {
+            sql.append(" JOIN accounts a ON a.account_number = t.account_number");
+        }
+        
+        List<String> conditions = new ArrayList<>();
+        if (accountNumber != null) {
+            conditions.add("t.account_number = ?");
+        }
+        if (customerId != null) {
+            conditions.add("a.customer_id = ?");
+        }
+        if (types.size() == 1) {
+            conditions.add("t.transaction_type = ?");
+        } else if (!types.isEmpty()) {
+            conditions.add("t.transaction_type IN (" + String.join(", ", Collections.nCopies(types.size(), "?")) + ")");
+        }
+        if (amountAbove != null) {
+            conditions.add("t.amount > ? / 100");
+        }
+        if (amountAtMost != null) {
+            conditions.add("t.amount <= ? / 100");
+        }
+        if (from != null) {
+            conditions.add("t.timestamp >= ?");
+        }
+        if (to != null) {
+            conditions.add("t.timestamp < ?");
+        }
+        if (referenceNumber != null) {
+            conditions.add("t.reference_number = ?");
+        }
+        if (paged && after != null) {
+            conditions.add("(t.timestamp " + sort.seek + " ? OR (t.timestamp = ? AND t.transaction_id " + sort.seek + " ?))");
+        }
+        
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY t.timestamp ").append(sort.direction)
+           .append(", t.transaction_id ").append(sort.direction);
+        if (paged) {
+            sql.append(" LIMIT ?");
+        }
+        return sql.toString();
+    }
+    
+    // Binds parameters in the order toSql(paged) emitted their placeholders
+    void bind(PreparedStatement pstmt, boolean paged) throws SQLException {
+        int index = 1;
+        if (accountNumber != null) {
+            pstmt.setString(index++, accountNumber);
+        }
+        if (customerId != null) {
+            pstmt.setInt(index++, customerId);
+        }
+        for (String type : types) {
+            pstmt.setString(index++, type);
+        }
+        if (amountAbove != null) {
+            pstmt.setLong(index++, amountAbove.getPaise());
+        }
+        if (amountAtMost != null) {
+            pstmt.setLong(index++, amountAtMost.getPaise());
+        }
+        if (from != null) {
+            pstmt.setTimestamp(index++, Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            pstmt.setTimestamp(index++, Timestamp.valueOf(to));
+        }
+        if (referenceNumber != null) {
+            pstmt.setString(index++, referenceNumber);
+        }
+        if (paged && after != null) {
+            Timestamp timestamp = Timestamp.valueOf(after.getTimestamp());
+            pstmt.setTimestamp(index++, timestamp);
+            pstmt.setTimestamp(index++, timestamp);
+            pstmt.setString(index++, after.getKey());
+        }
+        if (paged) {
+            // One extra row tells Page.of whether another page exists
+            pstmt.setInt(index, limit + 1);
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return toSql(true);
+    }
+    
+    public static final class Builder {
+        private String accountNumber;
+        private Integer customerId;
+        private final List<String> types = new ArrayList<>();
+        private Money amountAbove;
+        private Money amountAtMost;
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private String referenceNumber;
+        private Sort sort = Sort.NEWEST_FIRST;
+        private PageCursor after;
+        private int limit = DatabaseConfig.DEFAULT_PAGE_SIZE;
+        
+        private Builder() {
+        }
+        
+        public Builder account(String accountNumber) {
+            this.accountNumber = accountNumber;
+            return this;
+        }
+        
+        public Builder customer(int customerId) {
+            this.customerId = customerId;
+            return this;
+        }
+        
+        // Repeatable; several types match any of them
+        public Builder type(String type) {
+            this.types.add(type);
+            return this;
+        }
+        
+        // Amount strictly greater than the given value
+        public Builder amountAbove(Money amount) {
+            this.amountAbove = amount;
+            return this;
+        }
+        
+        public Builder amountAtMost(Money amount) {
+            this.amountAtMost = amount;
+            return this;
+        }
+        
+        // Timestamp in [from, to); either end may be left open
+        public Builder between(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+            return this;
+        }
+        
+        public Builder reference(String referenceNumber) {
+            this.referenceNumber = referenceNumber;
+            return this;
+        }
+        
+        public Builder sort(Sort sort) {
+            this.sort = sort;
+            return this;
+        }
+        
+        public Builder after(PageCursor after) {
+            this.after = after;
+            return this;
+        }
+        
+        public Builder limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+        
+        public TransactionQuery build() {
+            return new TransactionQuery(this);
+        }
+    }
+}
\ No newline at end of file
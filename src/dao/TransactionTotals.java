@@ -0,0 +1,22 @@
+package dao;
+
+import models.Money;
+
+/**
+ * Count and summed amount of the ledger rows of one transaction type.
+ */
+public class TransactionTotals {
+    private final String transactionType;
+    private final long count;
+    private final Money amount;
+    
+    TransactionTotals(String transactionType, long count, Money amount) {
+        this.transactionType = transactionType;
+        this.count = count;
+        this.amount = amount;
+    }
+    
+    public String getTransactionType() { return transactionType; }
+    public long getCount() { return count; }
+    public Money getAmount() { return amount; }
+}
\ No newline at end of file
@@ -16,6 +16,8 @@ import java.util.logging.Level;
 public class UserDAO {
     private static final Logger logger = Logger.getLogger(UserDAO.class.getName());
     
+    private final ChangeLogDAO changeLogDAO = new ChangeLogDAO();
+    
     public Optional<User> authenticate(String username, String password) throws AuthenticationException {
         String sql = "SELECT * FROM users WHERE username = ? AND password = ? AND is_active = TRUE";
         
@@ -28,7 +30,7 @@ public class UserDAO {
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     User user = mapResultSetToUser(rs);
-                    updateLastLogin(user.getUserId());
+                    updateLastLogin(conn, user.getUserId());
                     conn.commit();
                     logger.info("User authenticated successfully: " + username);
                     return Optional.of(user);
@@ -67,6 +69,7 @@ public class UserDAO {
                         user.setUserId(generatedKeys.getInt(1));
                     }
                 }
+                changeLogDAO.record(conn, ChangeLogDAO.USER, String.valueOf(user.getUserId()));
                 conn.commit();
                 logger.info("User created successfully: " + user.getUsername());
                 return true;
@@ -136,6 +139,72 @@ public class UserDAO {
         return customers;
     }
     
+    /**
+     * One page of customers keyed on (created_date, user_id), newest first
+     * unless oldestFirst. Pass a null cursor for the first page.
+     */
+    public Page<User> getCustomersPage(PageCursor after, int pageSize, boolean oldestFirst) throws SQLException {
+        int limit = Page.clampSize(pageSize);
+        String direction = oldestFirst ? "ASC" : "DESC";
+        String seek = oldestFirst ? ">" : "<";
+        String sql = "SELECT * FROM users WHERE role = 'CUSTOMER'"
+            + (after == null ? "" : " AND (created_date " + seek + " ? OR (created_date = ? AND user_id " + seek + " ?))")
+            + " ORDER BY created_date " + direction + ", user_id " + direction + " LIMIT ?";
+        List<User> customers = new ArrayList<>(limit + 1);
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            if (after != null) {
+                Timestamp createdDate = Timestamp.valueOf(after.getTimestamp());
+                pstmt.setTimestamp(index++, createdDate);
+                pstmt.setTimestamp(index++, createdDate);
+                pstmt.setInt(index++, Integer.parseInt(after.getKey()));
+            }
+            pstmt.setInt(index, limit + 1);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    customers.add(mapResultSetToUser(rs));
+                }
+            }
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error fetching customer page after: " + after, e);
+            throw e;
+        }
+        return Page.of(customers, limit,
+            customer -> new PageCursor(customer.getCreatedDate(), String.valueOf(customer.getUserId())));
+    }
+    
+    public long countCustomers() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM users WHERE role = 'CUSTOMER'";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error counting customers", e);
+            throw e;
+        }
+    }
+    
+    public long countActiveCustomers() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM users WHERE role = 'CUSTOMER' AND is_active = TRUE";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error counting active customers", e);
+            throw e;
+        }
+    }
+    
     public boolean updateUser(User user) throws SQLException {
         String sql = """
             UPDATE users SET username = ?, password = ?, full_name = ?, 
@@ -154,6 +223,9 @@ public class UserDAO {
             pstmt.setInt(7, user.getUserId());
             
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                changeLogDAO.record(conn, ChangeLogDAO.USER, String.valueOf(user.getUserId()));
+            }
             conn.commit();
             
             if (affectedRows > 0) {
@@ -167,11 +239,11 @@ public class UserDAO {
         }
     }
     
-    private void updateLastLogin(int userId) throws SQLException {
+    // Runs on the caller's connection so a login never holds two pooled connections at once
+    private void updateLastLogin(Connection conn, int userId) throws SQLException {
         String sql = "UPDATE users SET last_login = CURRENT_TIMESTAMP WHERE user_id = ?";
         
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, userId);
             pstmt.executeUpdate();
@@ -0,0 +1,306 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Bounded JDBC connection pool.
+ * Borrowers receive a proxy whose close() hands the physical connection back
+ * to the pool, so DAOs keep using try-with-resources unchanged.
+ */
+public class ConnectionPool {
+    private static final Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+    
+    private final String url;
+    private final Properties connectionProperties;
+    private final int maxConnections;
+    private final long borrowTimeoutMillis;
+    
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Map<PooledConnection, Lease> leases = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+    
+    // Live statistics
+    private final AtomicLong totalCreated = new AtomicLong();
+    private final AtomicLong totalClosed = new AtomicLong();
+    private final LongAdder totalBorrowed = new LongAdder();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    
+    public ConnectionPool(String url, Properties connectionProperties, int maxConnections, long borrowTimeoutMillis) {
+        this.url = url;
+        this.connectionProperties = connectionProperties;
+        this.maxConnections = maxConnections;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.permits = new Semaphore(maxConnections, true);
+        
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep,
+            DatabaseConfig.POOL_HOUSEKEEPING_INTERVAL, DatabaseConfig.POOL_HOUSEKEEPING_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+    
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLNonTransientConnectionException("Connection pool has been shut down");
+        }
+        
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.increment();
+                throw new SQLTransientConnectionException(String.format(
+                    "Timed out after %dms waiting for a database connection (active=%d, max=%d)",
+                    borrowTimeoutMillis, leases.size(), maxConnections));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+        totalWaitNanos.add(System.nanoTime() - waitStart);
+        
+        try {
+            PooledConnection pooled = takeValidIdleConnection();
+            if (pooled == null) {
+                pooled = createConnection();
+            }
+            leases.put(pooled, new Lease(Thread.currentThread().getName(), new Throwable("Connection borrowed here")));
+            totalBorrowed.increment();
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    private PooledConnection takeValidIdleConnection() {
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+            closeQuietly(pooled);
+        }
+        return null;
+    }
+    
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        if (now - pooled.createdAt > DatabaseConfig.MAX_CONNECTION_LIFETIME) {
+            return false;
+        }
+        // Skip the validation round trip for connections that were in use moments ago
+        if (now - pooled.lastReturnedAt < DatabaseConfig.VALIDATION_IDLE_THRESHOLD) {
+            return true;
+        }
+        try {
+            if (pooled.physical.isValid(DatabaseConfig.VALIDATION_TIMEOUT)) {
+                return true;
+            }
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Connection validation threw an exception", e);
+        }
+        validationFailures.increment();
+        logger.warning("Discarding pooled connection that failed validation");
+        return false;
+    }
+    
+    private PooledConnection createConnection() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, connectionProperties);
+            physical.setAutoCommit(false); // Enable transaction management
+            totalCreated.incrementAndGet();
+            return new PooledConnection(physical);
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to establish database connection", e);
+            throw e;
+        }
+    }
+    
+    private void release(PooledConnection pooled) {
+        leases.remove(pooled);
+        try {
+            if (shutdown || pooled.physical.isClosed() || !resetForReuse(pooled.physical)) {
+                closeQuietly(pooled);
+            } else {
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                idleConnections.offerFirst(pooled);
+            }
+        } catch (SQLException e) {
+            closeQuietly(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+    
+    private boolean resetForReuse(Connection conn) {
+        try {
+            // Uncommitted work must never leak into the next borrower
+            if (!conn.getAutoCommit()) {
+                conn.rollback();
+            } else {
+                conn.setAutoCommit(false);
+            }
+            if (conn.isReadOnly()) {
+                conn.setReadOnly(false);
+            }
+            conn.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Failed to reset pooled connection, discarding it", e);
+            return false;
+        }
+    }
+    
+    private void closeQuietly(PooledConnection pooled) {
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            logger.log(Level.FINE, "Failed to close physical connection", e);
+        }
+        totalClosed.incrementAndGet();
+    }
+    
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+        
+        for (Map.Entry<PooledConnection, Lease> entry : leases.entrySet()) {
+            Lease lease = entry.getValue();
+            if (!lease.reported && now - lease.borrowedAt > DatabaseConfig.LEAK_DETECTION_THRESHOLD) {
+                lease.reported = true;
+                leaksDetected.increment();
+                logger.log(Level.WARNING, "Possible connection leak: connection held by thread '" + lease.threadName
+                    + "' for " + (now - lease.borrowedAt) + "ms", lease.borrowSite);
+            }
+        }
+        
+        // Retire idle connections that have outlived their maximum lifetime
+        for (PooledConnection pooled : idleConnections) {
+            if (now - pooled.createdAt > DatabaseConfig.MAX_CONNECTION_LIFETIME && idleConnections.remove(pooled)) {
+                closeQuietly(pooled);
+            }
+        }
+    }
+    
+    public PoolStats getStats() {
+        long borrowed = totalBorrowed.sum();
+        return new PoolStats(
+            maxConnections,
+            leases.size(),
+            idleConnections.size(),
+            permits.getQueueLength(),
+            totalCreated.get(),
+            totalClosed.get(),
+            borrowed,
+            borrowTimeouts.sum(),
+            validationFailures.sum(),
+            leaksDetected.sum(),
+            borrowed == 0 ? 0 : totalWaitNanos.sum() / borrowed / 1000);
+    }
+    
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            closeQuietly(pooled);
+        }
+        if (!leases.isEmpty()) {
+            logger.warning("Connection pool shut down with " + leases.size() + " connection(s) still in use");
+        }
+        logger.info("Connection pool shut down: " + getStats());
+    }
+    
+    private static final class Lease {
+        final long borrowedAt = System.currentTimeMillis();
+        final String threadName;
+        final Throwable borrowSite;
+        volatile boolean reported;
+        
+        Lease(String threadName, Throwable borrowSite) {
+            this.threadName = threadName;
+            this.borrowSite = borrowSite;
+        }
+    }
+    
+    private final class PooledConnection {
+        final Connection physical;
+        final long createdAt = System.currentTimeMillis();
+        volatile long lastReturnedAt = createdAt;
+        
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+        
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new HandleInvocationHandler(this));
+        }
+    }
+    
+    /**
+     * Logical connection handed to a single borrower. Closing it returns the
+     * physical connection; any later use of the stale handle fails fast.
+     */
+    private final class HandleInvocationHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean closed;
+        
+        HandleInvocationHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + (closed ? ", returned" : "") + "]";
+                default:
+                    if (closed) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -10,6 +10,85 @@ public class DatabaseConfig {
     // Connection Pool Settings
     public static final int MAX_CONNECTIONS = 10;
     public static final int CONNECTION_TIMEOUT = 30000; // 30 seconds
+    public static final int VALIDATION_TIMEOUT = 5; // seconds, passed to Connection.isValid
+    public static final long VALIDATION_IDLE_THRESHOLD = 5000; // only re-validate connections idle longer than this
+    public static final long MAX_CONNECTION_LIFETIME = 30 * 60 * 1000; // 30 minutes
+    public static final long LEAK_DETECTION_THRESHOLD = 60000; // 60 seconds
+    public static final long POOL_HOUSEKEEPING_INTERVAL = 5000; // 5 seconds
+    public static final int LOCK_WAIT_TIMEOUT = 5; // seconds, innodb_lock_wait_timeout per session
+    public static final int PREPARED_STATEMENT_CACHE_SIZE = 250; // statements cached per connection
+    public static final int GUI_WORKER_THREADS = 4; // background threads for UI queries; keep below MAX_CONNECTIONS
+    
+    // Node Id Lease Settings
+    public static final long NODE_LEASE_DURATION = 30000; // 30 seconds; also how long a lapsed node id stays unused
+    public static final long NODE_LEASE_RENEW_INTERVAL = 10000; // 10 seconds
+    
+    // Account Lock Settings
+    public static final int ACCOUNT_LOCK_STRIPES = 256; // must be a power of two
+    public static final long ACCOUNT_LOCK_TIMEOUT = 5000; // milliseconds to wait for every stripe of a posting
+    
+    // Transfer Retry Settings
+    public static final int TRANSFER_MAX_RETRIES = 4;
+    public static final long TRANSFER_RETRY_BASE_DELAY = 20; // milliseconds
+    public static final long TRANSFER_RETRY_MAX_DELAY = 500; // milliseconds
+    
+    // Posting Pipeline Settings
+    public static final int POSTING_SHARDS = 4; // one writer thread per shard; keep below MAX_CONNECTIONS
+    public static final int POSTING_QUEUE_CAPACITY = 1000; // postings waiting per shard
+    public static final long POSTING_ENQUEUE_TIMEOUT = 50; // milliseconds to wait for room before rejecting
+    public static final int JOURNAL_BATCH_SIZE = 64; // most deposits and withdrawals per group commit
+    public static final long JOURNAL_LINGER_MICROS = 200; // how long a short batch waits for more postings
+    
+    // Account numbers reserved per round trip to account_sequences
+    public static final int ACCOUNT_NUMBER_BLOCK_SIZE = 50;
+    
+    // Accounts credited per interest-run transaction
+    public static final int INTEREST_CHUNK_SIZE = 2000;
+    
+    // Bulk Posting Settings
+    public static final int BULK_CHUNK_SIZE = 1000; // credits per transaction
+    public static final int BULK_CHUNK_RETRIES = 3; // after a deadlock or lock-wait timeout
+    public static final int BULK_MAX_REPORTED_REJECTS = 1000; // rejects returned in the result; the rejects file has all
+    
+    // Account Cache Settings
+    public static final int ACCOUNT_CACHE_MAX_SIZE = 10000;
+    public static final long ACCOUNT_CACHE_TTL = 30000; // 30 seconds; bounds staleness from writes made by other processes
+    
+    // Transaction History Cache Settings
+    public static final int HISTORY_WINDOW_SIZE = 500; // recent transactions kept per account
+    public static final long HISTORY_TAIL_OVERLAP = 5000; // 5 seconds re-read behind the newest row seen
+    public static final int HISTORY_CACHE_MAX_ACCOUNTS = 1000;
+    public static final long HISTORY_CACHE_TTL = 900000; // 15 minutes
+    
+    // Dashboard counters are checked against the database this often
+    public static final long DASHBOARD_RECONCILE_INTERVAL = 60000; // 60 seconds
+    
+    // Change Feed Settings
+    public static final long CHANGE_FEED_POLL_INTERVAL = 2000; // 2 seconds
+    public static final int CHANGE_FEED_BATCH_SIZE = 500; // change_log rows per poll query
+    public static final long CHANGE_FEED_GAP_TIMEOUT = 10000; // 10 seconds; a skipped id still missing after this was rolled back
+    public static final int CHANGE_LOG_MAX_KEYS = 100; // larger writes log one row for every entity of the type
+    public static final long CHANGE_LOG_RETENTION = 86400000; // 1 day
+    public static final long CHANGE_LOG_PURGE_INTERVAL = 3600000; // 1 hour
+    public static final int CHANGE_LOG_PURGE_BATCH_SIZE = 10000;
+    
+    // Session Settings
+    public static final long SESSION_IDLE_TIMEOUT = 1800000; // 30 minutes without a request
+    public static final long SESSION_ABSOLUTE_TIMEOUT = 43200000; // 12 hours after sign-in
+    public static final long SESSION_SWEEP_INTERVAL = 60000; // 1 minute
+    public static final int SESSION_TOKEN_BYTES = 32;
+    
+    // HTTP Server Settings
+    public static final int HTTP_PORT = 8080;
+    public static final int HTTP_BACKLOG = 1024; // pending connections queued by the OS
+    public static final int HTTP_WORKER_THREADS = 200; // request threads when virtual threads are unavailable
+    public static final int HTTP_MAX_BODY_BYTES = 65536;
+    public static final int HTTP_MAX_BULK_BODY_BYTES = 33554432; // 32 MB, room for a 100k-credit batch
+    
+    // Keyset Paging
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int STREAM_FETCH_SIZE = 1000; // rows per round trip for RowCursor reads
     
     // Database Schema
     public static final String SCHEMA_NAME = "banking_system";
@@ -1,12 +1,17 @@
 package database;
 
 import java.sql.*;
+import java.util.Properties;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 public class DatabaseManager {
     private static final Logger logger = Logger.getLogger(DatabaseManager.class.getName());
     
+    // MySQL error codes for lock contention
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+    
     static {
         try {
             // Load MySQL JDBC driver
@@ -18,26 +23,95 @@ public class DatabaseManager {
         }
     }
     
+    private static final ConnectionPool pool = new ConnectionPool(
+        DatabaseConfig.DB_URL,
+        connectionProperties(),
+        DatabaseConfig.MAX_CONNECTIONS,
+        DatabaseConfig.CONNECTION_TIMEOUT
+    );
+    
+    private static Properties connectionProperties() {
+        Properties props = new Properties();
+        props.setProperty("user", DatabaseConfig.DB_USERNAME);
+        props.setProperty("password", DatabaseConfig.DB_PASSWORD);
+        // Lets a balance posting and its read-back share one round trip (see AccountDAO.postBalanceChange)
+        props.setProperty("allowMultiQueries", "true");
+        // Send JDBC batches as multi-row statements instead of one round trip per row
+        props.setProperty("rewriteBatchedStatements", "true");
+        // Statements with a fetch size read through a server-side cursor (see dao.RowCursor)
+        props.setProperty("useCursorFetch", "true");
+        // Prepare each distinct SQL text once per connection and reuse it (see dao.TransactionQuery)
+        props.setProperty("useServerPrepStmts", "true");
+        props.setProperty("cachePrepStmts", "true");
+        props.setProperty("prepStmtCacheSize", String.valueOf(DatabaseConfig.PREPARED_STATEMENT_CACHE_SIZE));
+        props.setProperty("prepStmtCacheSqlLimit", "2048");
+        // Fail lock waits quickly so contended transfers are retried instead of stalling
+        props.setProperty("sessionVariables", "innodb_lock_wait_timeout=" + DatabaseConfig.LOCK_WAIT_TIMEOUT);
+        return props;
+    }
+    
     public static Connection getConnection() throws SQLException {
-        try {
-            Connection conn = DriverManager.getConnection(
-                DatabaseConfig.DB_URL, 
-                DatabaseConfig.DB_USERNAME, 
-                DatabaseConfig.DB_PASSWORD
-            );
-            conn.setAutoCommit(false); // Enable transaction management
-            return conn;
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Failed to establish database connection", e);
-            throw e;
+        return pool.getConnection();
+    }
+    
+    public static boolean isDeadlock(SQLException e) {
+        return hasErrorCode(e, MYSQL_DEADLOCK);
+    }
+    
+    public static boolean isLockWaitTimeout(SQLException e) {
+        return hasErrorCode(e, MYSQL_LOCK_WAIT_TIMEOUT);
+    }
+    
+    /**
+     * True when the transaction was rolled back because of lock contention and
+     * can safely be run again from the start.
+     */
+    public static boolean isRetryable(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransactionRollbackException) {
+                return true;
+            }
+            if (t instanceof SQLException) {
+                SQLException sqlException = (SQLException) t;
+                String sqlState = sqlException.getSQLState();
+                if (sqlState != null && sqlState.startsWith("40")) {
+                    return true;
+                }
+                int errorCode = sqlException.getErrorCode();
+                if (errorCode == MYSQL_DEADLOCK || errorCode == MYSQL_LOCK_WAIT_TIMEOUT) {
+                    return true;
+                }
+            }
         }
+        return false;
+    }
+    
+    private static boolean hasErrorCode(SQLException e, int errorCode) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException && ((SQLException) t).getErrorCode() == errorCode) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public static PoolStats getPoolStats() {
+        return pool.getStats();
+    }
+    
+    public static void shutdown() {
+        NodeIdLease.getInstance().release();
+        pool.shutdown();
     }
     
     public static void initializeDatabase() {
         try (Connection conn = getConnection()) {
             createTables(conn);
+            ensurePagingIndexes(conn);
+            ensureColumn(conn, "job_checkpoints", "input_hash", "VARCHAR(64) NOT NULL DEFAULT '' AFTER processed_count");
             insertDefaultData(conn);
             conn.commit();
+            NodeIdLease.getInstance().acquire();
             logger.info("Database initialized successfully");
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Failed to initialize database", e);
@@ -59,7 +133,8 @@ public class DatabaseManager {
                 is_active BOOLEAN DEFAULT TRUE,
                 last_login TIMESTAMP NULL,
                 INDEX idx_username (username),
-                INDEX idx_email (email)
+                INDEX idx_email (email),
+                INDEX idx_role_created (role, created_date)
             )
         """;
         
@@ -77,7 +152,8 @@ public class DatabaseManager {
                 FOREIGN KEY (customer_id) REFERENCES users(user_id) ON DELETE CASCADE,
                 INDEX idx_customer_id (customer_id),
                 INDEX idx_account_type (account_type),
-                INDEX idx_status (status)
+                INDEX idx_status (status),
+                INDEX idx_created_account (created_date, account_number)
             )
         """;
         
@@ -98,6 +174,7 @@ public class DatabaseManager {
                 INDEX idx_account_number (account_number),
                 INDEX idx_transaction_type (transaction_type),
                 INDEX idx_timestamp (timestamp),
+                INDEX idx_timestamp_id (timestamp, transaction_id),
                 INDEX idx_amount (amount)
             )
         """;
@@ -121,15 +198,113 @@ public class DatabaseManager {
             )
         """;
         
+        // Create Account Sequences table
+        String createAccountSequencesTable = """
+            CREATE TABLE IF NOT EXISTS account_sequences (
+                name VARCHAR(50) PRIMARY KEY,
+                next_value BIGINT NOT NULL
+            )
+        """;
+        
+        // Create Job Checkpoints table
+        String createJobCheckpointsTable = """
+            CREATE TABLE IF NOT EXISTS job_checkpoints (
+                job_name VARCHAR(100) PRIMARY KEY,
+                run_id VARCHAR(50) NOT NULL,
+                last_key VARCHAR(100) NOT NULL DEFAULT '',
+                processed_count BIGINT NOT NULL DEFAULT 0,
+                input_hash VARCHAR(64) NOT NULL DEFAULT '',
+                status ENUM('RUNNING', 'COMPLETED') NOT NULL,
+                started_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+            )
+        """;
+        
+        // Create Node Leases table
+        String createNodeLeasesTable = """
+            CREATE TABLE IF NOT EXISTS node_leases (
+                node_id SMALLINT PRIMARY KEY,
+                owner VARCHAR(100) NOT NULL,
+                expires_at TIMESTAMP(3) NOT NULL
+            )
+        """;
+        
+        // Create Change Log table
+        String createChangeLogTable = """
+            CREATE TABLE IF NOT EXISTS change_log (
+                change_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                entity_type VARCHAR(20) NOT NULL,
+                entity_key VARCHAR(50) NOT NULL,
+                changed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                INDEX idx_changed_at (changed_at)
+            )
+        """;
+        
         try (Statement stmt = conn.createStatement()) {
             stmt.execute(createUsersTable);
             stmt.execute(createAccountsTable);
             stmt.execute(createTransactionsTable);
             stmt.execute(createAuditLogTable);
+            stmt.execute(createAccountSequencesTable);
+            stmt.execute(createJobCheckpointsTable);
+            stmt.execute(createChangeLogTable);
+            stmt.execute(createNodeLeasesTable);
             logger.info("Database tables created successfully");
         }
     }
     
+    // Keyset pages seek on these; CREATE TABLE IF NOT EXISTS won't add them to older databases
+    private static void ensurePagingIndexes(Connection conn) throws SQLException {
+        ensureIndex(conn, DatabaseConfig.TABLE_TRANSACTIONS, "idx_timestamp_id", "timestamp, transaction_id");
+        ensureIndex(conn, DatabaseConfig.TABLE_ACCOUNTS, "idx_created_account", "created_date, account_number");
+        ensureIndex(conn, DatabaseConfig.TABLE_USERS, "idx_role_created", "role, created_date");
+    }
+    
+    private static void ensureIndex(Connection conn, String table, String index, String columns) throws SQLException {
+        String sql = """
+            SELECT 1 FROM information_schema.statistics 
+            WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ? LIMIT 1
+        """;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, table);
+            pstmt.setString(2, index);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD INDEX " + index + " (" + columns + ")");
+            logger.info("Added index " + index + " on " + table);
+        }
+    }
+    
+    // Same for columns added to a table after it shipped
+    private static void ensureColumn(Connection conn, String table, String column, String definition) throws SQLException {
+        String sql = """
+            SELECT 1 FROM information_schema.columns 
+            WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ? LIMIT 1
+        """;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, table);
+            pstmt.setString(2, column);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+        }
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+            logger.info("Added column " + column + " to " + table);
+        }
+    }
+    
     private static void insertDefaultData(Connection conn) throws SQLException {
         // Insert default bank manager
         String insertManager = """
@@ -143,9 +318,16 @@ public class DatabaseManager {
             VALUES ('customer', 'customer123', 'John Doe', 'john.doe@email.com', 'CUSTOMER')
         """;
         
+        // Start account numbers after the highest one already issued
+        String seedAccountSequence = """
+            INSERT IGNORE INTO account_sequences (name, next_value)
+            SELECT 'ACCOUNT_NUMBER', COALESCE(MAX(CAST(SUBSTRING(account_number, 4) AS UNSIGNED)), 0) + 1 FROM accounts
+        """;
+        
         try (Statement stmt = conn.createStatement()) {
             stmt.execute(insertManager);
             stmt.execute(insertCustomer);
+            stmt.execute(seedAccountSequence);
             logger.info("Default users inserted successfully");
         }
     }
@@ -0,0 +1,201 @@
+package database;
+
+import utils.IdGenerator;
+
+import java.net.InetAddress;
+import java.sql.*;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Leases this JVM's IdGenerator node id from the node_leases table, so two
+ * processes sharing the database never issue ids under the same node id.
+ *
+ * A JVM claims the lowest node id that has never been leased, otherwise the
+ * one idle longest, and renews the lease every NODE_LEASE_RENEW_INTERVAL.
+ * IdGenerator stops issuing ids once a lease would have expired without a
+ * renewal, so a JVM cut off from the database never outlives its lease. A
+ * lapsed lease is only handed to another JVM a further NODE_LEASE_DURATION
+ * later, which keeps the two JVMs' ids at least that far apart in time.
+ *
+ * JVMs started with -Dbanking.node.id skip the lease; keeping those ids
+ * unique is up to whoever assigns them.
+ */
+public class NodeIdLease {
+    private static final Logger logger = Logger.getLogger(NodeIdLease.class.getName());
+    
+    private static final int CLAIM_ATTEMPTS = 5;
+    private static final int MAX_HOST_LENGTH = 60; // owner is VARCHAR(100)
+    
+    private static final NodeIdLease INSTANCE = new NodeIdLease();
+    
+    private final String owner = ownerName();
+    private long nodeId = -1; // guarded by this
+    private ScheduledExecutorService renewer;
+    
+    private NodeIdLease() {
+    }
+    
+    public static NodeIdLease getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Claims a node id unless one is configured or already held.
+     *
+     * @throws SQLException if no node id is free or the claim fails
+     */
+    public synchronized void acquire() throws SQLException {
+        if (IdGenerator.isNodeIdConfigured() || nodeId >= 0) {
+            return;
+        }
+        for (int attempt = 1; ; attempt++) {
+            long validUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DatabaseConfig.NODE_LEASE_DURATION);
+            try (Connection conn = DatabaseManager.getConnection()) {
+                long claimed = claim(conn);
+                conn.commit();
+                nodeId = claimed;
+                IdGenerator.leaseNodeId(nodeId, validUntil);
+                break;
+            } catch (SQLException e) {
+                // Concurrent claims can deadlock on the table's gap locks
+                if (!DatabaseManager.isRetryable(e) || attempt >= CLAIM_ATTEMPTS) {
+                    logger.log(Level.SEVERE, "Could not lease a node id", e);
+                    throw e;
+                }
+            }
+        }
+        
+        renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "node-id-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+        renewer.scheduleWithFixedDelay(this::renew, DatabaseConfig.NODE_LEASE_RENEW_INTERVAL,
+            DatabaseConfig.NODE_LEASE_RENEW_INTERVAL, TimeUnit.MILLISECONDS);
+        logger.info("Node id " + nodeId + " leased by " + owner);
+    }
+    
+    // Expires the lease now; the node id is reusable NODE_LEASE_DURATION later
+    public synchronized void release() {
+        if (nodeId < 0) {
+            return;
+        }
+        renewer.shutdownNow();
+        IdGenerator.revokeNodeId();
+        String sql = "UPDATE node_leases SET expires_at = NOW(3) WHERE node_id = ? AND owner = ?";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setLong(1, nodeId);
+            pstmt.setString(2, owner);
+            pstmt.executeUpdate();
+            conn.commit();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Could not release node id " + nodeId + "; it expires on its own", e);
+        }
+        nodeId = -1;
+    }
+    
+    private long claim(Connection conn) throws SQLException {
+        String lockSql = """
+            SELECT node_id, expires_at < NOW(3) - INTERVAL ? MICROSECOND AS reusable
+            FROM node_leases ORDER BY expires_at FOR UPDATE
+        """;
+        
+        Set<Long> leased = new HashSet<>();
+        long reusable = -1;
+        try (PreparedStatement pstmt = conn.prepareStatement(lockSql)) {
+            pstmt.setLong(1, DatabaseConfig.NODE_LEASE_DURATION * 1000);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    leased.add(rs.getLong("node_id"));
+                    if (reusable < 0 && rs.getBoolean("reusable")) {
+                        reusable = rs.getLong("node_id"); // rows come oldest first
+                    }
+                }
+            }
+        }
+        
+        long claimed = -1;
+        for (long candidate = 0; candidate < IdGenerator.getNodeIdCount(); candidate++) {
+            if (!leased.contains(candidate)) {
+                claimed = candidate;
+                break;
+            }
+        }
+        if (claimed < 0) {
+            claimed = reusable;
+        }
+        if (claimed < 0) {
+            throw new SQLException("All " + IdGenerator.getNodeIdCount() + " node ids are leased");
+        }
+        
+        String claimSql = """
+            INSERT INTO node_leases (node_id, owner, expires_at) VALUES (?, ?, NOW(3) + INTERVAL ? MICROSECOND)
+            ON DUPLICATE KEY UPDATE owner = VALUES(owner), expires_at = VALUES(expires_at)
+        """;
+        
+        try (PreparedStatement pstmt = conn.prepareStatement(claimSql)) {
+            pstmt.setLong(1, claimed);
+            pstmt.setString(2, owner);
+            pstmt.setLong(3, DatabaseConfig.NODE_LEASE_DURATION * 1000);
+            pstmt.executeUpdate();
+        }
+        return claimed;
+    }
+    
+    private synchronized void renew() {
+        if (nodeId < 0) {
+            return;
+        }
+        // Measured before the UPDATE, so the local deadline falls before the one stored
+        long validUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DatabaseConfig.NODE_LEASE_DURATION);
+        String sql = """
+            UPDATE node_leases SET expires_at = NOW(3) + INTERVAL ? MICROSECOND
+            WHERE node_id = ? AND owner = ? AND expires_at > NOW(3)
+        """;
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setLong(1, DatabaseConfig.NODE_LEASE_DURATION * 1000);
+            pstmt.setLong(2, nodeId);
+            pstmt.setString(3, owner);
+            int renewed = pstmt.executeUpdate();
+            conn.commit();
+            if (renewed == 0) {
+                logger.severe("Lease on node id " + nodeId + " was lost; no more ids will be issued");
+                IdGenerator.revokeNodeId();
+                renewer.shutdown();
+                nodeId = -1;
+                return;
+            }
+            IdGenerator.leaseNodeId(nodeId, validUntil);
+        } catch (SQLException e) {
+            // IdGenerator stops on its own if the lease runs out before the next renewal succeeds
+            logger.log(Level.WARNING, "Could not renew lease on node id " + nodeId, e);
+        }
+    }
+    
+    private static String ownerName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        if (host.length() > MAX_HOST_LENGTH) {
+            host = host.substring(0, MAX_HOST_LENGTH);
+        }
+        return ProcessHandle.current().pid() + "@" + host + "/"
+            + Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package database;
+
+/**
+ * Immutable snapshot of connection pool activity.
+ */
+public class PoolStats {
+    private final int maxConnections;
+    private final int activeConnections;
+    private final int idleConnections;
+    private final int waitingThreads;
+    private final long totalCreated;
+    private final long totalClosed;
+    private final long totalBorrowed;
+    private final long borrowTimeouts;
+    private final long validationFailures;
+    private final long leaksDetected;
+    private final long averageWaitMicros;
+    
+    public PoolStats(int maxConnections, int activeConnections, int idleConnections, int waitingThreads,
+                     long totalCreated, long totalClosed, long totalBorrowed, long borrowTimeouts,
+                     long validationFailures, long leaksDetected, long averageWaitMicros) {
+        this.maxConnections = maxConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.waitingThreads = waitingThreads;
+        this.totalCreated = totalCreated;
+        this.totalClosed = totalClosed;
+        this.totalBorrowed = totalBorrowed;
+        this.borrowTimeouts = borrowTimeouts;
+        this.validationFailures = validationFailures;
+        this.leaksDetected = leaksDetected;
+        this.averageWaitMicros = averageWaitMicros;
+    }
+    
+    // Getters
+    public int getMaxConnections() { return maxConnections; }
+    public int getActiveConnections() { return activeConnections; }
+    public int getIdleConnections() { return idleConnections; }
+    public int getWaitingThreads() { return waitingThreads; }
+    public long getTotalCreated() { return totalCreated; }
+    public long getTotalClosed() { return totalClosed; }
+    public long getTotalBorrowed() { return totalBorrowed; }
+    public long getBorrowTimeouts() { return borrowTimeouts; }
+    public long getValidationFailures() { return validationFailures; }
+    public long getLeaksDetected() { return leaksDetected; }
+    public long getAverageWaitMicros() { return averageWaitMicros; }
+    
+    @Override
+    public String toString() {
+        return String.format("Pool{active=%d, idle=%d, max=%d, waiting=%d, created=%d, closed=%d, borrowed=%d, " +
+                             "timeouts=%d, validationFailures=%d, leaks=%d, avgWait=%dus}",
+                             activeConnections, idleConnections, maxConnections, waitingThreads, totalCreated,
+                             totalClosed, totalBorrowed, borrowTimeouts, validationFailures, leaksDetected,
+                             averageWaitMicros);
+    }
+}
\ No newline at end of file
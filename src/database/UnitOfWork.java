@@ -0,0 +1,55 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * One pooled connection and one database transaction shared by every DAO call
+ * made inside it. Work is rolled back on close unless commit() was reached.
+ *
+ * <pre>
+ * try (UnitOfWork uow = UnitOfWork.begin()) {
+ *     accountDAO.updateBalance(uow.getConnection(), accountNumber, newBalance);
+ *     transactionDAO.saveTransaction(uow.getConnection(), transaction);
+ *     uow.commit();
+ * }
+ * </pre>
+ */
+public class UnitOfWork implements AutoCloseable {
+    private static final Logger logger = Logger.getLogger(UnitOfWork.class.getName());
+    
+    private final Connection connection;
+    private boolean committed;
+    
+    private UnitOfWork(Connection connection) {
+        this.connection = connection;
+    }
+    
+    public static UnitOfWork begin() throws SQLException {
+        return new UnitOfWork(DatabaseManager.getConnection());
+    }
+    
+    public Connection getConnection() {
+        return connection;
+    }
+    
+    public void commit() throws SQLException {
+        connection.commit();
+        committed = true;
+    }
+    
+    public boolean isCommitted() {
+        return committed;
+    }
+    
+    @Override
+    public void close() {
+        if (!committed) {
+            logger.log(Level.FINE, "Rolling back uncommitted unit of work");
+            DatabaseManager.rollback(connection);
+        }
+        DatabaseManager.closeConnection(connection);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,7 @@
+package exceptions;
+
+public class BatchConflictException extends Exception {
+    public BatchConflictException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
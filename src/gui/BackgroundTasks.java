@@ -0,0 +1,123 @@
+package gui;
+
+import database.DatabaseConfig;
+
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Runs service calls on a small worker pool so JDBC never blocks the event
+ * dispatch thread, and delivers each result back on the EDT.
+ *
+ * Tasks submitted under the same key supersede each other: a new refresh
+ * cancels the previous one if it has not started, and drops its result if it
+ * has. Writes are submitted without a key and always report back. The
+ * progress bar is shown while any task of this frame is outstanding. Call
+ * every method from the EDT.
+ */
+class BackgroundTasks {
+    private static final Logger logger = Logger.getLogger(BackgroundTasks.class.getName());
+    
+    // Shared by every frame; bounded so the UI never holds more than this many pooled connections
+    private static final ExecutorService WORKERS = Executors.newFixedThreadPool(
+        DatabaseConfig.GUI_WORKER_THREADS, new WorkerThreadFactory());
+    
+    private final JProgressBar progressBar;
+    private final Map<String, FutureTask<?>> latest = new HashMap<>();
+    private int outstanding;
+    
+    BackgroundTasks(JProgressBar progressBar) {
+        this.progressBar = progressBar;
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(false);
+    }
+    
+    // Runs work in the background; only the newest task per key reports back
+    <T> void submit(String key, Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        FutureTask<T> task = new FutureTask<>(work) {
+            @Override
+            protected void done() {
+                SwingUtilities.invokeLater(() -> finish(key, this, onSuccess, onError));
+            }
+        };
+        
+        if (key != null) {
+            FutureTask<?> previous = latest.put(key, task);
+            if (previous != null) {
+                // A running query is left to finish; its result is discarded in finish
+                previous.cancel(false);
+            }
+        }
+        outstanding++;
+        progressBar.setVisible(true);
+        WORKERS.execute(task);
+    }
+    
+    // For writes: never superseded, always reports back
+    <T> void run(Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        submit(null, work, onSuccess, onError);
+    }
+    
+    // Drops every keyed task, e.g. when the frame is closed; writes still complete
+    void cancelAll() {
+        for (FutureTask<?> task : latest.values()) {
+            task.cancel(false);
+        }
+        latest.clear();
+    }
+    
+    private <T> void finish(String key, FutureTask<T> task, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        outstanding--;
+        progressBar.setVisible(outstanding > 0);
+        
+        if (key != null) {
+            if (latest.get(key) != task) {
+                return; // superseded by a newer task
+            }
+            latest.remove(key);
+        }
+        
+        T result;
+        try {
+            result = task.get();
+        } catch (CancellationException e) {
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                onError.accept((Exception) cause);
+                return;
+            }
+            logger.log(Level.SEVERE, "Background task failed", cause);
+            throw (Error) cause;
+        }
+        onSuccess.accept(result);
+    }
+    
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+        
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "gui-db-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
\ No newline at end of file
@@ -2,6 +2,13 @@ package gui;
 
 import services.AuthenticationService;
 import services.BankingService;
+import services.ChangeFeed;
+import services.ChangeSet;
+import services.TransactionHistoryCache;
+import dao.Page;
+import dao.PageCursor;
+import dao.TransactionQuery;
+import database.DatabaseConfig;
 import models.*;
 import exceptions.*;
 
@@ -11,10 +18,14 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
-import java.sql.SQLException;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class CustomerMainFrame extends JFrame {
     private AuthenticationService authService;
@@ -26,6 +37,21 @@ public class CustomerMainFrame extends JFrame {
     private JTable transactionTable;
     private DefaultTableModel accountTableModel;
     private DefaultTableModel transactionTableModel;
+    private JButton loadOlderButton;
+    
+    // Rows in the "Show All" view: the recent window plus any older pages the user loaded
+    private List<Transaction> customerTransactions = new ArrayList<>();
+    private boolean olderPagesLoaded;
+    // Re-run by refreshTransactionData, so a refresh keeps whichever view is showing
+    private Runnable transactionView = this::showRecentTransactions;
+    
+    // Accounts on screen; change feed notifications for any other account are ignored
+    private Set<String> accountNumbers = Set.of();
+    private Consumer<ChangeSet> changeListener;
+    
+    // All database work runs through here, off the event dispatch thread
+    private final JProgressBar progressBar = new JProgressBar();
+    private final BackgroundTasks tasks = new BackgroundTasks(progressBar);
     
     public CustomerMainFrame(AuthenticationService authService) {
         this.authService = authService;
@@ -212,12 +238,16 @@ public class CustomerMainFrame extends JFrame {
         
         JButton filterButton = createModernButton("💎 Filter High Value (>₹10,000)", new Color(230, 126, 34), new Color(211, 84, 0));
         JButton showAllButton = createModernButton("📋 Show All", new Color(52, 152, 219), new Color(41, 128, 185));
+        loadOlderButton = createModernButton("⏬ Load Older", new Color(127, 140, 141), new Color(99, 110, 114));
         
         filterButton.addActionListener(e -> filterHighValueTransactions());
-        showAllButton.addActionListener(e -> refreshTransactionData());
+        showAllButton.addActionListener(e -> showAllTransactions());
+        loadOlderButton.addActionListener(e -> loadOlderTransactions());
+        loadOlderButton.setEnabled(false);
         
         filterPanel.add(filterButton);
         filterPanel.add(showAllButton);
+        filterPanel.add(loadOlderButton);
         
         panel.add(filterPanel, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
@@ -353,57 +383,100 @@ public class CustomerMainFrame extends JFrame {
     }
     
     private void refreshAccountData() {
-        try {
-            List<Account> accounts = bankingService.getAccountsByCustomer(currentUser.getUserId());
-            
+        tasks.submit("accounts", () -> bankingService.getAccountsByCustomer(currentUser.getUserId()), accounts -> {
+            accountNumbers = accounts.stream().map(Account::getAccountNumber).collect(Collectors.toSet());
             accountTableModel.setRowCount(0);
             for (Account account : accounts) {
                 accountTableModel.addRow(new Object[]{
                     account.getAccountNumber(),
                     account.getAccountType(),
-                    String.format("₹%.2f", account.getBalance()),
+                    "₹" + account.getBalance(),
                     account.getStatus(),
                     account.getCreatedDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy"))
                 });
             }
-        } catch (SQLException e) {
-            showError("Error loading account data: " + e.getMessage());
-        }
+        }, e -> showError("Error loading account data: " + e.getMessage()));
     }
     
     private void refreshTransactionData() {
-        try {
-            List<Transaction> transactions = bankingService.getCustomerTransactions(currentUser.getUserId());
+        transactionView.run();
+    }
             
-            transactionTableModel.setRowCount(0);
-            for (Transaction transaction : transactions) {
-                transactionTableModel.addRow(new Object[]{
-                    transaction.getTransactionId(),
-                    transaction.getAccountNumber(),
-                    transaction.getType(),
-                    String.format("₹%.2f", transaction.getAmount()),
-                    String.format("₹%.2f", transaction.getBalanceAfter()),
-                    transaction.getTimestamp().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")),
-                    transaction.getDescription()
-                });
+    private void showTransactionView(Runnable view) {
+        transactionView = view;
+        view.run();
+    }
+    
+    private void showRecentTransactions() {
+        tasks.submit("transactions", () -> bankingService.getRecentCustomerTransactions(currentUser.getUserId()), recent -> {
+            List<Transaction> transactions = recent;
+            if (olderPagesLoaded) {
+                // Keep the pages the user scrolled back through; new rows land on top
+                TreeSet<Transaction> merged = new TreeSet<>(TransactionHistoryCache.NEWEST_FIRST);
+                merged.addAll(customerTransactions);
+                merged.addAll(transactions);
+                transactions = new ArrayList<>(merged);
+            } else {
+                loadOlderButton.setEnabled(transactions.size() >= DatabaseConfig.HISTORY_WINDOW_SIZE);
             }
-        } catch (SQLException e) {
-            showError("Error loading transaction data: " + e.getMessage());
+            customerTransactions = transactions;
+            
+            transactionTableModel.setRowCount(0);
+            addTransactionRows(transactions);
+        }, e -> showError("Error loading transaction data: " + e.getMessage()));
+    }
+    
+    private void showAllTransactions() {
+        olderPagesLoaded = false;
+        showTransactionView(this::showRecentTransactions);
+    }
+    
+    // Next page past the oldest row shown; these pages are not cached
+    private void loadOlderTransactions() {
+        if (customerTransactions.isEmpty()) {
+            return;
+        }
+        Transaction oldest = customerTransactions.get(customerTransactions.size() - 1);
+        
+        TransactionQuery query = TransactionQuery.builder()
+            .customer(currentUser.getUserId())
+            .after(new PageCursor(oldest.getTimestamp(), oldest.getTransactionId()))
+            .build();
+        loadOlderButton.setEnabled(false);
+        tasks.submit("transactions", () -> bankingService.findTransactions(query), page -> {
+            customerTransactions.addAll(page.getItems());
+            olderPagesLoaded = true;
+            addTransactionRows(page.getItems());
+            loadOlderButton.setEnabled(page.hasMore());
+        }, e -> {
+            loadOlderButton.setEnabled(true);
+            showError("Error loading older transactions: " + e.getMessage());
+        });
+    }
+    
+    private void addTransactionRows(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            transactionTableModel.addRow(new Object[]{
+                transaction.getTransactionId(),
+                transaction.getAccountNumber(),
+                transaction.getType(),
+                "₹" + transaction.getAmount(),
+                "₹" + transaction.getBalanceAfter(),
+                transaction.getTimestamp().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")),
+                transaction.getDescription()
+            });
         }
     }
     
     private void loadAccountsIntoCombo(JComboBox<String> combo) {
-        try {
-            List<Account> accounts = bankingService.getAccountsByCustomer(currentUser.getUserId());
+        tasks.submit("accountCombo", () -> bankingService.getAccountsByCustomer(currentUser.getUserId()), accounts -> {
             combo.removeAllItems();
             for (Account account : accounts) {
                 if (account.getStatus() == AccountStatus.ACTIVE) {
                     combo.addItem(account.getAccountNumber() + " (" + account.getAccountType() + ")");
                 }
             }
-        } catch (SQLException e) {
-            showError("Error loading accounts: " + e.getMessage());
-        }
+        }, e -> showError("Error loading accounts: " + e.getMessage()));
     }    
    
  private void performDeposit() {
@@ -417,23 +490,26 @@ public class CustomerMainFrame extends JFrame {
         String amountStr = JOptionPane.showInputDialog(this, "Enter deposit amount:");
         
         if (amountStr != null && !amountStr.trim().isEmpty()) {
+            Money amount;
             try {
-                double amount = Double.parseDouble(amountStr.trim());
-                if (amount <= 0) {
-                    showError("Amount must be positive");
-                    return;
-                }
+                amount = Money.parse(amountStr.trim());
+            } catch (NumberFormatException e) {
+                showError("Please enter a valid amount");
+                return;
+            }
+            if (!amount.isPositive()) {
+                showError("Amount must be positive");
+                return;
+            }
                 
+            tasks.run(() -> {
                 bankingService.deposit(accountNumber, amount, "Cash deposit");
+                return null;
+            }, ignored -> {
                 showSuccess("Deposit successful!");
                 refreshAccountData();
                 refreshTransactionData();
-                
-            } catch (NumberFormatException e) {
-                showError("Please enter a valid amount");
-            } catch (AccountNotFoundException | InsufficientFundsException | SQLException e) {
-                showError("Deposit failed: " + e.getMessage());
-            }
+            }, e -> showError("Deposit failed: " + e.getMessage()));
         }
     }
     
@@ -448,62 +524,71 @@ public class CustomerMainFrame extends JFrame {
         String amountStr = JOptionPane.showInputDialog(this, "Enter withdrawal amount:");
         
         if (amountStr != null && !amountStr.trim().isEmpty()) {
+            Money amount;
             try {
-                double amount = Double.parseDouble(amountStr.trim());
-                if (amount <= 0) {
-                    showError("Amount must be positive");
-                    return;
-                }
+                amount = Money.parse(amountStr.trim());
+            } catch (NumberFormatException e) {
+                showError("Please enter a valid amount");
+                return;
+            }
+            if (!amount.isPositive()) {
+                showError("Amount must be positive");
+                return;
+            }
                 
+            tasks.run(() -> {
                 bankingService.withdraw(accountNumber, amount, "Cash withdrawal");
+                return null;
+            }, ignored -> {
                 showSuccess("Withdrawal successful!");
                 refreshAccountData();
                 refreshTransactionData();
-                
-            } catch (NumberFormatException e) {
-                showError("Please enter a valid amount");
-            } catch (AccountNotFoundException | InsufficientFundsException | SQLException e) {
-                showError("Withdrawal failed: " + e.getMessage());
-            }
+            }, e -> showError("Withdrawal failed: " + e.getMessage()));
         }
     }
     
     private void performTransfer(JComboBox<String> fromAccountCombo, JTextField toAccountField, 
                                JTextField amountField, JTextField descriptionField, JTextArea resultArea) {
+        String fromAccountStr = (String) fromAccountCombo.getSelectedItem();
+        if (fromAccountStr == null) {
+            resultArea.setText("Please select a source account");
+            return;
+        }
+        
+        String fromAccount = fromAccountStr.split(" ")[0]; // Extract account number
+        String toAccount = toAccountField.getText().trim();
+        String amountStr = amountField.getText().trim();
+        String enteredDescription = descriptionField.getText().trim();
+        
+        if (toAccount.isEmpty() || amountStr.isEmpty()) {
+            resultArea.setText("Please fill all required fields");
+            return;
+        }
+        
+        if (fromAccount.equals(toAccount)) {
+            resultArea.setText("Cannot transfer to the same account");
+            return;
+        }
+        
+        Money amount;
         try {
-            String fromAccountStr = (String) fromAccountCombo.getSelectedItem();
-            if (fromAccountStr == null) {
-                resultArea.setText("Please select a source account");
-                return;
-            }
-            
-            String fromAccount = fromAccountStr.split(" ")[0]; // Extract account number
-            String toAccount = toAccountField.getText().trim();
-            String amountStr = amountField.getText().trim();
-            String description = descriptionField.getText().trim();
-            
-            if (toAccount.isEmpty() || amountStr.isEmpty()) {
-                resultArea.setText("Please fill all required fields");
-                return;
-            }
-            
-            if (fromAccount.equals(toAccount)) {
-                resultArea.setText("Cannot transfer to the same account");
-                return;
-            }
-            
-            double amount = Double.parseDouble(amountStr);
-            if (amount <= 0) {
-                resultArea.setText("Amount must be positive");
-                return;
-            }
+            amount = Money.parse(amountStr);
+        } catch (NumberFormatException e) {
+            resultArea.setText("Please enter a valid amount");
+            return;
+        }
+        if (!amount.isPositive()) {
+            resultArea.setText("Amount must be positive");
+            return;
+        }
             
-            if (description.isEmpty()) {
-                description = "Fund transfer";
-            }
+        String description = enteredDescription.isEmpty() ? "Fund transfer" : enteredDescription;
             
+        resultArea.setText("Processing transfer...");
+        tasks.run(() -> {
             bankingService.transfer(fromAccount, toAccount, amount, description);
-            
+            return null;
+        }, ignored -> {
             // Clear fields
             toAccountField.setText("");
             amountField.setText("");
@@ -512,17 +597,12 @@ public class CustomerMainFrame extends JFrame {
             resultArea.setText("Transfer successful!\n" +
                 "From: " + fromAccount + "\n" +
                 "To: " + toAccount + "\n" +
-                "Amount: ₹" + String.format("%.2f", amount) + "\n" +
+                "Amount: ₹" + amount + "\n" +
                 "Description: " + description);
             
             refreshAccountData();
             refreshTransactionData();
-            
-        } catch (NumberFormatException e) {
-            resultArea.setText("Please enter a valid amount");
-        } catch (AccountNotFoundException | InsufficientFundsException | SQLException e) {
-            resultArea.setText("Transfer failed: " + e.getMessage());
-        }
+        }, e -> resultArea.setText("Transfer failed: " + e.getMessage()));
     }
     
     private void viewAccountTransactions() {
@@ -534,54 +614,34 @@ public class CustomerMainFrame extends JFrame {
         
         String accountNumber = (String) accountTableModel.getValueAt(selectedRow, 0);
         
-        try {
-            List<Transaction> transactions = bankingService.getTransactionHistory(accountNumber);
-            
-            // Switch to transactions tab and filter by account
-            tabbedPane.setSelectedIndex(1);
+        // Switch to transactions tab and filter by account
+        tabbedPane.setSelectedIndex(1);
+        showTransactionView(() -> showAccountTransactions(accountNumber));
+    }
             
+    private void showAccountTransactions(String accountNumber) {
+        loadOlderButton.setEnabled(false);
+        tasks.submit("transactions", () -> bankingService.getRecentTransactions(accountNumber), transactions -> {
             transactionTableModel.setRowCount(0);
-            for (Transaction transaction : transactions) {
-                transactionTableModel.addRow(new Object[]{
-                    transaction.getTransactionId(),
-                    transaction.getAccountNumber(),
-                    transaction.getType(),
-                    String.format("₹%.2f", transaction.getAmount()),
-                    String.format("₹%.2f", transaction.getBalanceAfter()),
-                    transaction.getTimestamp().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")),
-                    transaction.getDescription()
-                });
-            }
-            
-        } catch (SQLException e) {
-            showError("Error loading transactions: " + e.getMessage());
-        }
+            addTransactionRows(transactions);
+        }, e -> showError("Error loading transactions: " + e.getMessage()));
     }
     
     private void filterHighValueTransactions() {
-        try {
-            List<Transaction> transactions = bankingService.getCustomerTransactions(currentUser.getUserId());
-            List<Transaction> highValueTransactions = bankingService.filterTransactionsByType(transactions, "");
+        showTransactionView(this::showHighValueTransactions);
+    }
             
-            // Filter using Java 8 Streams
+    private void showHighValueTransactions() {
+        TransactionQuery query = TransactionQuery.builder()
+            .customer(currentUser.getUserId())
+            .amountAbove(Money.ofRupees(10000))
+            .limit(DatabaseConfig.MAX_PAGE_SIZE)
+            .build();
+        loadOlderButton.setEnabled(false);
+        tasks.submit("transactions", () -> bankingService.findTransactions(query), highValueTransactions -> {
             transactionTableModel.setRowCount(0);
-            transactions.stream()
-                .filter(t -> t.getAmount() > 10000)
-                .forEach(transaction -> {
-                    transactionTableModel.addRow(new Object[]{
-                        transaction.getTransactionId(),
-                        transaction.getAccountNumber(),
-                        transaction.getType(),
-                        String.format("₹%.2f", transaction.getAmount()),
-                        String.format("₹%.2f", transaction.getBalanceAfter()),
-                        transaction.getTimestamp().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")),
-                        transaction.getDescription()
-                    });
-                });
-                
-        } catch (SQLException e) {
-            showError("Error filtering transactions: " + e.getMessage());
-        }
+            addTransactionRows(highValueTransactions.getItems());
+        }, e -> showError("Error filtering transactions: " + e.getMessage()));
     }
     
     private void requestNewAccount() {
@@ -594,20 +654,20 @@ public class CustomerMainFrame extends JFrame {
             String initialBalanceStr = JOptionPane.showInputDialog(this, "Enter initial balance:");
             
             if (initialBalanceStr != null && !initialBalanceStr.trim().isEmpty()) {
+                Money initialBalance;
                 try {
-                    double initialBalance = Double.parseDouble(initialBalanceStr.trim());
-                    
-                    String accountNumber = bankingService.createAccount(
-                        currentUser.getFullName(), selectedType, initialBalance, currentUser.getUserId());
-                    
-                    showSuccess("Account created successfully!\nAccount Number: " + accountNumber);
-                    refreshAccountData();
-                    
+                    initialBalance = Money.parse(initialBalanceStr.trim());
                 } catch (NumberFormatException e) {
                     showError("Please enter a valid amount");
-                } catch (SQLException e) {
-                    showError("Account creation failed: " + e.getMessage());
+                    return;
                 }
+                
+                tasks.run(() -> bankingService.createAccount(
+                        currentUser.getFullName(), selectedType, initialBalance, currentUser.getUserId()),
+                    accountNumber -> {
+                        showSuccess("Account created successfully!\nAccount Number: " + accountNumber);
+                        refreshAccountData();
+                    }, e -> showError("Account creation failed: " + e.getMessage()));
             }
         }
     }
@@ -679,13 +739,14 @@ public class CustomerMainFrame extends JFrame {
                 return;
             }
             
-            boolean success = authService.changePassword(oldPassword, newPassword);
-            if (success) {
-                showSuccess("Password changed successfully");
-                dialog.dispose();
-            } else {
-                showError("Failed to change password. Check your current password.");
-            }
+            tasks.run(() -> authService.changePassword(oldPassword, newPassword), success -> {
+                if (success) {
+                    showSuccess("Password changed successfully");
+                    dialog.dispose();
+                } else {
+                    showError("Failed to change password. Check your current password.");
+                }
+            }, ex -> showError("Failed to change password: " + ex.getMessage()));
         });
         
         cancelButton.addActionListener(e -> dialog.dispose());
@@ -732,6 +793,8 @@ public class CustomerMainFrame extends JFrame {
             JOptionPane.YES_NO_OPTION);
         
         if (choice == JOptionPane.YES_OPTION) {
+            ChangeFeed.getInstance().unsubscribe(changeListener);
+            tasks.cancelAll();
             authService.logout();
             dispose();
             new ModernLoginFrame().setVisible(true);
@@ -755,18 +818,22 @@ public class CustomerMainFrame extends JFrame {
         JLabel refreshIndicator = new JLabel("●");
         refreshIndicator.setForeground(Color.GREEN);
         refreshIndicator.setFont(new Font("Arial", Font.BOLD, 16));
-        refreshIndicator.setToolTipText("Auto-refresh active");
+        refreshIndicator.setToolTipText("Updates when your accounts change");
         
         // Add to menu bar
         JMenuBar menuBar = getJMenuBar();
         if (menuBar != null) {
             menuBar.add(Box.createHorizontalGlue());
-            menuBar.add(new JLabel("Auto-refresh: "));
+            menuBar.add(new JLabel("Live updates: "));
             menuBar.add(refreshIndicator);
         }
         
-        // Auto-refresh with visual feedback
-        Timer refreshTimer = new Timer(10000, e -> {
+        // Reload only when the change feed reports a write to this customer or their accounts
+        changeListener = changes -> SwingUtilities.invokeLater(() -> {
+            if (!changes.affectsUser(currentUser.getUserId())
+                    && accountNumbers.stream().noneMatch(changes::affectsAccount)) {
+                return;
+            }
             // Animate refresh indicator
             refreshIndicator.setForeground(Color.ORANGE);
             refreshData();
@@ -776,7 +843,7 @@ public class CustomerMainFrame extends JFrame {
             resetTimer.setRepeats(false);
             resetTimer.start();
         });
-        refreshTimer.start();
+        ChangeFeed.getInstance().subscribe(changeListener);
     }
     
     private void setupInteractiveFeatures() {
@@ -879,8 +946,14 @@ public class CustomerMainFrame extends JFrame {
         });
         timeTimer.start();
         
+        // Indeterminate bar, visible while any background query is running
+        progressBar.setPreferredSize(new Dimension(120, 14));
+        JPanel eastPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        eastPanel.add(progressBar);
+        eastPanel.add(timeLabel);
+        
         statusBar.add(statusLabel, BorderLayout.WEST);
-        statusBar.add(timeLabel, BorderLayout.EAST);
+        statusBar.add(eastPanel, BorderLayout.EAST);
         
         add(statusBar, BorderLayout.SOUTH);
         
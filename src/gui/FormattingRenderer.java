@@ -0,0 +1,28 @@
+package gui;
+
+import javax.swing.table.DefaultTableCellRenderer;
+import java.util.function.Function;
+
+/**
+ * Cell renderer that formats a typed model value as text. Models hold the raw
+ * value, so formatting is done only for cells that are actually painted and
+ * the same renderer instance serves every row.
+ */
+class FormattingRenderer<V> extends DefaultTableCellRenderer {
+    private final Function<V, String> format;
+    
+    FormattingRenderer(Function<V, String> format) {
+        this(format, LEADING);
+    }
+    
+    FormattingRenderer(Function<V, String> format, int alignment) {
+        this.format = format;
+        setHorizontalAlignment(alignment);
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void setValue(Object value) {
+        setText(value == null ? "" : format.apply((V) value));
+    }
+}
\ No newline at end of file
@@ -2,24 +2,45 @@ package gui;
 
 import services.AuthenticationService;
 import services.BankingService;
+import services.PostingStats;
+import services.TransferStats;
+import services.LockStats;
+import services.ExportService;
+import services.DashboardStats;
+import services.CacheStats;
+import services.ChangeFeed;
+import services.ChangeSet;
 import dao.UserDAO;
+import dao.AccountSummary;
+import dao.AccountTotals;
+import dao.CustomerSummary;
+import dao.Page;
+import dao.RowCursor;
+import dao.TransactionQuery;
+import dao.TransactionTotals;
+import database.DatabaseManager;
+import database.PoolStats;
 import models.*;
 import exceptions.*;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableCellRenderer;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
-import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class ManagerMainFrame extends JFrame {
     private AuthenticationService authService;
     private BankingService bankingService;
+    private ExportService exportService;
     private UserDAO userDAO;
     private User currentUser;
     
@@ -27,13 +48,33 @@ public class ManagerMainFrame extends JFrame {
     private JTable accountTable;
     private JTable transactionTable;
     private JTable customerTable;
-    private DefaultTableModel accountTableModel;
-    private DefaultTableModel transactionTableModel;
-    private DefaultTableModel customerTableModel;
+    private PagedTableModel<Account> accountTableModel;
+    private PagedTableModel<Transaction> transactionTableModel;
+    private PagedTableModel<User> customerTableModel;
+    
+    // All database work runs through here, off the event dispatch thread
+    private final JProgressBar progressBar = new JProgressBar();
+    private final BackgroundTasks tasks = new BackgroundTasks(progressBar);
+    private Consumer<ChangeSet> changeListener;
+    
+    // Table models keep typed values; these format them as cells are painted
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
+    private final TableCellRenderer moneyRenderer = new FormattingRenderer<Money>(money -> "₹" + money, SwingConstants.RIGHT);
+    private final TableCellRenderer dateRenderer = new FormattingRenderer<LocalDateTime>(DATE_FORMAT::format);
+    private final TableCellRenderer dateTimeRenderer = new FormattingRenderer<LocalDateTime>(DATE_TIME_FORMAT::format);
+    private final TableCellRenderer statusRenderer = new FormattingRenderer<Boolean>(active -> active ? "Active" : "Inactive");
+    
+    // The unfiltered views; refreshing one of these keeps the rows already scrolled in
+    private final PagedTableModel.PageLoader<Account> allAccounts =
+        (after, pageSize, ascending) -> bankingService.getAccountsPage(after, pageSize, ascending);
+    private final PagedTableModel.PageLoader<User> allCustomers =
+        (after, pageSize, ascending) -> userDAO.getCustomersPage(after, pageSize, ascending);
     
     public ManagerMainFrame(AuthenticationService authService) {
         this.authService = authService;
         this.bankingService = new BankingService();
+        this.exportService = new ExportService();
         this.userDAO = new UserDAO();
         this.currentUser = authService.getCurrentUser();
         
@@ -140,14 +181,17 @@ public class ManagerMainFrame extends JFrame {
         // System menu
         JMenu systemMenu = new JMenu("System");
         JMenuItem creditInterestItem = new JMenuItem("Credit Interest to All Accounts");
+        JMenuItem importPayoutItem = new JMenuItem("Import Payout File...");
         JMenuItem changePasswordItem = new JMenuItem("Change Password");
         JMenuItem logoutItem = new JMenuItem("Logout");
         
         creditInterestItem.addActionListener(e -> creditInterestToAll());
+        importPayoutItem.addActionListener(e -> importPayoutFile());
         changePasswordItem.addActionListener(e -> showChangePasswordDialog());
         logoutItem.addActionListener(e -> logout());
         
         systemMenu.add(creditInterestItem);
+        systemMenu.add(importPayoutItem);
         systemMenu.addSeparator();
         systemMenu.add(changePasswordItem);
         systemMenu.add(logoutItem);
@@ -172,13 +216,15 @@ public class ManagerMainFrame extends JFrame {
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         
         // Account table
-        String[] columnNames = {"Account Number", "Account Holder", "Type", "Balance", "Customer ID", "Status", "Created Date"};
-        accountTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        accountTableModel = new PagedTableModel<>(tasks, "accounts", List.of(
+            new PagedTableModel.Column<>("Account Number", String.class, Account::getAccountNumber),
+            new PagedTableModel.Column<>("Account Holder", String.class, Account::getAccountHolderName),
+            new PagedTableModel.Column<>("Type", String.class, Account::getAccountType),
+            new PagedTableModel.Column<>("Balance", Money.class, Account::getBalance, moneyRenderer),
+            new PagedTableModel.Column<>("Customer ID", Integer.class, Account::getCustomerId),
+            new PagedTableModel.Column<>("Status", AccountStatus.class, Account::getStatus),
+            new PagedTableModel.Column<>("Created Date", LocalDateTime.class, Account::getCreatedDate, dateRenderer)
+        ), Account::getAccountNumber, 6, allAccounts, e -> showError("Error loading account data: " + e.getMessage()));
         accountTable = new JTable(accountTableModel);
         accountTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         accountTable.setFont(new Font("Segoe UI", Font.PLAIN, 14));
@@ -191,6 +237,7 @@ public class ManagerMainFrame extends JFrame {
         
         JScrollPane scrollPane = new JScrollPane(accountTable);
         scrollPane.setBorder(BorderFactory.createLineBorder(new Color(189, 195, 199), 2));
+        accountTableModel.install(accountTable, scrollPane);
         
         // Button panel with modern styling
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 15));
@@ -229,13 +276,16 @@ public class ManagerMainFrame extends JFrame {
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         
         // Transaction table
-        String[] columnNames = {"Transaction ID", "Account", "Type", "Amount", "Balance After", "Date", "Description"};
-        transactionTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        transactionTableModel = new PagedTableModel<>(tasks, "transactions", List.of(
+            new PagedTableModel.Column<>("Transaction ID", String.class, Transaction::getTransactionId),
+            new PagedTableModel.Column<>("Account", String.class, Transaction::getAccountNumber),
+            new PagedTableModel.Column<>("Type", String.class, Transaction::getType),
+            new PagedTableModel.Column<>("Amount", Money.class, Transaction::getAmount, moneyRenderer),
+            new PagedTableModel.Column<>("Balance After", Money.class, Transaction::getBalanceAfter, moneyRenderer),
+            new PagedTableModel.Column<>("Date", LocalDateTime.class, Transaction::getTimestamp, dateTimeRenderer),
+            new PagedTableModel.Column<>("Description", String.class, Transaction::getDescription)
+        ), Transaction::getTransactionId, 5, transactionLoader(TransactionQuery.builder().build()),
+            e -> showError("Error loading transaction data: " + e.getMessage()));
         transactionTable = new JTable(transactionTableModel);
         transactionTable.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         transactionTable.setRowHeight(35);
@@ -247,6 +297,7 @@ public class ManagerMainFrame extends JFrame {
         
         JScrollPane scrollPane = new JScrollPane(transactionTable);
         scrollPane.setBorder(BorderFactory.createLineBorder(new Color(189, 195, 199), 2));
+        transactionTableModel.install(transactionTable, scrollPane);
         
         // Filter panel with modern styling
         JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 15));
@@ -262,7 +313,7 @@ public class ManagerMainFrame extends JFrame {
         
         filterHighValueButton.addActionListener(e -> filterHighValueTransactions(thresholdField));
         filterByTypeButton.addActionListener(e -> filterTransactionsByType());
-        showAllButton.addActionListener(e -> refreshTransactionData());
+        showAllButton.addActionListener(e -> showAllTransactions());
         
         JLabel thresholdLabel = new JLabel("💰 Amount Threshold:");
         thresholdLabel.setFont(new Font("Segoe UI", Font.BOLD, 15));
@@ -285,13 +336,15 @@ public class ManagerMainFrame extends JFrame {
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         
         // Customer table
-        String[] columnNames = {"User ID", "Username", "Full Name", "Email", "Status", "Created Date", "Last Login"};
-        customerTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        customerTableModel = new PagedTableModel<>(tasks, "customers", List.of(
+            new PagedTableModel.Column<>("User ID", Integer.class, User::getUserId),
+            new PagedTableModel.Column<>("Username", String.class, User::getUsername),
+            new PagedTableModel.Column<>("Full Name", String.class, User::getFullName),
+            new PagedTableModel.Column<>("Email", String.class, User::getEmail),
+            new PagedTableModel.Column<>("Status", Boolean.class, User::isActive, statusRenderer),
+            new PagedTableModel.Column<>("Created Date", LocalDateTime.class, User::getCreatedDate, dateRenderer),
+            new PagedTableModel.Column<User>("Last Login", String.class, customer -> "N/A") // not tracked yet
+        ), User::getUserId, 5, allCustomers, e -> showError("Error loading customer data: " + e.getMessage()));
         customerTable = new JTable(customerTableModel);
         customerTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         customerTable.setFont(new Font("Segoe UI", Font.PLAIN, 14));
@@ -304,6 +357,7 @@ public class ManagerMainFrame extends JFrame {
         
         JScrollPane scrollPane = new JScrollPane(customerTable);
         scrollPane.setBorder(BorderFactory.createLineBorder(new Color(189, 195, 199), 2));
+        customerTableModel.install(customerTable, scrollPane);
         
         // Button panel with modern styling
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 15));
@@ -426,73 +480,51 @@ private void loadManagerData() {
         refreshCustomerData();
     }
     
+    // Re-runs whatever each table is showing and applies only the rows that changed
     private void refreshData() {
-        refreshAccountData();
-        refreshTransactionData();
-        refreshCustomerData();
+        accountTableModel.refresh();
+        transactionTableModel.refresh();
+        customerTableModel.refresh();
     }
     
+    // Back to all accounts; the rows already scrolled in are reloaded if that is the current view
     private void refreshAccountData() {
-        try {
-            List<Account> accounts = bankingService.getAllAccounts();
-            
-            accountTableModel.setRowCount(0);
-            for (Account account : accounts) {
-                accountTableModel.addRow(new Object[]{
-                    account.getAccountNumber(),
-                    account.getAccountHolderName(),
-                    account.getAccountType(),
-                    String.format("₹%.2f", account.getBalance()),
-                    account.getCustomerId(),
-                    account.getStatus(),
-                    account.getCreatedDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy"))
-                });
-            }
-        } catch (SQLException e) {
-            showError("Error loading account data: " + e.getMessage());
-        }
+        accountTableModel.show(allAccounts, page -> { });
     }
     
+    // Re-runs the current filter from its first row
     private void refreshTransactionData() {
-        try {
-            List<Transaction> transactions = bankingService.getAllTransactions();
+        transactionTableModel.refresh();
+    }
+    
+    private void showAllTransactions() {
+        showTransactions(TransactionQuery.builder().build());
+    }
+    
+    private void showTransactions(TransactionQuery query) {
+        showTransactions(query, page -> { });
+    }
             
-            transactionTableModel.setRowCount(0);
-            for (Transaction transaction : transactions) {
-                transactionTableModel.addRow(new Object[]{
-                    transaction.getTransactionId(),
-                    transaction.getAccountNumber(),
-                    transaction.getType(),
-                    String.format("₹%.2f", transaction.getAmount()),
-                    String.format("₹%.2f", transaction.getBalanceAfter()),
-                    transaction.getTimestamp().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")),
-                    transaction.getDescription()
-                });
-            }
-        } catch (SQLException e) {
-            showError("Error loading transaction data: " + e.getMessage());
-        }
+    /**
+     * Replaces the table with the first page of the query; later pages load as
+     * the table is scrolled. The query becomes current immediately, so a
+     * refresh that fires while it loads re-runs it rather than the previous one.
+     */
+    private void showTransactions(TransactionQuery query, Consumer<Page<Transaction>> onShown) {
+        transactionTableModel.show(transactionLoader(query), onShown);
+    }
+    
+    // Pages the query in the direction chosen from the Date header
+    private PagedTableModel.PageLoader<Transaction> transactionLoader(TransactionQuery query) {
+        return (after, pageSize, ascending) -> bankingService.findTransactions(query.toBuilder()
+            .sort(ascending ? TransactionQuery.Sort.OLDEST_FIRST : TransactionQuery.Sort.NEWEST_FIRST)
+            .after(after)
+            .limit(pageSize)
+            .build());
     }
     
     private void refreshCustomerData() {
-        try {
-            List<User> customers = userDAO.getAllCustomers();
-            
-            customerTableModel.setRowCount(0);
-            for (User customer : customers) {
-                customerTableModel.addRow(new Object[]{
-                    customer.getUserId(),
-                    customer.getUsername(),
-                    customer.getFullName(),
-                    customer.getEmail(),
-                    customer.isActive() ? "Active" : "Inactive",
-                    customer.getCreatedDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")),
-                    "N/A" // Last login - would need to be tracked separately
-                });
-            }
-        } catch (SQLException e) {
-            showError("Error loading customer data: " + e.getMessage());
-        }
+        customerTableModel.show(allCustomers, page -> { });
     }
     
     private void createAccountForCustomer() {
@@ -502,44 +534,22 @@ private void loadManagerData() {
             return;
         }
         
+        int customerId;
         try {
-            int customerId = Integer.parseInt(customerIdStr.trim());
+            customerId = Integer.parseInt(customerIdStr.trim());
+        } catch (NumberFormatException e) {
+            showError("Please enter valid numbers");
+            return;
+        }
             
-            // Verify customer exists
-            Optional<User> customerOpt = userDAO.getUserById(customerId);
+        // Verify customer exists
+        tasks.run(() -> userDAO.getUserById(customerId), customerOpt -> {
             if (!customerOpt.isPresent()) {
                 showError("Customer not found with ID: " + customerId);
                 return;
             }
-            
-            User customer = customerOpt.get();
-            
-            // Get account details
-            String[] accountTypes = {"SAVINGS", "CURRENT"};
-            String selectedType = (String) JOptionPane.showInputDialog(
-                this, "Select account type for " + customer.getFullName() + ":",
-                "Account Type", JOptionPane.QUESTION_MESSAGE, null, accountTypes, accountTypes[0]);
-            
-            if (selectedType != null) {
-                String initialBalanceStr = JOptionPane.showInputDialog(this, "Enter initial balance:");
-                
-                if (initialBalanceStr != null && !initialBalanceStr.trim().isEmpty()) {
-                    double initialBalance = Double.parseDouble(initialBalanceStr.trim());
-                    
-                    String accountNumber = bankingService.createAccount(
-                        customer.getFullName(), selectedType, initialBalance, customerId);
-                    
-                    showSuccess("Account created successfully!\nAccount Number: " + accountNumber +
-                              "\nCustomer: " + customer.getFullName());
-                    refreshAccountData();
-                }
-            }
-            
-        } catch (NumberFormatException e) {
-            showError("Please enter valid numbers");
-        } catch (SQLException e) {
-            showError("Account creation failed: " + e.getMessage());
-        }
+            promptAndCreateAccount(customerId, customerOpt.get().getFullName());
+        }, e -> showError("Account creation failed: " + e.getMessage()));
     }
     
     private void createAccountForSelectedCustomer() {
@@ -549,9 +559,12 @@ private void loadManagerData() {
             return;
         }
         
-        int customerId = (Integer) customerTableModel.getValueAt(selectedRow, 0);
-        String customerName = (String) customerTableModel.getValueAt(selectedRow, 2);
+        User customer = customerTableModel.getRow(selectedRow);
         
+        promptAndCreateAccount(customer.getUserId(), customer.getFullName());
+    }
+    
+    private void promptAndCreateAccount(int customerId, String customerName) {
         // Get account details
         String[] accountTypes = {"SAVINGS", "CURRENT"};
         String selectedType = (String) JOptionPane.showInputDialog(
@@ -562,21 +575,20 @@ private void loadManagerData() {
             String initialBalanceStr = JOptionPane.showInputDialog(this, "Enter initial balance:");
             
             if (initialBalanceStr != null && !initialBalanceStr.trim().isEmpty()) {
+                Money initialBalance;
                 try {
-                    double initialBalance = Double.parseDouble(initialBalanceStr.trim());
-                    
-                    String accountNumber = bankingService.createAccount(
-                        customerName, selectedType, initialBalance, customerId);
-                    
-                    showSuccess("Account created successfully!\nAccount Number: " + accountNumber +
-                              "\nCustomer: " + customerName);
-                    refreshAccountData();
-                    
+                    initialBalance = Money.parse(initialBalanceStr.trim());
                 } catch (NumberFormatException e) {
                     showError("Please enter a valid amount");
-                } catch (SQLException e) {
-                    showError("Account creation failed: " + e.getMessage());
+                    return;
                 }
+                
+                tasks.run(() -> bankingService.createAccount(customerName, selectedType, initialBalance, customerId),
+                    accountNumber -> {
+                        showSuccess("Account created successfully!\nAccount Number: " + accountNumber +
+                                  "\nCustomer: " + customerName);
+                        refreshAccountData();
+                    }, e -> showError("Account creation failed: " + e.getMessage()));
             }
         }
     }
@@ -588,24 +600,27 @@ private void loadManagerData() {
             return;
         }
         
-        String accountNumber = (String) accountTableModel.getValueAt(selectedRow, 0);
+        String accountNumber = accountTableModel.getRow(selectedRow).getAccountNumber();
         String amountStr = JOptionPane.showInputDialog(this, "Enter deposit amount:");
         
         if (amountStr != null && !amountStr.trim().isEmpty()) {
+            Money amount;
             try {
-                double amount = Double.parseDouble(amountStr.trim());
-                String description = JOptionPane.showInputDialog(this, "Enter description:", "Manager deposit");
+                amount = Money.parse(amountStr.trim());
+            } catch (NumberFormatException e) {
+                showError("Please enter a valid amount");
+                return;
+            }
+            String description = JOptionPane.showInputDialog(this, "Enter description:", "Manager deposit");
                 
+            tasks.run(() -> {
                 bankingService.deposit(accountNumber, amount, description);
+                return null;
+            }, ignored -> {
                 showSuccess("Deposit successful!");
                 refreshAccountData();
                 refreshTransactionData();
-                
-            } catch (NumberFormatException e) {
-                showError("Please enter a valid amount");
-            } catch (AccountNotFoundException | InsufficientFundsException | SQLException e) {
-                showError("Deposit failed: " + e.getMessage());
-            }
+            }, e -> showError("Deposit failed: " + e.getMessage()));
         }
     }
     
@@ -616,24 +631,27 @@ private void loadManagerData() {
             return;
         }
         
-        String accountNumber = (String) accountTableModel.getValueAt(selectedRow, 0);
+        String accountNumber = accountTableModel.getRow(selectedRow).getAccountNumber();
         String amountStr = JOptionPane.showInputDialog(this, "Enter withdrawal amount:");
         
         if (amountStr != null && !amountStr.trim().isEmpty()) {
+            Money amount;
             try {
-                double amount = Double.parseDouble(amountStr.trim());
-                String description = JOptionPane.showInputDialog(this, "Enter description:", "Manager withdrawal");
+                amount = Money.parse(amountStr.trim());
+            } catch (NumberFormatException e) {
+                showError("Please enter a valid amount");
+                return;
+            }
+            String description = JOptionPane.showInputDialog(this, "Enter description:", "Manager withdrawal");
                 
+            tasks.run(() -> {
                 bankingService.withdraw(accountNumber, amount, description);
+                return null;
+            }, ignored -> {
                 showSuccess("Withdrawal successful!");
                 refreshAccountData();
                 refreshTransactionData();
-                
-            } catch (NumberFormatException e) {
-                showError("Please enter a valid amount");
-            } catch (AccountNotFoundException | InsufficientFundsException | SQLException e) {
-                showError("Withdrawal failed: " + e.getMessage());
-            }
+            }, e -> showError("Withdrawal failed: " + e.getMessage()));
         }
     }
     
@@ -644,30 +662,11 @@ private void loadManagerData() {
             return;
         }
         
-        String accountNumber = (String) accountTableModel.getValueAt(selectedRow, 0);
+        String accountNumber = accountTableModel.getRow(selectedRow).getAccountNumber();
         
-        try {
-            List<Transaction> transactions = bankingService.getTransactionHistory(accountNumber);
-            
-            // Switch to transactions tab and filter by account
-            tabbedPane.setSelectedIndex(1);
-            
-            transactionTableModel.setRowCount(0);
-            for (Transaction transaction : transactions) {
-                transactionTableModel.addRow(new Object[]{
-                    transaction.getTransactionId(),
-                    transaction.getAccountNumber(),
-                    transaction.getType(),
-                    String.format("₹%.2f", transaction.getAmount()),
-                    String.format("₹%.2f", transaction.getBalanceAfter()),
-                    transaction.getTimestamp().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")),
-                    transaction.getDescription()
-                });
-            }
-            
-        } catch (SQLException e) {
-            showError("Error loading transactions: " + e.getMessage());
-        }
+        // Switch to transactions tab and filter by account
+        tabbedPane.setSelectedIndex(1);
+        showTransactions(TransactionQuery.builder().account(accountNumber).build());
     }
     
     private void viewCustomerAccounts() {
@@ -677,33 +676,21 @@ private void loadManagerData() {
             return;
         }
         
-        int customerId = (Integer) customerTableModel.getValueAt(selectedRow, 0);
-        String customerName = (String) customerTableModel.getValueAt(selectedRow, 2);
-        
-        try {
-            List<Account> accounts = bankingService.getAccountsByCustomer(customerId);
-            
+        int customerId = customerTableModel.getRow(selectedRow).getUserId();
+        String customerName = customerTableModel.getRow(selectedRow).getFullName();
+        
+        // A customer has few accounts: one page, sorted here
+        accountTableModel.show((after, pageSize, ascending) -> {
+            List<Account> accounts = new ArrayList<>(bankingService.getAccountsByCustomer(customerId));
+            Comparator<Account> byCreated = Comparator.comparing(Account::getCreatedDate)
+                .thenComparing(Account::getAccountNumber);
+            accounts.sort(ascending ? byCreated : byCreated.reversed());
+            return new Page<>(accounts, null);
+        }, page -> {
             // Switch to accounts tab and filter by customer
             tabbedPane.setSelectedIndex(0);
-            
-            accountTableModel.setRowCount(0);
-            for (Account account : accounts) {
-                accountTableModel.addRow(new Object[]{
-                    account.getAccountNumber(),
-                    account.getAccountHolderName(),
-                    account.getAccountType(),
-                    String.format("₹%.2f", account.getBalance()),
-                    account.getCustomerId(),
-                    account.getStatus(),
-                    account.getCreatedDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy"))
-                });
-            }
-            
             showInfo("Showing accounts for customer: " + customerName);
-            
-        } catch (SQLException e) {
-            showError("Error loading customer accounts: " + e.getMessage());
-        }
+        });
     }
     
     private void closeAccount() {
@@ -713,25 +700,22 @@ private void loadManagerData() {
             return;
         }
         
-        String accountNumber = (String) accountTableModel.getValueAt(selectedRow, 0);
-        String accountHolder = (String) accountTableModel.getValueAt(selectedRow, 1);
+        String accountNumber = accountTableModel.getRow(selectedRow).getAccountNumber();
+        String accountHolder = accountTableModel.getRow(selectedRow).getAccountHolderName();
         
         int choice = JOptionPane.showConfirmDialog(this,
             "Are you sure you want to close account " + accountNumber + " for " + accountHolder + "?",
             "Close Account", JOptionPane.YES_NO_OPTION);
         
         if (choice == JOptionPane.YES_OPTION) {
-            try {
-                boolean success = bankingService.closeAccount(accountNumber);
+            tasks.run(() -> bankingService.closeAccount(accountNumber), success -> {
                 if (success) {
                     showSuccess("Account closed successfully");
                     refreshAccountData();
                 } else {
                     showError("Failed to close account");
                 }
-            } catch (SQLException | AccountNotFoundException e) {
-                showError("Error closing account: " + e.getMessage());
-            }
+            }, e -> showError("Error closing account: " + e.getMessage()));
         }
     }
     
@@ -746,52 +730,38 @@ private void loadManagerData() {
             return;
         }
         
-        int customerId = (Integer) customerTableModel.getValueAt(selectedRow, 0);
-        String customerName = (String) customerTableModel.getValueAt(selectedRow, 2);
+        int customerId = customerTableModel.getRow(selectedRow).getUserId();
+        String customerName = customerTableModel.getRow(selectedRow).getFullName();
         
-        try {
+        tasks.run(() -> {
             Optional<User> userOpt = userDAO.getUserById(customerId);
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                user.setActive(activate);
-                
-                boolean success = userDAO.updateUser(user);
-                if (success) {
-                    showSuccess("Customer " + (activate ? "activated" : "deactivated") + " successfully");
-                    refreshCustomerData();
-                } else {
-                    showError("Failed to update customer status");
-                }
+            if (userOpt.isEmpty()) {
+                return Optional.<Boolean>empty();
             }
-        } catch (SQLException e) {
-            showError("Error updating customer status: " + e.getMessage());
-        }
+            User user = userOpt.get();
+            user.setActive(activate);
+            return Optional.of(userDAO.updateUser(user));
+        }, updated -> {
+            if (updated.isEmpty()) {
+                return; // customer no longer exists
+            }
+            if (updated.get()) {
+                showSuccess("Customer " + (activate ? "activated" : "deactivated") + " successfully");
+                refreshCustomerData();
+            } else {
+                showError("Failed to update customer status");
+            }
+        }, e -> showError("Error updating customer status: " + e.getMessage()));
     }
     
     private void filterHighValueTransactions(JTextField thresholdField) {
         try {
-            double threshold = Double.parseDouble(thresholdField.getText().trim());
-            List<Transaction> highValueTransactions = bankingService.getHighValueTransactions(threshold);
-            
-            transactionTableModel.setRowCount(0);
-            for (Transaction transaction : highValueTransactions) {
-                transactionTableModel.addRow(new Object[]{
-                    transaction.getTransactionId(),
-                    transaction.getAccountNumber(),
-                    transaction.getType(),
-                    String.format("₹%.2f", transaction.getAmount()),
-                    String.format("₹%.2f", transaction.getBalanceAfter()),
-                    transaction.getTimestamp().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")),
-                    transaction.getDescription()
-                });
-            }
-            
-            showInfo("Showing " + highValueTransactions.size() + " transactions above ₹" + threshold);
+            Money threshold = Money.parse(thresholdField.getText().trim());
+            showTransactions(TransactionQuery.builder().amountAbove(threshold).build(),
+                page -> showInfo("Showing " + describePage(page) + " transactions above ₹" + threshold));
             
         } catch (NumberFormatException e) {
             showError("Please enter a valid threshold amount");
-        } catch (SQLException e) {
-            showError("Error filtering transactions: " + e.getMessage());
         }
     }
     
@@ -802,101 +772,114 @@ private void loadManagerData() {
             JOptionPane.QUESTION_MESSAGE, null, types, types[0]);
         
         if (selectedType != null) {
-            try {
-                List<Transaction> allTransactions = bankingService.getAllTransactions();
-                List<Transaction> filteredTransactions = bankingService.filterTransactionsByType(allTransactions, selectedType);
-                
-                transactionTableModel.setRowCount(0);
-                for (Transaction transaction : filteredTransactions) {
-                    transactionTableModel.addRow(new Object[]{
-                        transaction.getTransactionId(),
-                        transaction.getAccountNumber(),
-                        transaction.getType(),
-                        String.format("₹%.2f", transaction.getAmount()),
-                        String.format("₹%.2f", transaction.getBalanceAfter()),
-                        transaction.getTimestamp().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm")),
-                        transaction.getDescription()
-                    });
-                }
-                
-                showInfo("Showing " + filteredTransactions.size() + " " + selectedType + " transactions");
-                
-            } catch (SQLException e) {
-                showError("Error filtering transactions: " + e.getMessage());
-            }
+            showTransactions(TransactionQuery.builder().type(selectedType).build(),
+                page -> showInfo("Showing " + describePage(page) + " " + selectedType + " transactions"));
         }
     }
     
+    private String describePage(Page<?> page) {
+        return page.hasMore() ? "the latest " + page.size() : String.valueOf(page.size());
+    }
+    
     private void creditInterestToAll() {
         int choice = JOptionPane.showConfirmDialog(this,
             "This will credit interest to all active accounts. Continue?",
             "Credit Interest", JOptionPane.YES_NO_OPTION);
         
         if (choice == JOptionPane.YES_OPTION) {
-            try {
-                bankingService.creditInterest();
-                showSuccess("Interest credited to all eligible accounts");
+            tasks.run(bankingService::creditInterest, result -> {
+                showSuccess(String.format("Interest credited to %d of %d accounts\nTotal interest: ₹%s%s",
+                    result.getAccountsCredited(), result.getAccountsScanned(), result.getTotalInterest(),
+                    result.isResumed() ? "\n(Resumed an interrupted run)" : ""));
                 refreshAccountData();
                 refreshTransactionData();
-            } catch (SQLException e) {
-                showError("Error crediting interest: " + e.getMessage());
-            }
+            }, e -> showError("Error crediting interest: " + e.getMessage()));
         }
+    }
+    
+    private void importPayoutFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Import Payout File (CSV or fixed width)");
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.io.File file = chooser.getSelectedFile();
+        
+        tasks.run(() -> bankingService.importPayoutFile(file.toPath()), result -> {
+            if (result.isAlreadyCompleted()) {
+                showInfo("This file was already posted (run " + result.getRunId() + ")");
+                return;
+            }
+            showSuccess(String.format("Credited %d lines, total ₹%s\nRejected %d lines%s%s",
+                result.getCredited(), result.getTotalCredited(), result.getRejected(),
+                result.getRejected() > 0 ? " (see " + file.getName() + ".rejects)" : "",
+                result.isResumed() ? "\n(Resumed an interrupted import)" : ""));
+            refreshAccountData();
+            refreshTransactionData();
+        }, e -> showError("Payout import failed: " + e.getMessage()));
     }    
 
     private void generateBankSummary(JTextArea reportArea) {
-        try {
-            List<Account> accounts = bankingService.getAllAccounts();
-            List<Transaction> transactions = bankingService.getAllTransactions();
-            List<User> customers = userDAO.getAllCustomers();
-            
-            double totalBalance = bankingService.calculateTotalBalance(accounts);
-            List<Account> activeAccounts = bankingService.getActiveAccounts(accounts);
-            
-            long savingsCount = accounts.stream().filter(acc -> acc.getAccountType().equals("SAVINGS")).count();
-            long currentCount = accounts.stream().filter(acc -> acc.getAccountType().equals("CURRENT")).count();
+        tasks.submit("report", () -> {
+            // Every figure comes from a grouped or counting query; no rows are loaded
+            long accountCount = 0;
+            long activeCount = 0;
+            long savingsCount = 0;
+            long currentCount = 0;
+            Money totalBalance = Money.ZERO;
+            for (AccountTotals totals : bankingService.getAccountTotals()) {
+                accountCount += totals.getCount();
+                if (totals.getStatus() == AccountStatus.ACTIVE) {
+                    activeCount += totals.getCount();
+                }
+                if (totals.getAccountType().equals("SAVINGS")) {
+                    savingsCount += totals.getCount();
+                } else if (totals.getAccountType().equals("CURRENT")) {
+                    currentCount += totals.getCount();
+                }
+                totalBalance = totalBalance.plus(totals.getBalance());
+            }
             
             StringBuilder report = new StringBuilder();
             report.append("=== BANK SUMMARY REPORT ===\n");
             report.append("Generated on: ").append(java.time.LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"))).append("\n\n");
             
             report.append("CUSTOMER STATISTICS:\n");
-            report.append("Total Customers: ").append(customers.size()).append("\n");
-            report.append("Active Customers: ").append(customers.stream().filter(User::isActive).count()).append("\n\n");
+            report.append("Total Customers: ").append(userDAO.countCustomers()).append("\n");
+            report.append("Active Customers: ").append(userDAO.countActiveCustomers()).append("\n\n");
             
             report.append("ACCOUNT STATISTICS:\n");
-            report.append("Total Accounts: ").append(accounts.size()).append("\n");
-            report.append("Active Accounts: ").append(activeAccounts.size()).append("\n");
+            report.append("Total Accounts: ").append(accountCount).append("\n");
+            report.append("Active Accounts: ").append(activeCount).append("\n");
             report.append("Savings Accounts: ").append(savingsCount).append("\n");
             report.append("Current Accounts: ").append(currentCount).append("\n");
-            report.append("Total Balance: ₹").append(String.format("%.2f", totalBalance)).append("\n\n");
-            
-            report.append("TRANSACTION STATISTICS:\n");
-            report.append("Total Transactions: ").append(transactions.size()).append("\n");
-            
-            double totalDeposits = transactions.stream()
-                .filter(t -> t.getType().equals("DEPOSIT") || t.getType().equals("TRANSFER_IN"))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-            
-            double totalWithdrawals = transactions.stream()
-                .filter(t -> t.getType().equals("WITHDRAWAL") || t.getType().equals("TRANSFER_OUT"))
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+            report.append("Total Balance: ₹").append(totalBalance).append("\n\n");
             
-            report.append("Total Deposits: ₹").append(String.format("%.2f", totalDeposits)).append("\n");
-            report.append("Total Withdrawals: ₹").append(String.format("%.2f", totalWithdrawals)).append("\n");
+            long transactionCount = 0;
+            Money totalDeposits = Money.ZERO;
+            Money totalWithdrawals = Money.ZERO;
+            for (TransactionTotals totals : bankingService.getTransactionTotals()) {
+                String type = totals.getTransactionType();
+                transactionCount += totals.getCount();
+                if (type.equals("DEPOSIT") || type.equals("TRANSFER_IN")) {
+                    totalDeposits = totalDeposits.plus(totals.getAmount());
+                } else if (type.equals("WITHDRAWAL") || type.equals("TRANSFER_OUT")) {
+                    totalWithdrawals = totalWithdrawals.plus(totals.getAmount());
+                }
+            }
             
-            reportArea.setText(report.toString());
+            report.append("TRANSACTION STATISTICS:\n");
+            report.append("Total Transactions: ").append(transactionCount).append("\n");
+            report.append("Total Deposits: ₹").append(totalDeposits).append("\n");
+            report.append("Total Withdrawals: ₹").append(totalWithdrawals).append("\n");
             
-        } catch (SQLException e) {
-            showError("Error generating report: " + e.getMessage());
-        }
+            return report.toString();
+        }, reportArea::setText, e -> showError("Error generating report: " + e.getMessage()));
     }
     
     private void generateHighValueReport(JTextArea reportArea) {
-        try {
-            List<Transaction> highValueTransactions = bankingService.getHighValueTransactions(10000);
+        tasks.submit("report", () -> {
+            List<Transaction> highValueTransactions = bankingService.getHighValueTransactions(Money.ofRupees(10000));
             
             StringBuilder report = new StringBuilder();
             report.append("=== HIGH VALUE TRANSACTIONS REPORT (>₹10,000) ===\n");
@@ -911,118 +894,122 @@ private void loadManagerData() {
                     report.append("Transaction ID: ").append(transaction.getTransactionId()).append("\n");
                     report.append("Account: ").append(transaction.getAccountNumber()).append("\n");
                     report.append("Type: ").append(transaction.getType()).append("\n");
-                    report.append("Amount: ₹").append(String.format("%.2f", transaction.getAmount())).append("\n");
+                    report.append("Amount: ₹").append(transaction.getAmount()).append("\n");
                     report.append("Date: ").append(transaction.getTimestamp().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"))).append("\n");
                     report.append("Description: ").append(transaction.getDescription()).append("\n");
                     report.append("---\n");
                 }
             }
             
-            reportArea.setText(report.toString());
-            
-        } catch (SQLException e) {
-            showError("Error generating report: " + e.getMessage());
-        }
+            return report.toString();
+        }, reportArea::setText, e -> showError("Error generating report: " + e.getMessage()));
     }
     
     private void generateCustomerReport(JTextArea reportArea) {
-        try {
-            List<User> customers = userDAO.getAllCustomers();
-            
+        tasks.submit("report", () -> {
             StringBuilder report = new StringBuilder();
             report.append("=== CUSTOMER REPORT ===\n");
             report.append("Generated on: ").append(java.time.LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"))).append("\n\n");
             
-            for (User customer : customers) {
-                List<Account> customerAccounts = bankingService.getAccountsByCustomer(customer.getUserId());
-                double totalBalance = bankingService.calculateTotalBalance(customerAccounts);
+            try (RowCursor<CustomerSummary> cursor = bankingService.openCustomerSummaryCursor()) {
+                while (cursor.next()) {
+                    CustomerSummary customer = cursor.get();
                 
-                report.append("Customer ID: ").append(customer.getUserId()).append("\n");
-                report.append("Name: ").append(customer.getFullName()).append("\n");
-                report.append("Username: ").append(customer.getUsername()).append("\n");
-                report.append("Email: ").append(customer.getEmail()).append("\n");
-                report.append("Status: ").append(customer.isActive() ? "Active" : "Inactive").append("\n");
-                report.append("Total Accounts: ").append(customerAccounts.size()).append("\n");
-                report.append("Total Balance: ₹").append(String.format("%.2f", totalBalance)).append("\n");
-                report.append("---\n");
+                    report.append("Customer ID: ").append(customer.getUserId()).append("\n");
+                    report.append("Name: ").append(customer.getFullName()).append("\n");
+                    report.append("Username: ").append(customer.getUsername()).append("\n");
+                    report.append("Email: ").append(customer.getEmail()).append("\n");
+                    report.append("Status: ").append(customer.isActive() ? "Active" : "Inactive").append("\n");
+                    report.append("Total Accounts: ").append(customer.getTotalAccounts()).append("\n");
+                    report.append("Total Balance: ₹").append(customer.getTotalBalance()).append("\n");
+                    report.append("---\n");
+                }
             }
             
-            reportArea.setText(report.toString());
-            
-        } catch (SQLException e) {
-            showError("Error generating report: " + e.getMessage());
-        }
+            return report.toString();
+        }, reportArea::setText, e -> showError("Error generating report: " + e.getMessage()));
     }
     
     private void generateAccountReport(JTextArea reportArea) {
-        try {
-            List<Account> accounts = bankingService.getAllAccounts();
-            
+        tasks.submit("report", () -> {
             StringBuilder report = new StringBuilder();
             report.append("=== DETAILED ACCOUNT REPORT ===\n");
             report.append("Generated on: ").append(java.time.LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"))).append("\n\n");
             
-            for (Account account : accounts) {
-                List<Transaction> accountTransactions = bankingService.getTransactionHistory(account.getAccountNumber());
+            try (RowCursor<AccountSummary> cursor = bankingService.openAccountSummaryCursor()) {
+                while (cursor.next()) {
+                    AccountSummary summary = cursor.get();
+                    Account account = summary.getAccount();
                 
-                report.append("Account Number: ").append(account.getAccountNumber()).append("\n");
-                report.append("Account Holder: ").append(account.getAccountHolderName()).append("\n");
-                report.append("Account Type: ").append(account.getAccountType()).append("\n");
-                report.append("Current Balance: ₹").append(String.format("%.2f", account.getBalance())).append("\n");
-                report.append("Status: ").append(account.getStatus()).append("\n");
-                report.append("Customer ID: ").append(account.getCustomerId()).append("\n");
-                report.append("Created Date: ").append(account.getCreatedDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"))).append("\n");
-                report.append("Total Transactions: ").append(accountTransactions.size()).append("\n");
+                    report.append("Account Number: ").append(account.getAccountNumber()).append("\n");
+                    report.append("Account Holder: ").append(account.getAccountHolderName()).append("\n");
+                    report.append("Account Type: ").append(account.getAccountType()).append("\n");
+                    report.append("Current Balance: ₹").append(account.getBalance()).append("\n");
+                    report.append("Status: ").append(account.getStatus()).append("\n");
+                    report.append("Customer ID: ").append(account.getCustomerId()).append("\n");
+                    report.append("Created Date: ").append(account.getCreatedDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"))).append("\n");
+                    report.append("Total Transactions: ").append(summary.getTransactionCount()).append("\n");
+                    if (summary.getLastTransaction() != null) {
+                        report.append("Last Transaction: ").append(summary.getLastTransaction().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"))).append("\n");
+                    }
                 
-                double monthlyInterest = account.calculateInterest();
-                report.append("Monthly Interest: ₹").append(String.format("%.2f", monthlyInterest)).append("\n");
+                    Money monthlyInterest = account.calculateInterest();
+                    report.append("Monthly Interest: ₹").append(monthlyInterest).append("\n");
                 
-                report.append("---\n");
+                    report.append("---\n");
+                }
             }
             
-            reportArea.setText(report.toString());
-            
-        } catch (SQLException e) {
-            showError("Error generating report: " + e.getMessage());
-        }
+            return report.toString();
+        }, reportArea::setText, e -> showError("Error generating report: " + e.getMessage()));
     }
     
     private void generateTransactionReport(JTextArea reportArea) {
-        try {
-            List<Transaction> transactions = bankingService.getAllTransactions();
-            
+        tasks.submit("report", () -> {
             StringBuilder report = new StringBuilder();
             report.append("=== TRANSACTION SUMMARY REPORT ===\n");
             report.append("Generated on: ").append(java.time.LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"))).append("\n\n");
             
-            // Group transactions by type using Java 8 Streams
-            java.util.Map<String, java.util.List<Transaction>> transactionsByType = transactions.stream()
-                .collect(java.util.stream.Collectors.groupingBy(Transaction::getType));
+            // One grouped query, in type order
+            for (TransactionTotals totals : bankingService.getTransactionTotals()) {
+                long count = totals.getCount();
+                Money totalAmount = totals.getAmount();
             
-            for (java.util.Map.Entry<String, java.util.List<Transaction>> entry : transactionsByType.entrySet()) {
-                String type = entry.getKey();
-                java.util.List<Transaction> typeTransactions = entry.getValue();
-                
-                double totalAmount = typeTransactions.stream()
-                    .mapToDouble(Transaction::getAmount)
-                    .sum();
-                
-                report.append("Transaction Type: ").append(type).append("\n");
-                report.append("Count: ").append(typeTransactions.size()).append("\n");
-                report.append("Total Amount: ₹").append(String.format("%.2f", totalAmount)).append("\n");
-                report.append("Average Amount: ₹").append(String.format("%.2f", totalAmount / typeTransactions.size())).append("\n");
+                report.append("Transaction Type: ").append(totals.getTransactionType()).append("\n");
+                report.append("Count: ").append(count).append("\n");
+                report.append("Total Amount: ₹").append(totalAmount).append("\n");
+                report.append("Average Amount: ₹").append(totalAmount.dividedBy(count)).append("\n");
                 report.append("---\n");
             }
             
-            reportArea.setText(report.toString());
-            
-        } catch (SQLException e) {
-            showError("Error generating report: " + e.getMessage());
-        }
+            return report.toString();
+        }, reportArea::setText, e -> showError("Error generating report: " + e.getMessage()));
     }
     
     private void exportReports() {
-        showInfo("Report export functionality will be implemented in the next version.");
+        String[] options = {"Transactions", "Accounts"};
+        int choice = JOptionPane.showOptionDialog(this, "Export which data to CSV?", "Export",
+            JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+        if (choice < 0) {
+            return;
+        }
+        boolean transactions = choice == 0;
+        
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new java.io.File((transactions ? "transactions" : "accounts") + ".csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.io.File file = chooser.getSelectedFile();
+        
+        tasks.run(() -> {
+            try (java.io.Writer out = java.nio.file.Files.newBufferedWriter(file.toPath())) {
+                return transactions
+                    ? exportService.exportTransactions(out, null, null)
+                    : exportService.exportAccounts(out);
+            }
+        }, rows -> showSuccess("Exported " + rows + " rows to " + file.getAbsolutePath()),
+           e -> showError("Export failed: " + e.getMessage()));
     }
     
     private void backupDatabase() {
@@ -1030,24 +1017,77 @@ private void loadManagerData() {
     }
     
     private void showSystemStatistics() {
-        try {
-            List<Account> accounts = bankingService.getAllAccounts();
-            List<Transaction> transactions = bankingService.getAllTransactions();
-            List<User> customers = userDAO.getAllCustomers();
+        DashboardStats dashboard = bankingService.getDashboardStats();
             
-            String stats = "System Statistics:\n\n" +
-                          "Total Customers: " + customers.size() + "\n" +
-                          "Total Accounts: " + accounts.size() + "\n" +
-                          "Total Transactions: " + transactions.size() + "\n" +
-                          "Total Bank Balance: ₹" + String.format("%.2f", bankingService.calculateTotalBalance(accounts)) + "\n" +
-                          "Active Accounts: " + bankingService.getActiveAccounts(accounts).size() + "\n" +
-                          "System Uptime: " + getSystemUptime();
+        String stats = "System Statistics:\n\n" +
+                      "Total Customers: " + dashboard.getTotalCustomers() + "\n" +
+                      "Total Accounts: " + dashboard.getTotalAccounts() + "\n" +
+                      "Total Transactions: " + dashboard.getTotalTransactions() + "\n" +
+                      "Total Bank Balance: ₹" + dashboard.getTotalBalance() + "\n" +
+                      "Active Accounts: " + dashboard.getActiveAccounts() + "\n" +
+                      "System Uptime: " + getSystemUptime() + "\n\n" +
+                      "Dashboard Counters:\n" + formatDashboardStats(dashboard) + "\n\n" +
+                      "Connection Pool:\n" + formatPoolStats(DatabaseManager.getPoolStats()) + "\n\n" +
+                      "Transfers:\n" + formatTransferStats(bankingService.getTransferStats()) + "\n\n" +
+                      "Posting Pipeline:\n" + formatPostingStats(bankingService.getPostingStats()) + "\n\n" +
+                      "Account Locks:\n" + formatLockStats(bankingService.getLockStats()) + "\n\n" +
+                      "Account Cache:\n" + formatCacheStats(bankingService.getAccountCacheStats()) + "\n\n" +
+                      "Transaction History Cache:\n" + formatCacheStats(bankingService.getHistoryCacheStats());
             
-            JOptionPane.showMessageDialog(this, stats, "System Statistics", JOptionPane.INFORMATION_MESSAGE);
+        JOptionPane.showMessageDialog(this, stats, "System Statistics", JOptionPane.INFORMATION_MESSAGE);
+    }
             
-        } catch (SQLException e) {
-            showError("Error loading system statistics: " + e.getMessage());
-        }
+    private String formatDashboardStats(DashboardStats stats) {
+        String lastReconciled = stats.isReconciled()
+            ? ((System.currentTimeMillis() - stats.getLastReconciledMillis()) / 1000) + "s ago"
+            : "pending";
+        return String.format("Balance by Type: %s\n" +
+                           "Transactions by Type: %s\n" +
+                           "Last Reconciled: %s | Reconciliations: %d | Drift Corrections: %d",
+                           stats.getBalanceByAccountType(), stats.getTransactionsByType(),
+                           lastReconciled, stats.getReconciliations(), stats.getDriftCorrections());
+    }
+    
+    private String formatPoolStats(PoolStats stats) {
+        return String.format("Active: %d / %d | Idle: %d | Waiting: %d\n" +
+                           "Borrowed: %d | Avg Wait: %d µs | Timeouts: %d\n" +
+                           "Created: %d | Validation Failures: %d | Leaks: %d",
+                           stats.getActiveConnections(), stats.getMaxConnections(), stats.getIdleConnections(),
+                           stats.getWaitingThreads(), stats.getTotalBorrowed(), stats.getAverageWaitMicros(),
+                           stats.getBorrowTimeouts(), stats.getTotalCreated(), stats.getValidationFailures(),
+                           stats.getLeaksDetected());
+    }
+    
+    private String formatTransferStats(TransferStats stats) {
+        return String.format("Completed: %d | Attempts: %d | Retries: %d\n" +
+                           "Deadlocks: %d | Lock Wait Timeouts: %d | Gave Up: %d",
+                           stats.getCompleted(), stats.getAttempts(), stats.getRetries(),
+                           stats.getDeadlocks(), stats.getLockWaitTimeouts(), stats.getRetriesExhausted());
+    }
+    
+    private String formatPostingStats(PostingStats stats) {
+        return String.format("Queued: %d | Deepest Shard: %d / %d | Rejected: %d\n" +
+                           "Completed: %d | Failed: %d | Commits: %d (%.1f postings each)\n" +
+                           "Queue Wait p50/p99: %d / %d µs | Latency p50/p99: %d / %d µs",
+                           stats.getQueued(), stats.getMaxShardDepth(), stats.getQueueCapacity(), stats.getRejected(),
+                           stats.getCompleted(), stats.getFailed(), stats.getCommits(), stats.getPostingsPerCommit(),
+                           stats.getQueueWait().getP50Micros(), stats.getQueueWait().getP99Micros(),
+                           stats.getLatency().getP50Micros(), stats.getLatency().getP99Micros());
+    }
+    
+    private String formatLockStats(LockStats stats) {
+        return String.format("Acquired: %d | Contended: %d | Timeouts: %d\n" +
+                           "Avg Wait: %d µs | Max Wait: %d µs",
+                           stats.getAcquisitions(), stats.getContended(), stats.getTimeouts(),
+                           stats.getAverageWaitMicros(), stats.getMaxWaitMicros());
+    }
+    
+    private String formatCacheStats(CacheStats stats) {
+        return String.format("Size: %d / %d | Hit Rate: %.1f%% (%d hits, %d misses)\n" +
+                           "Evictions: %d | Expirations: %d | Discarded Loads: %d",
+                           stats.getSize(), stats.getMaxSize(), stats.getHitRate() * 100,
+                           stats.getHits(), stats.getMisses(), stats.getEvictions(),
+                           stats.getExpirations(), stats.getDiscardedLoads());
     }
     
     private String getSystemUptime() {
@@ -1121,13 +1161,14 @@ private void loadManagerData() {
                 return;
             }
             
-            boolean success = authService.changePassword(oldPassword, newPassword);
-            if (success) {
-                showSuccess("Password changed successfully");
-                dialog.dispose();
-            } else {
-                showError("Failed to change password. Check your current password.");
-            }
+            tasks.run(() -> authService.changePassword(oldPassword, newPassword), success -> {
+                if (success) {
+                    showSuccess("Password changed successfully");
+                    dialog.dispose();
+                } else {
+                    showError("Failed to change password. Check your current password.");
+                }
+            }, ex -> showError("Failed to change password: " + ex.getMessage()));
         });
         
         cancelButton.addActionListener(e -> dialog.dispose());
@@ -1165,6 +1206,8 @@ private void loadManagerData() {
             JOptionPane.YES_NO_OPTION);
         
         if (choice == JOptionPane.YES_OPTION) {
+            ChangeFeed.getInstance().unsubscribe(changeListener);
+            tasks.cancelAll();
             authService.logout();
             dispose();
             new ModernLoginFrame().setVisible(true);
@@ -1188,7 +1231,7 @@ private void loadManagerData() {
         JLabel refreshIndicator = new JLabel("●");
         refreshIndicator.setForeground(Color.GREEN);
         refreshIndicator.setFont(new Font("Arial", Font.BOLD, 16));
-        refreshIndicator.setToolTipText("Auto-refresh every 15 seconds");
+        refreshIndicator.setToolTipText("Updates when accounts or customers change");
         
         // Add to menu bar
         JMenuBar menuBar = getJMenuBar();
@@ -1198,18 +1241,25 @@ private void loadManagerData() {
             menuBar.add(refreshIndicator);
         }
         
-        // Auto-refresh with visual feedback
-        Timer refreshTimer = new Timer(15000, e -> {
+        // Reload only the tables whose entities the change feed reports as changed
+        changeListener = changes -> SwingUtilities.invokeLater(() -> {
             // Animate refresh indicator
             refreshIndicator.setForeground(Color.ORANGE);
-            refreshData();
+            if (changes.hasAccountChanges()) {
+                // Postings change balances and add ledger rows together
+                accountTableModel.refresh();
+                transactionTableModel.refresh();
+            }
+            if (changes.hasUserChanges()) {
+                customerTableModel.refresh();
+            }
             
             // Reset indicator color
             Timer resetTimer = new Timer(1000, evt -> refreshIndicator.setForeground(Color.GREEN));
             resetTimer.setRepeats(false);
             resetTimer.start();
         });
-        refreshTimer.start();
+        ChangeFeed.getInstance().subscribe(changeListener);
     }
     
     private void setupInteractiveFeatures() {
@@ -1353,12 +1403,10 @@ private void loadManagerData() {
         // Update stats and time
         Timer updateTimer = new Timer(5000, e -> {
             try {
-                List<Account> accounts = bankingService.getAllAccounts();
-                List<User> customers = userDAO.getAllCustomers();
-                double totalBalance = bankingService.calculateTotalBalance(accounts);
+                DashboardStats stats = bankingService.getDashboardStats();
                 
-                statsLabel.setText(String.format("Accounts: %d | Customers: %d | Total: ₹%.0f", 
-                    accounts.size(), customers.size(), totalBalance));
+                statsLabel.setText(String.format("Accounts: %d | Customers: %d | Total: ₹%d", 
+                    stats.getTotalAccounts(), stats.getTotalCustomers(), stats.getTotalBalance().roundedRupees()));
                 
                 timeLabel.setText(java.time.LocalTime.now().format(
                     java.time.format.DateTimeFormatter.ofPattern("HH:mm:ss")));
@@ -1368,9 +1416,15 @@ private void loadManagerData() {
         });
         updateTimer.start();
         
+        // Indeterminate bar, visible while any background query is running
+        progressBar.setPreferredSize(new Dimension(120, 14));
+        JPanel eastPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        eastPanel.add(progressBar);
+        eastPanel.add(timeLabel);
+        
         statusBar.add(statusLabel, BorderLayout.WEST);
         statusBar.add(statsLabel, BorderLayout.CENTER);
-        statusBar.add(timeLabel, BorderLayout.EAST);
+        statusBar.add(eastPanel, BorderLayout.EAST);
         
         add(statusBar, BorderLayout.SOUTH);
         
@@ -1442,15 +1496,12 @@ private void loadManagerData() {
     private void updateDashboardStats(JPanel totalAccountsCard, JPanel totalCustomersCard, 
                                     JPanel totalBalanceCard, JPanel activeAccountsCard) {
         try {
-            List<Account> accounts = bankingService.getAllAccounts();
-            List<User> customers = userDAO.getAllCustomers();
-            double totalBalance = bankingService.calculateTotalBalance(accounts);
-            List<Account> activeAccounts = bankingService.getActiveAccounts(accounts);
+            DashboardStats stats = bankingService.getDashboardStats();
             
-            ((JLabel) totalAccountsCard.getComponent(1)).setText(String.valueOf(accounts.size()));
-            ((JLabel) totalCustomersCard.getComponent(1)).setText(String.valueOf(customers.size()));
-            ((JLabel) totalBalanceCard.getComponent(1)).setText("₹" + String.format("%.0f", totalBalance));
-            ((JLabel) activeAccountsCard.getComponent(1)).setText(String.valueOf(activeAccounts.size()));
+            ((JLabel) totalAccountsCard.getComponent(1)).setText(String.valueOf(stats.getTotalAccounts()));
+            ((JLabel) totalCustomersCard.getComponent(1)).setText(String.valueOf(stats.getTotalCustomers()));
+            ((JLabel) totalBalanceCard.getComponent(1)).setText("₹" + stats.getTotalBalance().roundedRupees());
+            ((JLabel) activeAccountsCard.getComponent(1)).setText(String.valueOf(stats.getActiveAccounts()));
             
         } catch (Exception e) {
             System.err.println("Error updating dashboard stats: " + e.getMessage());
@@ -0,0 +1,322 @@
+package gui;
+
+import dao.Page;
+import dao.PageCursor;
+import database.DatabaseConfig;
+
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Table model over a keyset-paged query that fetches rows as they scroll
+ * into view.
+ *
+ * Rows are the loaded objects themselves; columns pull typed values out of
+ * them and leave display formatting to their renderers. Only the first page
+ * is loaded up front. Once installed, scrolling to within PREFETCH_ROWS of the
+ * last loaded row fetches the next page in the background. A loaded prefix
+ * cannot be re-sorted locally, so clicking the header of the sort column
+ * flips its direction and reloads from the database.
+ *
+ * Reloading the view already on screen is applied as a diff keyed on each
+ * row's identity: only rows that appeared, disappeared or changed value fire
+ * events, so selection and scroll position survive and repaint scales with
+ * what changed. Switching to another view or sort replaces every row. Call
+ * every method from the EDT.
+ */
+class PagedTableModel<T> extends AbstractTableModel {
+    private static final int PREFETCH_ROWS = 50;
+    
+    /**
+     * Fetches one page of the view. A null cursor asks for the first page.
+     */
+    interface PageLoader<T> {
+        Page<T> load(PageCursor after, int pageSize, boolean ascending) throws Exception;
+    }
+    
+    static final class Column<T> {
+        private final String name;
+        private final Class<?> type;
+        private final Function<T, ?> value;
+        private final TableCellRenderer renderer;
+        
+        Column(String name, Class<?> type, Function<T, ?> value) {
+            this(name, type, value, null);
+        }
+        
+        Column(String name, Class<?> type, Function<T, ?> value, TableCellRenderer renderer) {
+            this.name = name;
+            this.type = type;
+            this.value = value;
+            this.renderer = renderer;
+        }
+    }
+    
+    private final BackgroundTasks tasks;
+    private final String key;
+    private final List<Column<T>> columns;
+    private final Function<T, ?> rowKey;
+    private final int sortColumn;
+    private final Consumer<Exception> onError;
+    
+    private final List<T> rows = new ArrayList<>();
+    private PageLoader<T> loader;
+    private PageCursor next;
+    private boolean ascending;
+    private boolean loading;
+    private JTable table;
+    
+    // rowKey identifies a row across reloads; sortColumn is the model index of the column the loader sorts on
+    PagedTableModel(BackgroundTasks tasks, String key, List<Column<T>> columns, Function<T, ?> rowKey,
+                    int sortColumn, PageLoader<T> loader, Consumer<Exception> onError) {
+        this.tasks = tasks;
+        this.key = key;
+        this.columns = columns;
+        this.rowKey = rowKey;
+        this.sortColumn = sortColumn;
+        this.loader = loader;
+        this.onError = onError;
+    }
+    
+    /**
+     * Sets renderers, the sort header and the scroll prefetch on a table
+     * created over this model.
+     */
+    void install(JTable table, JScrollPane scrollPane) {
+        this.table = table;
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).renderer != null) {
+                table.getColumnModel().getColumn(i).setCellRenderer(columns.get(i).renderer);
+            }
+        }
+        
+        updateSortHeader();
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.columnAtPoint(e.getPoint());
+                if (column != -1 && table.convertColumnIndexToModel(column) == sortColumn) {
+                    ascending = !ascending;
+                    updateSortHeader();
+                    load(DatabaseConfig.DEFAULT_PAGE_SIZE, false, page -> scrollToTop());
+                }
+            }
+        });
+        scrollPane.getViewport().addChangeListener(e -> prefetchIfNeeded());
+    }
+    
+    /**
+     * Replaces the rows with the first page of a new view. Showing the current
+     * view again keeps as many rows as are loaded, up to one max-size page.
+     */
+    void show(PageLoader<T> loader, Consumer<Page<T>> onLoaded) {
+        if (loader == this.loader) {
+            load(refreshSize(), true, onLoaded);
+        } else {
+            this.loader = loader;
+            load(DatabaseConfig.DEFAULT_PAGE_SIZE, false, page -> {
+                scrollToTop();
+                onLoaded.accept(page);
+            });
+        }
+    }
+    
+    // Reloads the current view from its first row
+    void refresh() {
+        load(refreshSize(), true, page -> { });
+    }
+    
+    T getRow(int row) {
+        return rows.get(row);
+    }
+    
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return columns.get(column).name;
+    }
+    
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columns.get(column).type;
+    }
+    
+    @Override
+    public Object getValueAt(int row, int column) {
+        return columns.get(column).value.apply(rows.get(row));
+    }
+    
+    private void load(int pageSize, boolean diff, Consumer<Page<T>> onLoaded) {
+        PageLoader<T> current = loader;
+        boolean currentAscending = ascending;
+        loading = true;
+        // Supersedes any page still loading for the previous view
+        tasks.submit(key, () -> current.load(null, pageSize, currentAscending), page -> {
+            loading = false;
+            if (!diff || !applyDiff(page.getItems())) {
+                rows.clear();
+                rows.addAll(page.getItems());
+                fireTableDataChanged();
+            }
+            next = page.getNext();
+            onLoaded.accept(page);
+            prefetchIfNeeded();
+        }, e -> {
+            loading = false;
+            onError.accept(e);
+        });
+    }
+    
+    private void loadMore() {
+        PageLoader<T> current = loader;
+        PageCursor after = next;
+        boolean currentAscending = ascending;
+        loading = true;
+        tasks.submit(key, () -> current.load(after, DatabaseConfig.DEFAULT_PAGE_SIZE, currentAscending), page -> {
+            loading = false;
+            int first = rows.size();
+            rows.addAll(page.getItems());
+            next = page.getNext();
+            if (!page.getItems().isEmpty()) {
+                fireTableRowsInserted(first, rows.size() - 1);
+            }
+            prefetchIfNeeded();
+        }, e -> {
+            loading = false;
+            next = null; // stop paging rather than retry on every scroll; a refresh starts over
+            onError.accept(e);
+        });
+    }
+    
+    /**
+     * Turns the loaded rows into fresh with row-level events. Returns false,
+     * changing nothing, if rows present in both are in a different order.
+     */
+    private boolean applyDiff(List<T> fresh) {
+        Set<Object> loadedKeys = new HashSet<>();
+        for (T row : rows) {
+            loadedKeys.add(rowKey.apply(row));
+        }
+        Map<Object, T> freshByKey = new HashMap<>();
+        List<Object> keptInFreshOrder = new ArrayList<>();
+        for (T row : fresh) {
+            Object rowId = rowKey.apply(row);
+            freshByKey.put(rowId, row);
+            if (loadedKeys.contains(rowId)) {
+                keptInFreshOrder.add(rowId);
+            }
+        }
+        List<Object> keptInLoadedOrder = new ArrayList<>(keptInFreshOrder.size());
+        for (T row : rows) {
+            Object rowId = rowKey.apply(row);
+            if (freshByKey.containsKey(rowId)) {
+                keptInLoadedOrder.add(rowId);
+            }
+        }
+        if (!keptInLoadedOrder.equals(keptInFreshOrder)) {
+            return false;
+        }
+        
+        // Deletions first, from the bottom so earlier indexes stay valid
+        for (int end = rows.size() - 1; end >= 0; end--) {
+            if (!freshByKey.containsKey(rowKey.apply(rows.get(end)))) {
+                int start = end;
+                while (start > 0 && !freshByKey.containsKey(rowKey.apply(rows.get(start - 1)))) {
+                    start--;
+                }
+                rows.subList(start, end + 1).clear();
+                fireTableRowsDeleted(start, end);
+                end = start;
+            }
+        }
+        
+        // The remaining rows are a subsequence of fresh: walk both, inserting the gaps
+        int i = 0;
+        int j = 0;
+        while (j < fresh.size()) {
+            T row = fresh.get(j);
+            if (loadedKeys.contains(rowKey.apply(row))) {
+                boolean changed = changed(rows.get(i), row);
+                rows.set(i, row);
+                if (changed) {
+                    fireTableRowsUpdated(i, i);
+                }
+                i++;
+                j++;
+            } else {
+                int start = j;
+                while (j < fresh.size() && !loadedKeys.contains(rowKey.apply(fresh.get(j)))) {
+                    j++;
+                }
+                rows.addAll(i, fresh.subList(start, j));
+                fireTableRowsInserted(i, i + j - start - 1);
+                i += j - start;
+            }
+        }
+        return true;
+    }
+    
+    private boolean changed(T loaded, T fresh) {
+        for (Column<T> column : columns) {
+            if (!Objects.equals(column.value.apply(loaded), column.value.apply(fresh))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void prefetchIfNeeded() {
+        if (table == null || loading || next == null) {
+            return;
+        }
+        Rectangle visible = table.getVisibleRect();
+        int lastVisible = table.rowAtPoint(new Point(visible.x, visible.y + visible.height - 1));
+        if (lastVisible == -1 || rows.size() - lastVisible <= PREFETCH_ROWS) {
+            loadMore();
+        }
+    }
+    
+    private int refreshSize() {
+        return Math.min(Math.max(rows.size(), DatabaseConfig.DEFAULT_PAGE_SIZE), DatabaseConfig.MAX_PAGE_SIZE);
+    }
+    
+    private void updateSortHeader() {
+        if (table == null || sortColumn < 0) {
+            return;
+        }
+        TableColumn column = table.getColumnModel().getColumn(table.convertColumnIndexToView(sortColumn));
+        column.setHeaderValue(columns.get(sortColumn).name + (ascending ? " ▲" : " ▼"));
+        table.getTableHeader().repaint();
+    }
+    
+    private void scrollToTop() {
+        if (table != null) {
+            table.scrollRectToVisible(new Rectangle(0, 0, 1, 1));
+        }
+    }
+}
\ No newline at end of file
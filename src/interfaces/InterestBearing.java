@@ -1,5 +1,7 @@
 package interfaces;
 
+import models.Money;
+
 /**
  * Interface for accounts that earn interest
  * Demonstrates Interface OOP concept
@@ -9,7 +11,7 @@ public interface InterestBearing {
      * Calculate interest for the account
      * @return Interest amount
      */
-    double calculateInterest();
+    Money calculateInterest();
     
     /**
      * Get the interest rate
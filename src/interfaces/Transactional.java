@@ -1,6 +1,7 @@
 package interfaces;
 
 import exceptions.InsufficientFundsException;
+import models.Money;
 import models.Transaction;
 import java.util.List;
 
@@ -14,14 +15,14 @@ public interface Transactional {
      * @param amount Amount to deposit
      * @throws InsufficientFundsException if amount is invalid
      */
-    void deposit(double amount) throws InsufficientFundsException;
+    void deposit(Money amount) throws InsufficientFundsException;
     
     /**
      * Withdraw money from the account
      * @param amount Amount to withdraw
      * @throws InsufficientFundsException if insufficient balance
      */
-    void withdraw(double amount) throws InsufficientFundsException;
+    void withdraw(Money amount) throws InsufficientFundsException;
     
     /**
      * Get transaction history
@@ -12,7 +12,7 @@ import interfaces.Reportable;
 public abstract class Account implements Transactional, InterestBearing, Reportable {
     protected String accountNumber;
     protected String accountHolderName;
-    protected double balance;
+    protected Money balance;
     protected LocalDateTime createdDate;
     protected List<Transaction> transactions;
     protected int customerId;
@@ -22,9 +22,10 @@ public abstract class Account implements Transactional, InterestBearing, Reporta
         this.transactions = new ArrayList<>();
         this.createdDate = LocalDateTime.now();
         this.status = AccountStatus.ACTIVE;
+        this.balance = Money.ZERO;
     }
     
-    public Account(String accountNumber, String accountHolderName, double initialBalance, int customerId) {
+    public Account(String accountNumber, String accountHolderName, Money initialBalance, int customerId) {
         this();
         this.accountNumber = accountNumber;
         this.accountHolderName = accountHolderName;
@@ -34,49 +35,49 @@ public abstract class Account implements Transactional, InterestBearing, Reporta
     
     // Abstract methods to be implemented by subclasses
     public abstract String getAccountType();
-    public abstract double getMinimumBalance();
+    public abstract Money getMinimumBalance();
     
     // From InterestBearing interface
     @Override
-    public abstract double calculateInterest();
+    public abstract Money calculateInterest();
     
     @Override
     public abstract double getInterestRate();
     
     @Override
     public void creditInterest() {
-        double interest = calculateInterest();
-        if (interest > 0) {
-            balance += interest;
+        Money interest = calculateInterest();
+        if (interest.isPositive()) {
+            balance = balance.plus(interest);
             addTransaction(new Transaction(accountNumber, "INTEREST_CREDIT", interest, balance, "Monthly interest credit"));
         }
     }
     
     // From Transactional interface
     @Override
-    public synchronized void deposit(double amount) throws InsufficientFundsException {
-        if (amount <= 0) {
+    public synchronized void deposit(Money amount) throws InsufficientFundsException {
+        if (!amount.isPositive()) {
             throw new InsufficientFundsException("Deposit amount must be positive");
         }
         if (status != AccountStatus.ACTIVE) {
             throw new InsufficientFundsException("Account is not active");
         }
-        balance += amount;
+        balance = balance.plus(amount);
         addTransaction(new Transaction(accountNumber, "DEPOSIT", amount, balance));
     }
     
     @Override
-    public synchronized void withdraw(double amount) throws InsufficientFundsException {
-        if (amount <= 0) {
+    public synchronized void withdraw(Money amount) throws InsufficientFundsException {
+        if (!amount.isPositive()) {
             throw new InsufficientFundsException("Withdrawal amount must be positive");
         }
         if (status != AccountStatus.ACTIVE) {
             throw new InsufficientFundsException("Account is not active");
         }
-        if (balance - amount < getMinimumBalance()) {
+        if (balance.minus(amount).isLessThan(getMinimumBalance())) {
             throw new InsufficientFundsException("Insufficient funds. Minimum balance required: ₹" + getMinimumBalance());
         }
-        balance -= amount;
+        balance = balance.minus(amount);
         addTransaction(new Transaction(accountNumber, "WITHDRAWAL", amount, balance));
     }
     
@@ -107,11 +108,11 @@ public abstract class Account implements Transactional, InterestBearing, Reporta
         data.append("Account Number: ").append(accountNumber).append("\n");
         data.append("Account Holder: ").append(accountHolderName).append("\n");
         data.append("Account Type: ").append(getAccountType()).append("\n");
-        data.append("Current Balance: ₹").append(String.format("%.2f", balance)).append("\n");
+        data.append("Current Balance: ₹").append(balance).append("\n");
         data.append("Status: ").append(status).append("\n");
         data.append("Created Date: ").append(createdDate.format(formatter)).append("\n");
         data.append("Total Transactions: ").append(transactions.size()).append("\n");
-        data.append("Minimum Balance: ₹").append(String.format("%.2f", getMinimumBalance())).append("\n");
+        data.append("Minimum Balance: ₹").append(getMinimumBalance()).append("\n");
         data.append("Interest Rate: ").append(String.format("%.2f%%", getInterestRate() * 100)).append("\n");
         return data.toString();
     }
@@ -123,8 +124,8 @@ public abstract class Account implements Transactional, InterestBearing, Reporta
     public String getAccountHolderName() { return accountHolderName; }
     public void setAccountHolderName(String accountHolderName) { this.accountHolderName = accountHolderName; }
     
-    public double getBalance() { return balance; }
-    public void setBalance(double balance) { this.balance = balance; }
+    public Money getBalance() { return balance; }
+    public void setBalance(Money balance) { this.balance = balance; }
     
     public LocalDateTime getCreatedDate() { return createdDate; }
     public void setCreatedDate(LocalDateTime createdDate) { this.createdDate = createdDate; }
@@ -141,7 +142,7 @@ public abstract class Account implements Transactional, InterestBearing, Reporta
     
     @Override
     public String toString() {
-        return String.format("%s Account: %s - %s (₹%.2f)", 
+        return String.format("%s Account: %s - %s (₹%s)", 
                            getAccountType(), accountNumber, accountHolderName, balance);
     }
 }
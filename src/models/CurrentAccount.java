@@ -3,41 +3,41 @@ package models;
 import exceptions.InsufficientFundsException;
 
 public class CurrentAccount extends Account {
-    private static final double INTEREST_RATE = 0.02; // 2% annual interest
-    private static final double MINIMUM_BALANCE = -10000.0; // ₹10,000 overdraft limit
-    private static final double OVERDRAFT_LIMIT = 10000.0;
+    private static final int INTEREST_RATE_BASIS_POINTS = 200; // 2% annual interest
+    private static final Money MINIMUM_BALANCE = Money.ofRupees(-10000); // ₹10,000 overdraft limit
+    private static final Money OVERDRAFT_LIMIT = Money.ofRupees(10000);
     
     public CurrentAccount() {
         super();
     }
     
-    public CurrentAccount(String accountNumber, String accountHolderName, double initialBalance, int customerId) {
+    public CurrentAccount(String accountNumber, String accountHolderName, Money initialBalance, int customerId) {
         super(accountNumber, accountHolderName, initialBalance, customerId);
     }
     
     @Override
-    public synchronized void withdraw(double amount) throws InsufficientFundsException {
-        if (amount <= 0) {
+    public synchronized void withdraw(Money amount) throws InsufficientFundsException {
+        if (!amount.isPositive()) {
             throw new InsufficientFundsException("Withdrawal amount must be positive");
         }
         if (status != AccountStatus.ACTIVE) {
             throw new InsufficientFundsException("Account is not active");
         }
-        if (balance - amount < MINIMUM_BALANCE) {
+        if (balance.minus(amount).isLessThan(MINIMUM_BALANCE)) {
             throw new InsufficientFundsException("Overdraft limit of ₹" + OVERDRAFT_LIMIT + " exceeded");
         }
-        balance -= amount;
+        balance = balance.minus(amount);
         addTransaction(new Transaction(accountNumber, "WITHDRAWAL", amount, balance));
     }
     
     @Override
-    public double calculateInterest() {
-        return balance > 0 ? balance * INTEREST_RATE / 12 : 0; // No interest on negative balance
+    public Money calculateInterest() {
+        return balance.isPositive() ? balance.interest(INTEREST_RATE_BASIS_POINTS, 12) : Money.ZERO; // No interest on negative balance
     }
     
     @Override
     public double getInterestRate() {
-        return INTEREST_RATE;
+        return INTEREST_RATE_BASIS_POINTS / 10000.0;
     }
     
     @Override
@@ -46,15 +46,23 @@ public class CurrentAccount extends Account {
     }
     
     @Override
-    public double getMinimumBalance() {
+    public Money getMinimumBalance() {
         return MINIMUM_BALANCE;
     }
     
     public static double getStaticInterestRate() {
-        return INTEREST_RATE;
+        return INTEREST_RATE_BASIS_POINTS / 10000.0;
     }
     
-    public static double getOverdraftLimit() {
+    public static int getInterestRateBasisPoints() {
+        return INTEREST_RATE_BASIS_POINTS;
+    }
+    
+    public static Money getStaticMinimumBalance() {
+        return MINIMUM_BALANCE;
+    }
+    
+    public static Money getOverdraftLimit() {
         return OVERDRAFT_LIMIT;
     }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package models;
+
+/**
+ * Exact monetary amount in rupees, held as a whole number of paise.
+ * All arithmetic is integer arithmetic, so repeated postings and interest
+ * credits never drift, and overflow fails loudly instead of losing precision.
+ * Values map to DECIMAL(15,2) columns without going through double or BigDecimal.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0);
+    
+    private static final long PAISE_PER_RUPEE = 100;
+    private static final long BASIS_POINTS = 10000;
+    
+    private final long paise;
+    
+    private Money(long paise) {
+        this.paise = paise;
+    }
+    
+    public static Money ofPaise(long paise) {
+        return paise == 0 ? ZERO : new Money(paise);
+    }
+    
+    public static Money ofRupees(long rupees) {
+        return ofPaise(Math.multiplyExact(rupees, PAISE_PER_RUPEE));
+    }
+    
+    /**
+     * Parses a plain decimal amount such as "1500", "-25.5" or "1234.50".
+     * Digits beyond the second decimal place are only accepted when they are
+     * zeros, so a value is never silently rounded.
+     *
+     * @throws NumberFormatException if the text is not a valid amount
+     */
+    public static Money parse(String text) {
+        if (text == null) {
+            throw new NumberFormatException("Amount is missing");
+        }
+        try {
+            return parseChecked(text);
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+    
+    private static Money parseChecked(String text) {
+        String s = text.trim();
+        int length = s.length();
+        int i = 0;
+        boolean negative = false;
+        if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+        
+        long value = 0;
+        int integerDigits = 0;
+        for (; i < length && s.charAt(i) != '.'; i++) {
+            value = Math.addExact(Math.multiplyExact(value, 10), digit(s, i));
+            integerDigits++;
+        }
+        
+        int fractionDigits = 0;
+        if (i < length) {
+            for (i++; i < length; i++) {
+                int digit = digit(s, i);
+                if (fractionDigits < 2) {
+                    value = Math.addExact(Math.multiplyExact(value, 10), digit);
+                } else if (digit != 0) {
+                    throw new NumberFormatException("Amount has more than 2 decimal places: " + text);
+                }
+                fractionDigits++;
+            }
+        }
+        
+        if (integerDigits == 0 && fractionDigits == 0) {
+            throw new NumberFormatException("Not an amount: " + text);
+        }
+        for (int scale = Math.min(fractionDigits, 2); scale < 2; scale++) {
+            value = Math.multiplyExact(value, 10);
+        }
+        return ofPaise(negative ? -value : value);
+    }
+    
+    private static int digit(String s, int index) {
+        char c = s.charAt(index);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Not an amount: " + s);
+        }
+        return c - '0';
+    }
+    
+    public long getPaise() {
+        return paise;
+    }
+    
+    public Money plus(Money other) {
+        return ofPaise(Math.addExact(paise, other.paise));
+    }
+    
+    public Money minus(Money other) {
+        return ofPaise(Math.subtractExact(paise, other.paise));
+    }
+    
+    public Money negate() {
+        return ofPaise(Math.negateExact(paise));
+    }
+    
+    /**
+     * Interest on this amount for one period at an annual rate given in basis
+     * points (400 = 4%), rounded half away from zero to the nearest paisa.
+     */
+    public Money interest(int annualRateBasisPoints, int periodsPerYear) {
+        long numerator = Math.multiplyExact(paise, (long) annualRateBasisPoints);
+        long denominator = BASIS_POINTS * periodsPerYear;
+        return ofPaise(roundedQuotient(numerator, denominator));
+    }
+    
+    /**
+     * This amount split evenly, rounded half away from zero; used for averages.
+     */
+    public Money dividedBy(long divisor) {
+        return ofPaise(roundedQuotient(paise, divisor));
+    }
+    
+    private static long roundedQuotient(long numerator, long denominator) {
+        long quotient = numerator / denominator;
+        long remainder = numerator % denominator;
+        if (Math.abs(remainder) * 2 >= Math.abs(denominator)) {
+            quotient += Long.signum(numerator) * Long.signum(denominator);
+        }
+        return quotient;
+    }
+    
+    /**
+     * Whole rupees, rounded half away from zero; for compact dashboard figures.
+     */
+    public long roundedRupees() {
+        return roundedQuotient(paise, PAISE_PER_RUPEE);
+    }
+    
+    public int signum() {
+        return Long.signum(paise);
+    }
+    
+    public boolean isPositive() {
+        return paise > 0;
+    }
+    
+    public boolean isNegative() {
+        return paise < 0;
+    }
+    
+    public boolean isZero() {
+        return paise == 0;
+    }
+    
+    public boolean isLessThan(Money other) {
+        return paise < other.paise;
+    }
+    
+    public boolean isGreaterThan(Money other) {
+        return paise > other.paise;
+    }
+    
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(paise, other.paise);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).paise == paise;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Long.hashCode(paise);
+    }
+    
+    /**
+     * Plain two-decimal form, e.g. "1234.50" or "-0.05"; the same text as
+     * String.format("%.2f") and what DECIMAL(15,2) columns accept.
+     */
+    @Override
+    public String toString() {
+        long abs = Math.abs(paise);
+        long rupees = abs / PAISE_PER_RUPEE;
+        long fraction = abs % PAISE_PER_RUPEE;
+        StringBuilder sb = new StringBuilder(24);
+        if (paise < 0) {
+            sb.append('-');
+        }
+        sb.append(rupees).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction).toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package models;
+
+/**
+ * Actions a signed-in user may be allowed to take. Each permission is one bit
+ * of a long, so a role's permissions are a single mask and checking one is a
+ * bitwise AND.
+ */
+public enum Permission {
+    VIEW_OWN_ACCOUNTS,
+    VIEW_OWN_TRANSACTIONS,
+    DEPOSIT,
+    WITHDRAW,
+    TRANSFER,
+    CHANGE_PASSWORD,
+    VIEW_ALL_ACCOUNTS,
+    VIEW_ALL_TRANSACTIONS,
+    CREATE_ACCOUNT,
+    CLOSE_ACCOUNT,
+    MANAGE_CUSTOMERS,
+    CREDIT_INTEREST,
+    BULK_POST,
+    VIEW_REPORTS;
+    
+    private static final long CUSTOMER_MASK = maskOf(VIEW_OWN_ACCOUNTS, VIEW_OWN_TRANSACTIONS,
+        DEPOSIT, WITHDRAW, TRANSFER, CHANGE_PASSWORD);
+    private static final long MANAGER_MASK = maskOf(values());
+    
+    public long bit() {
+        return 1L << ordinal();
+    }
+    
+    public static long maskFor(UserRole role) {
+        switch (role) {
+            case BANK_MANAGER:
+                return MANAGER_MASK; // Managers have all permissions
+            case CUSTOMER:
+                return CUSTOMER_MASK;
+            default:
+                return 0;
+        }
+    }
+    
+    private static long maskOf(Permission... permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.bit();
+        }
+        return mask;
+    }
+}
\ No newline at end of file
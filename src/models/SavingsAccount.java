@@ -1,25 +1,25 @@
 package models;
 
 public class SavingsAccount extends Account {
-    private static final double INTEREST_RATE = 0.04; // 4% annual interest
-    private static final double MINIMUM_BALANCE = 1000.0; // ₹1000 minimum balance
+    private static final int INTEREST_RATE_BASIS_POINTS = 400; // 4% annual interest
+    private static final Money MINIMUM_BALANCE = Money.ofRupees(1000); // ₹1000 minimum balance
     
     public SavingsAccount() {
         super();
     }
     
-    public SavingsAccount(String accountNumber, String accountHolderName, double initialBalance, int customerId) {
+    public SavingsAccount(String accountNumber, String accountHolderName, Money initialBalance, int customerId) {
         super(accountNumber, accountHolderName, initialBalance, customerId);
     }
     
     @Override
-    public double calculateInterest() {
-        return balance * INTEREST_RATE / 12; // Monthly interest
+    public Money calculateInterest() {
+        return balance.interest(INTEREST_RATE_BASIS_POINTS, 12); // Monthly interest
     }
     
     @Override
     public double getInterestRate() {
-        return INTEREST_RATE;
+        return INTEREST_RATE_BASIS_POINTS / 10000.0;
     }
     
     @Override
@@ -28,11 +28,19 @@ public class SavingsAccount extends Account {
     }
     
     @Override
-    public double getMinimumBalance() {
+    public Money getMinimumBalance() {
         return MINIMUM_BALANCE;
     }
     
     public static double getStaticInterestRate() {
-        return INTEREST_RATE;
+        return INTEREST_RATE_BASIS_POINTS / 10000.0;
+    }
+    
+    public static int getInterestRateBasisPoints() {
+        return INTEREST_RATE_BASIS_POINTS;
+    }
+    
+    public static Money getStaticMinimumBalance() {
+        return MINIMUM_BALANCE;
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package models;
 
+import utils.IdGenerator;
+
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -7,8 +9,8 @@ public class Transaction {
     private String transactionId;
     private String accountNumber;
     private String type;
-    private double amount;
-    private double balanceAfter;
+    private Money amount;
+    private Money balanceAfter;
     private LocalDateTime timestamp;
     private String description;
     private String referenceNumber;
@@ -17,23 +19,23 @@ public class Transaction {
         this.timestamp = LocalDateTime.now();
     }
     
-    public Transaction(String accountNumber, String type, double amount, double balanceAfter) {
+    public Transaction(String accountNumber, String type, Money amount, Money balanceAfter) {
         this();
         this.transactionId = generateTransactionId();
         this.accountNumber = accountNumber;
         this.type = type;
         this.amount = amount;
         this.balanceAfter = balanceAfter;
-        this.description = type + " of ₹" + String.format("%.2f", amount);
+        this.description = type + " of ₹" + amount;
     }
     
-    public Transaction(String accountNumber, String type, double amount, double balanceAfter, String description) {
+    public Transaction(String accountNumber, String type, Money amount, Money balanceAfter, String description) {
         this(accountNumber, type, amount, balanceAfter);
         this.description = description;
     }
     
     private String generateTransactionId() {
-        return "TXN" + System.currentTimeMillis() + (int)(Math.random() * 1000);
+        return IdGenerator.nextTransactionId();
     }
     
     // Getters and Setters
@@ -46,11 +48,11 @@ public class Transaction {
     public String getType() { return type; }
     public void setType(String type) { this.type = type; }
     
-    public double getAmount() { return amount; }
-    public void setAmount(double amount) { this.amount = amount; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
     
-    public double getBalanceAfter() { return balanceAfter; }
-    public void setBalanceAfter(double balanceAfter) { this.balanceAfter = balanceAfter; }
+    public Money getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(Money balanceAfter) { this.balanceAfter = balanceAfter; }
     
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
@@ -63,7 +65,7 @@ public class Transaction {
     
     @Override
     public String toString() {
-        return String.format("%s | %s | ₹%.2f | Balance: ₹%.2f | %s | %s", 
+        return String.format("%s | %s | ₹%s | Balance: ₹%s | %s | %s", 
             transactionId, type, amount, balanceAfter, 
             timestamp.format(DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss")),
             description != null ? description : "");
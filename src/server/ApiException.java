@@ -0,0 +1,17 @@
+package server;
+
+/**
+ * A request the API refuses, carrying the HTTP status to answer with.
+ */
+class ApiException extends Exception {
+    private final int status;
+    
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+    
+    int getStatus() {
+        return status;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,125 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import database.DatabaseConfig;
+import models.Money;
+import services.Session;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One API call: path parameters from the matched route, the query string,
+ * the JSON body (read on first use) and the caller's session.
+ */
+final class ApiRequest {
+    private final HttpExchange exchange;
+    private final Map<String, String> pathParams;
+    private Map<String, String> query;
+    private Map<String, Object> body;
+    private int maxBodyBytes = DatabaseConfig.HTTP_MAX_BODY_BYTES;
+    private Session session;
+    
+    ApiRequest(HttpExchange exchange, Map<String, String> pathParams) {
+        this.exchange = exchange;
+        this.pathParams = pathParams;
+    }
+    
+    String path(String name) {
+        return pathParams.get(name);
+    }
+    
+    String header(String name) {
+        return exchange.getRequestHeaders().getFirst(name);
+    }
+    
+    String query(String name) {
+        if (query == null) {
+            query = new HashMap<>();
+            String raw = exchange.getRequestURI().getRawQuery();
+            if (raw != null) {
+                for (String pair : raw.split("&")) {
+                    int equals = pair.indexOf('=');
+                    String key = equals < 0 ? pair : pair.substring(0, equals);
+                    String value = equals < 0 ? "" : pair.substring(equals + 1);
+                    query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return query.get(name);
+    }
+    
+    int queryInt(String name, int defaultValue) throws ApiException {
+        String value = query(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Query parameter '" + name + "' must be a whole number");
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    Map<String, Object> body() throws IOException, ApiException {
+        if (body == null) {
+            byte[] bytes = exchange.getRequestBody().readNBytes(maxBodyBytes + 1);
+            if (bytes.length > maxBodyBytes) {
+                throw new ApiException(413, "Request body exceeds " + maxBodyBytes + " bytes");
+            }
+            Object parsed = bytes.length == 0 ? new HashMap<String, Object>()
+                : JsonReader.parse(new String(bytes, StandardCharsets.UTF_8));
+            if (!(parsed instanceof Map)) {
+                throw new ApiException(400, "Request body must be a JSON object");
+            }
+            body = (Map<String, Object>) parsed;
+        }
+        return body;
+    }
+    
+    String requireString(String name) throws IOException, ApiException {
+        String value = optionalString(name, null);
+        if (value == null || value.isBlank()) {
+            throw new ApiException(400, "Missing field '" + name + "'");
+        }
+        return value;
+    }
+    
+    String optionalString(String name, String defaultValue) throws IOException, ApiException {
+        Object value = body().get(name);
+        return value == null ? defaultValue : text(value);
+    }
+    
+    // Numbers keep the digits the client sent
+    static String text(Object value) {
+        return value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+    }
+    
+    // Accepts "1500.50" or 1500.50; amounts are parsed exactly, never through a double
+    Money requireMoney(String name) throws IOException, ApiException {
+        String value = requireString(name);
+        try {
+            return Money.parse(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Field '" + name + "' is not a valid amount: " + value);
+        }
+    }
+    
+    // For routes that take large uploads; call before the body is first read
+    void allowBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+    
+    Session getSession() {
+        return session;
+    }
+    
+    void setSession(Session session) {
+        this.session = session;
+    }
+}
\ No newline at end of file
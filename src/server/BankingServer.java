@@ -0,0 +1,643 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dao.Page;
+import dao.PageCursor;
+import dao.RowCursor;
+import dao.TransactionQuery;
+import database.DatabaseConfig;
+import database.DatabaseManager;
+import database.PoolStats;
+import exceptions.AccountNotFoundException;
+import exceptions.AuthenticationException;
+import exceptions.BatchConflictException;
+import exceptions.InsufficientFundsException;
+import models.Account;
+import models.Money;
+import models.Transaction;
+import models.User;
+import models.Permission;
+import services.AuthenticationService;
+import services.BankingService;
+import services.BulkCredit;
+import services.BulkPostingResult;
+import services.BulkReject;
+import services.ChangeFeed;
+import services.DashboardStats;
+import services.LatencyHistogram;
+import services.LatencyStats;
+import services.PostingStats;
+import services.Session;
+import services.SessionManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Headless JSON API over BankingService, for branch terminals and load
+ * tests. Runs on the JDK's built-in HTTP server and never touches Swing.
+ *
+ * Each request gets its own virtual thread where the runtime has them, and a
+ * thread from a bounded pool otherwise; either way the connection pool caps
+ * how many requests are in the database at once. Clients sign in through
+ * POST /api/login and send the returned session token as "Authorization:
+ * Bearer"; each route names the Permission it needs.
+ * Amounts travel as decimal strings. Every route keeps a latency histogram,
+ * served at GET /api/stats.
+ */
+public class BankingServer {
+    private static final Logger logger = Logger.getLogger(BankingServer.class.getName());
+    
+    private static final String API_PREFIX = "/api/";
+    
+    @FunctionalInterface
+    interface Endpoint {
+        Object handle(ApiRequest request) throws Exception;
+    }
+    
+    /**
+     * A response written straight to the client, for results too large to
+     * buffer. The status line is already sent when it runs.
+     */
+    @FunctionalInterface
+    interface JsonBody {
+        void writeTo(JsonWriter json) throws Exception;
+    }
+    
+    private static final class Route {
+        private final String method;
+        private final String[] segments;
+        private final Permission permission; // null for routes open to anyone
+        private final Endpoint endpoint;
+        private final LatencyHistogram latency;
+        
+        Route(String method, String template, Permission permission, Endpoint endpoint) {
+            this.method = method;
+            this.segments = split(template);
+            this.permission = permission;
+            this.endpoint = endpoint;
+            this.latency = new LatencyHistogram(method + " " + template);
+        }
+        
+        // Path parameters by name, or null if the path does not fit the template
+        Map<String, String> match(String[] path) {
+            if (path.length != segments.length) {
+                return null;
+            }
+            Map<String, String> params = new HashMap<>();
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].startsWith("{")) {
+                    params.put(segments[i].substring(1, segments[i].length() - 1), path[i]);
+                } else if (!segments[i].equals(path[i])) {
+                    return null;
+                }
+            }
+            return params;
+        }
+    }
+    
+    private final BankingService bankingService = new BankingService();
+    private final AuthenticationService authenticationService = new AuthenticationService();
+    private final SessionManager sessions = SessionManager.getInstance();
+    private final List<Route> routes = new ArrayList<>();
+    private final LatencyHistogram unmatched = new LatencyHistogram("unmatched");
+    private final HttpServer server;
+    private final ExecutorService executor;
+    
+    public BankingServer(int port) throws IOException {
+        route("POST", "/api/login", null, this::login);
+        route("POST", "/api/logout", null, this::logout);
+        route("GET", "/api/accounts", Permission.VIEW_OWN_ACCOUNTS, this::accounts);
+        route("GET", "/api/accounts/{number}", Permission.VIEW_OWN_ACCOUNTS, this::account);
+        route("GET", "/api/accounts/{number}/transactions", Permission.VIEW_OWN_TRANSACTIONS, this::transactions);
+        route("POST", "/api/deposit", Permission.DEPOSIT, this::deposit);
+        route("POST", "/api/withdraw", Permission.WITHDRAW, this::withdraw);
+        route("POST", "/api/transfer", Permission.TRANSFER, this::transfer);
+        route("POST", "/api/bulk/credits", Permission.BULK_POST, this::bulkCredits);
+        route("GET", "/api/reports/summary", Permission.VIEW_REPORTS, this::summaryReport);
+        route("GET", "/api/reports/customers", Permission.VIEW_REPORTS, this::customerReport);
+        route("GET", "/api/reports/accounts", Permission.VIEW_REPORTS, this::accountReport);
+        route("GET", "/api/stats", Permission.VIEW_REPORTS, this::stats);
+        
+        executor = newRequestExecutor();
+        server = HttpServer.create(new InetSocketAddress(port), DatabaseConfig.HTTP_BACKLOG);
+        server.createContext(API_PREFIX, this::dispatch);
+        server.setExecutor(executor);
+    }
+    
+    public void start() {
+        // Keeps AccountCache coherent with writes made by other processes
+        ChangeFeed.getInstance().subscribe(changes -> { });
+        server.start();
+        logger.info("Banking API listening on port " + server.getAddress().getPort());
+    }
+    
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        for (Route route : routes) {
+            LatencyStats stats = route.latency.getStats();
+            if (stats.getCount() > 0) {
+                logger.info(stats.toString());
+            }
+        }
+    }
+    
+    private void route(String method, String template, Permission permission, Endpoint endpoint) {
+        routes.add(new Route(method, template, permission, endpoint));
+    }
+    
+    // Endpoints
+    
+    private Object login(ApiRequest request) throws Exception {
+        Session session = authenticationService.authenticate(request.requireString("username"),
+            request.requireString("password"));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("token", session.getToken());
+        result.put("user", userJson(session.getUser()));
+        return result;
+    }
+    
+    private Object logout(ApiRequest request) {
+        sessions.invalidate(token(request));
+        return Map.of("loggedOut", true);
+    }
+    
+    private Object accounts(ApiRequest request) throws Exception {
+        Session session = request.getSession();
+        if (!session.hasPermission(Permission.VIEW_ALL_ACCOUNTS)) {
+            List<Account> accounts = bankingService.getAccountsByCustomer(session.getUserId());
+            return pageJson(new Page<>(accounts, null), BankingServer::accountJson);
+        }
+        Page<Account> page = bankingService.getAccountsPage(cursor(request),
+            request.queryInt("limit", DatabaseConfig.DEFAULT_PAGE_SIZE), false);
+        return pageJson(page, BankingServer::accountJson);
+    }
+    
+    private Object account(ApiRequest request) throws Exception {
+        return accountJson(visibleAccount(request.getSession(), request.path("number")));
+    }
+    
+    private Object transactions(ApiRequest request) throws Exception {
+        Account account = visibleAccount(request.getSession(), request.path("number"));
+        TransactionQuery.Builder query = TransactionQuery.builder()
+            .account(account.getAccountNumber())
+            .after(cursor(request))
+            .limit(request.queryInt("limit", DatabaseConfig.DEFAULT_PAGE_SIZE));
+        String type = request.query("type");
+        if (type != null && !type.isEmpty()) {
+            query.type(type);
+        }
+        return pageJson(bankingService.findTransactions(query.build()), BankingServer::transactionJson);
+    }
+    
+    private Object deposit(ApiRequest request) throws Exception {
+        Account account = visibleAccount(request.getSession(), request.requireString("accountNumber"));
+        Money balance = await(bankingService.depositAsync(account.getAccountNumber(), request.requireMoney("amount"),
+            request.optionalString("description", "Deposit")));
+        return balanceJson(account.getAccountNumber(), balance);
+    }
+    
+    private Object withdraw(ApiRequest request) throws Exception {
+        Account account = visibleAccount(request.getSession(), request.requireString("accountNumber"));
+        Money balance = await(bankingService.withdrawAsync(account.getAccountNumber(), request.requireMoney("amount"),
+            request.optionalString("description", "Withdrawal")));
+        return balanceJson(account.getAccountNumber(), balance);
+    }
+    
+    private Object transfer(ApiRequest request) throws Exception {
+        Account from = visibleAccount(request.getSession(), request.requireString("fromAccount"));
+        String toAccount = request.requireString("toAccount");
+        Money amount = request.requireMoney("amount");
+        String reference = await(bankingService.transferAsync(from.getAccountNumber(), toAccount, amount,
+            request.optionalString("description", "Transfer")));
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("referenceNumber", reference);
+        result.put("fromAccount", from.getAccountNumber());
+        result.put("toAccount", toAccount);
+        result.put("amount", amount);
+        result.put("balance", bankingService.getAccount(from.getAccountNumber()).map(Account::getBalance).orElse(null));
+        return result;
+    }
+    
+    // Runs the whole batch before answering; a repeat with the same batchId resumes it or reports it done
+    private Object bulkCredits(ApiRequest request) throws Exception {
+        request.allowBodyBytes(DatabaseConfig.HTTP_MAX_BULK_BODY_BYTES);
+        String batchId = request.requireString("batchId");
+        Object entries = request.body().get("credits");
+        if (!(entries instanceof List)) {
+            throw new ApiException(400, "Field 'credits' must be an array");
+        }
+        
+        List<BulkCredit> credits = new ArrayList<>(((List<?>) entries).size());
+        long line = 0;
+        for (Object entry : (List<?>) entries) {
+            line++;
+            if (!(entry instanceof Map)) {
+                throw new ApiException(400, "Credit " + line + " must be an object");
+            }
+            Map<?, ?> fields = (Map<?, ?>) entry;
+            Object accountNumber = fields.get("accountNumber");
+            Object amount = fields.get("amount");
+            Object description = fields.get("description");
+            if (accountNumber == null || amount == null) {
+                throw new ApiException(400, "Credit " + line + " needs 'accountNumber' and 'amount'");
+            }
+            try {
+                credits.add(new BulkCredit(line, ApiRequest.text(accountNumber), Money.parse(ApiRequest.text(amount)),
+                    description == null ? "Bulk credit" : ApiRequest.text(description)));
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "Credit " + line + " has an invalid amount: " + ApiRequest.text(amount));
+            }
+        }
+        return bulkResultJson(bankingService.postBulkCredits(batchId, credits));
+    }
+    
+    private Object summaryReport(ApiRequest request) {
+        DashboardStats stats = bankingService.getDashboardStats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalAccounts", stats.getTotalAccounts());
+        result.put("activeAccounts", stats.getActiveAccounts());
+        result.put("totalCustomers", stats.getTotalCustomers());
+        result.put("totalBalance", stats.getTotalBalance());
+        result.put("balanceByAccountType", stats.getBalanceByAccountType());
+        result.put("totalTransactions", stats.getTotalTransactions());
+        result.put("transactionsByType", stats.getTransactionsByType());
+        result.put("reconciled", stats.isReconciled());
+        return result;
+    }
+    
+    private Object customerReport(ApiRequest request) throws SQLException {
+        return streamArray(bankingService.openCustomerSummaryCursor(), summary -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("userId", summary.getUserId());
+            row.put("username", summary.getUsername());
+            row.put("fullName", summary.getFullName());
+            row.put("email", summary.getEmail());
+            row.put("active", summary.isActive());
+            row.put("totalAccounts", summary.getTotalAccounts());
+            row.put("totalBalance", summary.getTotalBalance());
+            return row;
+        });
+    }
+    
+    private Object accountReport(ApiRequest request) throws SQLException {
+        return streamArray(bankingService.openAccountSummaryCursor(), summary -> {
+            Map<String, Object> row = accountJson(summary.getAccount());
+            row.put("transactionCount", summary.getTransactionCount());
+            row.put("lastTransaction", summary.getLastTransaction());
+            return row;
+        });
+    }
+    
+    private Object stats(ApiRequest request) {
+        List<Object> latency = new ArrayList<>();
+        for (Route route : routes) {
+            latency.add(latencyJson(route.latency.getStats()));
+        }
+        latency.add(latencyJson(unmatched.getStats()));
+        
+        PoolStats pool = DatabaseManager.getPoolStats();
+        Map<String, Object> poolJson = new LinkedHashMap<>();
+        poolJson.put("maxConnections", pool.getMaxConnections());
+        poolJson.put("activeConnections", pool.getActiveConnections());
+        poolJson.put("idleConnections", pool.getIdleConnections());
+        poolJson.put("waitingThreads", pool.getWaitingThreads());
+        poolJson.put("borrowTimeouts", pool.getBorrowTimeouts());
+        poolJson.put("averageWaitMicros", pool.getAverageWaitMicros());
+        
+        Map<String, Object> sessionJson = new LinkedHashMap<>();
+        sessionJson.put("active", sessions.getActiveSessions());
+        sessionJson.put("created", sessions.getSessionsCreated());
+        sessionJson.put("expired", sessions.getSessionsExpired());
+        
+        PostingStats postings = bankingService.getPostingStats();
+        Map<String, Object> postingJson = new LinkedHashMap<>();
+        postingJson.put("queued", postings.getQueued());
+        postingJson.put("maxShardDepth", postings.getMaxShardDepth());
+        postingJson.put("queueCapacity", postings.getQueueCapacity());
+        postingJson.put("submitted", postings.getSubmitted());
+        postingJson.put("completed", postings.getCompleted());
+        postingJson.put("failed", postings.getFailed());
+        postingJson.put("rejected", postings.getRejected());
+        postingJson.put("commits", postings.getCommits());
+        postingJson.put("queueWait", latencyJson(postings.getQueueWait()));
+        postingJson.put("latency", latencyJson(postings.getLatency()));
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("latency", latency);
+        result.put("pool", poolJson);
+        result.put("sessions", sessionJson);
+        result.put("postings", postingJson);
+        return result;
+    }
+    
+    // Dispatch
+    
+    private void dispatch(HttpExchange exchange) {
+        long start = System.nanoTime();
+        LatencyHistogram latency = unmatched;
+        try {
+            String[] path = split(exchange.getRequestURI().getPath());
+            Route route = null;
+            Map<String, String> params = null;
+            boolean pathKnown = false;
+            for (Route candidate : routes) {
+                Map<String, String> match = candidate.match(path);
+                if (match != null) {
+                    pathKnown = true;
+                    if (candidate.method.equals(exchange.getRequestMethod())) {
+                        route = candidate;
+                        params = match;
+                        break;
+                    }
+                }
+            }
+            if (route == null) {
+                throw new ApiException(pathKnown ? 405 : 404, "No route for " + exchange.getRequestMethod()
+                    + " " + exchange.getRequestURI().getPath());
+            }
+            
+            latency = route.latency;
+            ApiRequest request = new ApiRequest(exchange, params);
+            authorize(route, request);
+            send(exchange, 200, route.endpoint.handle(request));
+        } catch (Exception e) {
+            sendError(exchange, e);
+        } finally {
+            latency.recordNanos(System.nanoTime() - start);
+            exchange.close();
+        }
+    }
+    
+    private void authorize(Route route, ApiRequest request) throws ApiException {
+        if (route.permission == null) {
+            return;
+        }
+        Session session = sessions.get(token(request)).orElseThrow(() ->
+            new ApiException(401, "Sign in and send the token as 'Authorization: Bearer <token>'"));
+        if (!session.hasPermission(route.permission)) {
+            throw new ApiException(403, "Not permitted: " + route.permission);
+        }
+        request.setSession(session);
+    }
+    
+    private static String token(ApiRequest request) {
+        String header = request.header("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        return header.substring(7).trim();
+    }
+    
+    private static void send(HttpExchange exchange, int status, Object result) throws Exception {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (result instanceof JsonBody) {
+            // Chunked: the length is not known until the last row is written
+            exchange.sendResponseHeaders(status, 0);
+            Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+            JsonWriter json = new JsonWriter(out);
+            ((JsonBody) result).writeTo(json);
+            json.flush();
+            return;
+        }
+        
+        StringWriter buffer = new StringWriter();
+        new JsonWriter(buffer).value(result);
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    
+    private static void sendError(HttpExchange exchange, Exception e) {
+        int status;
+        if (e instanceof ApiException) {
+            status = ((ApiException) e).getStatus();
+        } else if (e instanceof AuthenticationException) {
+            status = 401;
+        } else if (e instanceof AccountNotFoundException) {
+            status = 404;
+        } else if (e instanceof InsufficientFundsException) {
+            status = 422;
+        } else if (e instanceof BatchConflictException) {
+            status = 409;
+        } else if (e instanceof IllegalArgumentException) {
+            status = 400;
+        } else {
+            status = 500;
+            logger.log(Level.SEVERE, "Request failed: " + exchange.getRequestMethod() + " " + exchange.getRequestURI(), e);
+        }
+        
+        if (exchange.getResponseCode() != -1) {
+            // Failed mid-stream; the client sees a truncated body
+            logger.log(Level.WARNING, "Response aborted after headers were sent", e);
+            return;
+        }
+        try {
+            String message = status == 500 ? "Internal server error" : e.getMessage();
+            send(exchange, status, Map.of("error", message == null ? "" : message));
+        } catch (Exception sendFailure) {
+            logger.log(Level.FINE, "Could not send error response", sendFailure);
+        }
+    }
+    
+    // JSON shapes
+    
+    private Account visibleAccount(Session session, String accountNumber) throws SQLException, AccountNotFoundException {
+        Account account = bankingService.getAccount(accountNumber).orElse(null);
+        // Customers get the same answer for someone else's account as for a missing one
+        if (account == null || (!session.hasPermission(Permission.VIEW_ALL_ACCOUNTS)
+                && account.getCustomerId() != session.getUserId())) {
+            throw new AccountNotFoundException("Account not found: " + accountNumber);
+        }
+        return account;
+    }
+    
+    private static PageCursor cursor(ApiRequest request) {
+        String after = request.query("after");
+        return after == null || after.isEmpty() ? null : PageCursor.parse(after);
+    }
+    
+    private static Map<String, Object> balanceJson(String accountNumber, Money balance) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("accountNumber", accountNumber);
+        result.put("balance", balance);
+        return result;
+    }
+    
+    // Waits for a queued posting and rethrows what the posting itself threw
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                throw new ApiException(503, e.getCause().getMessage());
+            }
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    private static <T> Map<String, Object> pageJson(Page<T> page, Function<T, Object> toJson) {
+        List<Object> items = new ArrayList<>(page.size());
+        for (T item : page.getItems()) {
+            items.add(toJson.apply(item));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", items);
+        result.put("next", page.getNext());
+        return result;
+    }
+    
+    // Writes one element per row; the cursor's connection is held until the last row is sent
+    private static <T> JsonBody streamArray(RowCursor<T> cursor, Function<T, Object> toJson) {
+        return json -> {
+            try (cursor) {
+                json.beginArray();
+                while (cursor.next()) {
+                    json.value(toJson.apply(cursor.get()));
+                }
+                json.endArray();
+            }
+        };
+    }
+    
+    private static Map<String, Object> accountJson(Account account) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("accountNumber", account.getAccountNumber());
+        result.put("accountHolderName", account.getAccountHolderName());
+        result.put("accountType", account.getAccountType());
+        result.put("balance", account.getBalance());
+        result.put("status", account.getStatus());
+        result.put("customerId", account.getCustomerId());
+        result.put("createdDate", account.getCreatedDate());
+        return result;
+    }
+    
+    private static Map<String, Object> transactionJson(Transaction transaction) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("transactionId", transaction.getTransactionId());
+        result.put("accountNumber", transaction.getAccountNumber());
+        result.put("type", transaction.getType());
+        result.put("amount", transaction.getAmount());
+        result.put("balanceAfter", transaction.getBalanceAfter());
+        result.put("timestamp", transaction.getTimestamp());
+        result.put("description", transaction.getDescription());
+        result.put("referenceNumber", transaction.getReferenceNumber());
+        return result;
+    }
+    
+    private static Map<String, Object> bulkResultJson(BulkPostingResult posting) {
+        List<Object> rejects = new ArrayList<>(posting.getRejects().size());
+        for (BulkReject reject : posting.getRejects()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("line", reject.getLineNumber());
+            row.put("accountNumber", reject.getAccountNumber());
+            row.put("reason", reject.getReason());
+            rejects.add(row);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("runId", posting.getRunId());
+        result.put("resumed", posting.isResumed());
+        result.put("alreadyCompleted", posting.isAlreadyCompleted());
+        result.put("linesProcessed", posting.getLinesProcessed());
+        result.put("credited", posting.getCredited());
+        result.put("rejected", posting.getRejected());
+        result.put("totalCredited", posting.getTotalCredited());
+        result.put("chunks", posting.getChunks());
+        result.put("elapsedMillis", posting.getElapsedMillis());
+        result.put("rejects", rejects);
+        return result;
+    }
+    
+    private static Map<String, Object> userJson(User user) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("userId", user.getUserId());
+        result.put("username", user.getUsername());
+        result.put("fullName", user.getFullName());
+        result.put("email", user.getEmail());
+        result.put("role", user.getRole());
+        return result;
+    }
+    
+    private static Map<String, Object> latencyJson(LatencyStats stats) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("route", stats.getName());
+        result.put("count", stats.getCount());
+        result.put("meanMicros", stats.getMeanMicros());
+        result.put("p50Micros", stats.getP50Micros());
+        result.put("p90Micros", stats.getP90Micros());
+        result.put("p99Micros", stats.getP99Micros());
+        result.put("maxMicros", stats.getMaxMicros());
+        return result;
+    }
+    
+    private static String[] split(String path) {
+        String trimmed = path.replaceAll("^/+|/+$", "");
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/+");
+    }
+    
+    /**
+     * One virtual thread per request on runtimes that have them (looked up
+     * reflectively so the server still builds and runs on Java 17), otherwise
+     * a fixed pool of HTTP_WORKER_THREADS.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            ExecutorService executor = (ExecutorService) factory.invoke(null);
+            logger.info("Serving requests on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            logger.info("Virtual threads unavailable; serving requests on "
+                + DatabaseConfig.HTTP_WORKER_THREADS + " platform threads");
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(DatabaseConfig.HTTP_WORKER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "http-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DatabaseConfig.HTTP_PORT;
+        
+        DatabaseManager.initializeDatabase();
+        BankingServer server = new BankingServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            DatabaseManager.shutdown();
+        }, "banking-server-shutdown"));
+        server.start();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+package server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Streaming JSON writer, so large reports go out row by row instead of being
+ * built in memory. Money is written as a decimal string so no amount ever
+ * passes through a double; dates as ISO-8601 strings.
+ */
+final class JsonWriter {
+    private final Writer out;
+    // One entry per open object or array: true until its first element is written
+    private final Deque<Boolean> first = new ArrayDeque<>();
+    private boolean afterName;
+    
+    JsonWriter(Writer out) {
+        this.out = out;
+    }
+    
+    JsonWriter beginObject() throws IOException {
+        separate();
+        out.write('{');
+        first.push(true);
+        return this;
+    }
+    
+    JsonWriter endObject() throws IOException {
+        first.pop();
+        out.write('}');
+        return this;
+    }
+    
+    JsonWriter beginArray() throws IOException {
+        separate();
+        out.write('[');
+        first.push(true);
+        return this;
+    }
+    
+    JsonWriter endArray() throws IOException {
+        first.pop();
+        out.write(']');
+        return this;
+    }
+    
+    JsonWriter name(String name) throws IOException {
+        separate();
+        string(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+    
+    // Maps, iterables, strings, numbers, booleans, money, dates, enums and null
+    JsonWriter value(Object value) throws IOException {
+        if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                name(String.valueOf(entry.getKey())).value(entry.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof Iterable) {
+            beginArray();
+            for (Object element : (Iterable<?>) value) {
+                value(element);
+            }
+            return endArray();
+        }
+        
+        separate();
+        if (value == null) {
+            out.write("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.write(value.toString());
+        } else if (value instanceof Enum) {
+            string(((Enum<?>) value).name());
+        } else {
+            // Money and dates included: their toString is the wire format
+            string(value.toString());
+        }
+        return this;
+    }
+    
+    JsonWriter property(String name, Object value) throws IOException {
+        return name(name).value(value);
+    }
+    
+    void flush() throws IOException {
+        out.flush();
+    }
+    
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (!first.isEmpty()) {
+            if (first.peek()) {
+                first.pop();
+                first.push(false);
+            } else {
+                out.write(',');
+            }
+        }
+    }
+    
+    private void string(String text) throws IOException {
+        out.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': out.write("\\\""); break;
+                case '\\': out.write("\\\\"); break;
+                case '\n': out.write("\\n"); break;
+                case '\r': out.write("\\r"); break;
+                case '\t': out.write("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package services;
+
+import dao.AccountDAO;
+import database.DatabaseConfig;
+import models.Account;
+import models.AccountStatus;
+import models.CurrentAccount;
+import models.Money;
+import models.SavingsAccount;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Process-wide read-through cache of accounts, shared by every BankingService
+ * so a posting made through one service is visible to reads through another.
+ *
+ * Services report committed changes (balanceChanged, statusChanged,
+ * accountOpened) after their transaction commits, so a read that starts after
+ * the write returns has the new value. Writers without the account's
+ * AccountLockManager stripe, such as batch jobs, may commit a newer balance
+ * between a stripe holder's commit and its report, so a balance is only
+ * cached if nothing touched the account's cache stripe since the writer took
+ * its stamp (writeStamp) before writing; otherwise the account is dropped.
+ * Writers without the stripe invalidate the account instead of reporting a
+ * balance. Changes made outside this process are picked up when the entry's
+ * TTL runs out. Callers always receive their own
+ * copy of an account; cached instances are never handed out.
+ */
+public class AccountCache {
+    private static final AccountCache INSTANCE = new AccountCache(
+        DatabaseConfig.ACCOUNT_CACHE_MAX_SIZE, DatabaseConfig.ACCOUNT_CACHE_TTL);
+    
+    private final AccountDAO accountDAO = new AccountDAO();
+    private final LruCache<String, Account> accounts;
+    // Account numbers per customer; the accounts themselves come from the cache above
+    private final LruCache<Integer, List<String>> customerAccounts;
+    
+    private AccountCache(int maxSize, long ttlMillis) {
+        this.accounts = new LruCache<>(maxSize, ttlMillis);
+        this.customerAccounts = new LruCache<>(Math.max(1, maxSize / 4), ttlMillis);
+    }
+    
+    public static AccountCache getInstance() {
+        return INSTANCE;
+    }
+    
+    public Optional<Account> get(String accountNumber) throws SQLException {
+        Account account = accounts.get(accountNumber,
+            key -> accountDAO.getAccountByNumber(key).orElse(null));
+        return Optional.ofNullable(account).map(AccountCache::copyOf);
+    }
+    
+    public List<Account> getByCustomer(int customerId) throws SQLException {
+        List<String> numbers = customerAccounts.getIfPresent(customerId);
+        if (numbers == null) {
+            return loadCustomer(customerId);
+        }
+        
+        List<Account> result = new ArrayList<>(numbers.size());
+        for (String accountNumber : numbers) {
+            get(accountNumber).ifPresent(result::add);
+        }
+        return result;
+    }
+    
+    private List<Account> loadCustomer(int customerId) throws SQLException {
+        long stamp = accounts.writeStamp();
+        long listStamp = customerAccounts.writeStamp();
+        List<Account> loaded = accountDAO.getAccountsByCustomerId(customerId);
+        
+        List<String> numbers = new ArrayList<>(loaded.size());
+        for (Account account : loaded) {
+            numbers.add(account.getAccountNumber());
+            accounts.putIfUnwritten(account.getAccountNumber(), copyOf(account), stamp);
+        }
+        customerAccounts.putIfUnwritten(customerId, List.copyOf(numbers), listStamp);
+        return loaded;
+    }
+    
+    // Taken before the transaction that changes the balance, and handed back to balanceChanged
+    public long writeStamp(String accountNumber) {
+        return accounts.writeStamp(accountNumber);
+    }
+    
+    public Map<String, Long> writeStamps(Collection<String> accountNumbers) {
+        Map<String, Long> stamps = new HashMap<>();
+        for (String accountNumber : accountNumbers) {
+            stamps.put(accountNumber, accounts.writeStamp(accountNumber));
+        }
+        return stamps;
+    }
+    
+    public void balanceChanged(String accountNumber, Money newBalance, long stamp) {
+        balancesChanged(Map.of(accountNumber, newBalance), Map.of(accountNumber, stamp));
+    }
+    
+    public void balancesChanged(Map<String, Money> newBalances, Map<String, Long> stamps) {
+        Map<String, UnaryOperator<Account>> changes = new HashMap<>();
+        newBalances.forEach((accountNumber, newBalance) -> changes.put(accountNumber, cached -> {
+            Account updated = copyOf(cached);
+            updated.setBalance(newBalance);
+            return updated;
+        }));
+        accounts.updateIfUnwritten(changes, stamps);
+    }
+    
+    public void statusChanged(String accountNumber, AccountStatus status) {
+        accounts.update(accountNumber, cached -> {
+            Account updated = copyOf(cached);
+            updated.setStatus(status);
+            return updated;
+        });
+    }
+    
+    // The customer's account list changed; the next read reloads it
+    public void accountOpened(int customerId) {
+        customerAccounts.invalidate(customerId);
+    }
+    
+    public void invalidate(String accountNumber) {
+        accounts.invalidate(accountNumber);
+    }
+    
+    public void clear() {
+        accounts.clear();
+        customerAccounts.clear();
+    }
+    
+    public CacheStats getStats() {
+        return accounts.getStats();
+    }
+    
+    private static Account copyOf(Account account) {
+        Account copy = "SAVINGS".equals(account.getAccountType()) ? new SavingsAccount() : new CurrentAccount();
+        copy.setAccountNumber(account.getAccountNumber());
+        copy.setAccountHolderName(account.getAccountHolderName());
+        copy.setBalance(account.getBalance());
+        copy.setCustomerId(account.getCustomerId());
+        copy.setStatus(account.getStatus());
+        copy.setCreatedDate(account.getCreatedDate());
+        return copy;
+    }
+}
\ No newline at end of file
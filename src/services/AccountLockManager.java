@@ -0,0 +1,137 @@
+package services;
+
+import database.DatabaseConfig;
+
+import java.sql.SQLTimeoutException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process locks keyed by account number, shared by every BankingService in
+ * the JVM. Postings on the same account queue here instead of piling up on
+ * MySQL row locks. Account numbers hash onto a fixed set of lock stripes; a
+ * multi-account request acquires its stripes in ascending index order so two
+ * callers can never hold them in opposite order.
+ *
+ * <pre>
+ * AccountLockManager.Locked locked = lockManager.lock(fromAccount, toAccount);
+ * try (locked) {
+ *     ...
+ * }
+ * </pre>
+ */
+public class AccountLockManager {
+    private static final AccountLockManager INSTANCE = new AccountLockManager(
+        DatabaseConfig.ACCOUNT_LOCK_STRIPES, DatabaseConfig.ACCOUNT_LOCK_TIMEOUT);
+    
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    
+    // Live statistics
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    
+    AccountLockManager(int stripeCount, long timeoutMillis) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    public static AccountLockManager getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Locks every given account, waiting at most the configured timeout in total.
+     * Nothing stays locked if the timeout expires.
+     */
+    public Locked lock(String... accountNumbers) throws SQLTimeoutException {
+        int[] indexes = stripeIndexes(accountNumbers);
+        long waitStart = System.nanoTime();
+        long deadline = waitStart + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock()) {
+                    contended.increment();
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !lock.tryLock(remaining, TimeUnit.NANOSECONDS)) {
+                        timeouts.increment();
+                        throw new SQLTimeoutException("Timed out after " + timeoutMillis
+                            + "ms waiting for account lock: " + String.join(", ", accountNumbers));
+                    }
+                }
+                acquired++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTimeoutException("Interrupted while waiting for account lock", e);
+        } finally {
+            if (acquired < indexes.length) {
+                unlock(indexes, acquired);
+            }
+        }
+        
+        long waited = System.nanoTime() - waitStart;
+        acquisitions.increment();
+        totalWaitNanos.add(waited);
+        maxWaitNanos.accumulate(waited);
+        return new Locked(indexes);
+    }
+    
+    private int[] stripeIndexes(String... accountNumbers) {
+        int[] indexes = new int[accountNumbers.length];
+        for (int i = 0; i < accountNumbers.length; i++) {
+            int h = accountNumbers[i].hashCode();
+            indexes[i] = (h ^ (h >>> 16)) & (stripes.length - 1);
+        }
+        // Ascending order, each stripe once: the same account twice or two accounts sharing a stripe lock it once
+        return Arrays.stream(indexes).distinct().sorted().toArray();
+    }
+    
+    private void unlock(int[] indexes, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+    
+    public LockStats getStats() {
+        long count = acquisitions.sum();
+        return new LockStats(
+            count,
+            contended.sum(),
+            timeouts.sum(),
+            count == 0 ? 0 : totalWaitNanos.sum() / count / 1000,
+            maxWaitNanos.get() / 1000);
+    }
+    
+    /**
+     * Handle for a set of held stripes. Must be closed by the thread that acquired it.
+     */
+    public final class Locked implements AutoCloseable {
+        private final int[] indexes;
+        private boolean released;
+        
+        private Locked(int[] indexes) {
+            this.indexes = indexes;
+        }
+        
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                unlock(indexes, indexes.length);
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,6 +1,7 @@
 package services;
 
 import dao.UserDAO;
+import models.Permission;
 import models.User;
 import models.UserRole;
 import exceptions.AuthenticationException;
@@ -10,22 +11,32 @@ import java.util.Optional;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
+/**
+ * Signs users in and out. Every sign-in opens its own Session in the shared
+ * SessionManager, so one process can serve any number of users.
+ *
+ * An instance also remembers the session it last signed in through login(),
+ * for GUI frames that each serve a single user; authenticate() leaves it
+ * untouched and is safe to share between threads.
+ */
 public class AuthenticationService {
     private static final Logger logger = Logger.getLogger(AuthenticationService.class.getName());
     private final UserDAO userDAO;
-    private User currentUser;
+    private final SessionManager sessionManager = SessionManager.getInstance();
+    private Session currentSession;
     
     public AuthenticationService() {
         this.userDAO = new UserDAO();
     }
     
-    public User login(String username, String password) throws AuthenticationException {
+    // Checks the credentials and opens a new session
+    public Session authenticate(String username, String password) throws AuthenticationException {
         try {
             Optional<User> userOpt = userDAO.authenticate(username, password);
             if (userOpt.isPresent()) {
-                currentUser = userOpt.get();
-                logger.info("User logged in successfully: " + username + " (" + currentUser.getRole() + ")");
-                return currentUser;
+                Session session = sessionManager.create(userOpt.get());
+                logger.info("User logged in successfully: " + username + " (" + session.getRole() + ")");
+                return session;
             } else {
                 throw new AuthenticationException("Invalid credentials");
             }
@@ -35,27 +46,37 @@ public class AuthenticationService {
         }
     }
     
+    public User login(String username, String password) throws AuthenticationException {
+        currentSession = authenticate(username, password);
+        return currentSession.getUser();
+    }
+    
     public void logout() {
-        if (currentUser != null) {
-            logger.info("User logged out: " + currentUser.getUsername());
-            currentUser = null;
+        if (currentSession != null) {
+            sessionManager.invalidate(currentSession.getToken());
+            logger.info("User logged out: " + currentSession.getUser().getUsername());
+            currentSession = null;
         }
     }
     
+    public Session getCurrentSession() {
+        return currentSession;
+    }
+    
     public User getCurrentUser() {
-        return currentUser;
+        return currentSession == null ? null : currentSession.getUser();
     }
     
     public boolean isLoggedIn() {
-        return currentUser != null;
+        return currentSession != null;
     }
     
     public boolean isManager() {
-        return currentUser != null && currentUser.getRole() == UserRole.BANK_MANAGER;
+        return currentSession != null && currentSession.getRole() == UserRole.BANK_MANAGER;
     }
     
     public boolean isCustomer() {
-        return currentUser != null && currentUser.getRole() == UserRole.CUSTOMER;
+        return currentSession != null && currentSession.getRole() == UserRole.CUSTOMER;
     }
     
     public boolean registerCustomer(String username, String password, String fullName, String email) {
@@ -71,6 +92,7 @@ public class AuthenticationService {
             boolean created = userDAO.createUser(newUser);
             
             if (created) {
+                DashboardAggregates.getInstance().recordCustomerRegistered();
                 logger.info("New customer registered successfully: " + username);
             }
             return created;
@@ -82,6 +104,7 @@ public class AuthenticationService {
     }
     
     public boolean changePassword(String oldPassword, String newPassword) {
+        User currentUser = getCurrentUser();
         if (currentUser == null) {
             return false;
         }
@@ -106,27 +129,7 @@ public class AuthenticationService {
         }
     }
     
-    public boolean hasPermission(String action) {
-        if (currentUser == null) {
-            return false;
-        }
-        
-        // Define permissions based on roles
-        switch (currentUser.getRole()) {
-            case BANK_MANAGER:
-                return true; // Managers have all permissions
-                
-            case CUSTOMER:
-                // Customers can only perform certain actions
-                return action.equals("VIEW_OWN_ACCOUNTS") ||
-                       action.equals("VIEW_OWN_TRANSACTIONS") ||
-                       action.equals("DEPOSIT") ||
-                       action.equals("WITHDRAW") ||
-                       action.equals("TRANSFER") ||
-                       action.equals("CHANGE_PASSWORD");
-                       
-            default:
-                return false;
-        }
+    public boolean hasPermission(Permission permission) {
+        return currentSession != null && currentSession.hasPermission(permission);
     }
 }
\ No newline at end of file
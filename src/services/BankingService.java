@@ -1,14 +1,32 @@
 package services;
 
 import dao.AccountDAO;
+import dao.AccountTotals;
+import dao.AccountSummary;
+import dao.ChangeLogDAO;
+import dao.CustomerSummary;
+import dao.ReportDAO;
+import dao.PostingResult;
 import dao.TransactionDAO;
+import dao.Page;
+import dao.PageCursor;
+import dao.RowCursor;
+import dao.TransactionQuery;
+import dao.TransactionTotals;
 import models.*;
 import exceptions.InsufficientFundsException;
 import exceptions.AccountNotFoundException;
+import exceptions.BatchConflictException;
+import database.UnitOfWork;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.logging.Logger;
 import java.util.logging.Level;
@@ -17,13 +35,34 @@ public class BankingService {
     private static final Logger logger = Logger.getLogger(BankingService.class.getName());
     private final AccountDAO accountDAO;
     private final TransactionDAO transactionDAO;
+    private final ReportDAO reportDAO;
+    private final ChangeLogDAO changeLogDAO;
+    private final TransferEngine transferEngine;
+    private final AccountLockManager lockManager;
+    private final InterestEngine interestEngine;
+    private final BulkPostingService bulkPostingService;
+    private final PostingPipeline postingPipeline;
+    private final DashboardAggregates aggregates;
+    private final AccountCache accountCache;
+    private final TransactionHistoryCache historyCache;
     
     public BankingService() {
         this.accountDAO = new AccountDAO();
         this.transactionDAO = new TransactionDAO();
+        this.reportDAO = new ReportDAO();
+        this.changeLogDAO = new ChangeLogDAO();
+        this.transferEngine = new TransferEngine(accountDAO, transactionDAO);
+        this.lockManager = AccountLockManager.getInstance();
+        this.interestEngine = new InterestEngine(accountDAO, transactionDAO);
+        this.bulkPostingService = new BulkPostingService(accountDAO, transactionDAO);
+        this.postingPipeline = PostingPipeline.getInstance();
+        this.aggregates = DashboardAggregates.getInstance();
+        this.accountCache = AccountCache.getInstance();
+        this.historyCache = TransactionHistoryCache.getInstance();
+        aggregates.start();
     }
     
-    public String createAccount(String accountHolderName, String accountType, double initialBalance, int customerId) 
+    public String createAccount(String accountHolderName, String accountType, Money initialBalance, int customerId) 
             throws SQLException {
         try {
             String accountNumber = accountDAO.generateAccountNumber();
@@ -38,18 +77,32 @@ public class BankingService {
             }
             
             // Check minimum balance requirement
-            if (initialBalance < account.getMinimumBalance()) {
+            if (initialBalance.isLessThan(account.getMinimumBalance())) {
                 throw new InsufficientFundsException(
                     "Initial balance must be at least ₹" + account.getMinimumBalance());
             }
             
-            boolean created = accountDAO.createAccount(account);
-            if (created && initialBalance > 0) {
-                // Create initial deposit transaction
-                Transaction initialDeposit = new Transaction(
-                    accountNumber, "INITIAL_DEPOSIT", initialBalance, initialBalance, 
-                    "Account opening deposit");
-                transactionDAO.saveTransaction(initialDeposit);
+            try (UnitOfWork uow = UnitOfWork.begin()) {
+                boolean created = accountDAO.createAccount(uow.getConnection(), account);
+                if (created && initialBalance.isPositive()) {
+                    // Create initial deposit transaction
+                    Transaction initialDeposit = new Transaction(
+                        accountNumber, "INITIAL_DEPOSIT", initialBalance, initialBalance,
+                        "Account opening deposit");
+                    transactionDAO.saveTransaction(uow.getConnection(), initialDeposit);
+                }
+                if (created) {
+                    // The customer's account list changed as well as the account itself
+                    changeLogDAO.record(uow.getConnection(), ChangeLogDAO.ACCOUNT, accountNumber);
+                    changeLogDAO.record(uow.getConnection(), ChangeLogDAO.USER, String.valueOf(customerId));
+                }
+                uow.commit();
+                
+                accountCache.accountOpened(customerId);
+                aggregates.recordAccountOpened(account.getAccountType(), initialBalance);
+                if (created && initialBalance.isPositive()) {
+                    aggregates.recordTransaction("INITIAL_DEPOSIT");
+                }
             }
             
             logger.info("Account created successfully: " + accountNumber);
@@ -61,30 +114,31 @@ public class BankingService {
         }
     }
     
-    public void deposit(String accountNumber, double amount, String description) 
+    // Returns the new balance
+    public Money deposit(String accountNumber, Money amount, String description) 
             throws AccountNotFoundException, InsufficientFundsException, SQLException {
-        try {
-            Optional<Account> accountOpt = accountDAO.getAccountByNumber(accountNumber);
-            if (!accountOpt.isPresent()) {
-                throw new AccountNotFoundException("Account not found: " + accountNumber);
-            }
-            
-            Account account = accountOpt.get();
-            if (account.getStatus() != AccountStatus.ACTIVE) {
-                throw new InsufficientFundsException("Account is not active");
-            }
-            
-            account.deposit(amount);
-            
-            // Update database
-            accountDAO.updateBalance(accountNumber, account.getBalance());
+        if (!amount.isPositive()) {
+            throw new InsufficientFundsException("Deposit amount must be positive");
+        }
+        
+        AccountLockManager.Locked locked = lockManager.lock(accountNumber);
+        try (locked;
+             UnitOfWork uow = UnitOfWork.begin()) {
+            Connection conn = uow.getConnection();
+            long stamp = accountCache.writeStamp(accountNumber);
+            PostingResult posting = accountDAO.postBalanceChange(conn, accountNumber, amount);
+            Money newBalance = posting.balanceOrThrow(accountNumber, "Account");
             
-            // Save transaction
             Transaction transaction = new Transaction(
-                accountNumber, "DEPOSIT", amount, account.getBalance(), description);
-            transactionDAO.saveTransaction(transaction);
+                accountNumber, "DEPOSIT", amount, newBalance, description);
+            transactionDAO.saveTransaction(conn, transaction);
+            changeLogDAO.record(conn, ChangeLogDAO.ACCOUNT, accountNumber);
+            uow.commit();
+            accountCache.balanceChanged(accountNumber, newBalance, stamp);
+            aggregates.recordPosting(posting.getAccountType(), "DEPOSIT", amount);
             
             logger.info("Deposit successful: ₹" + amount + " to account " + accountNumber);
+            return newBalance;
             
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error processing deposit", e);
@@ -92,30 +146,31 @@ public class BankingService {
         }
     }
     
-    public void withdraw(String accountNumber, double amount, String description) 
+    // Returns the new balance
+    public Money withdraw(String accountNumber, Money amount, String description) 
             throws AccountNotFoundException, InsufficientFundsException, SQLException {
-        try {
-            Optional<Account> accountOpt = accountDAO.getAccountByNumber(accountNumber);
-            if (!accountOpt.isPresent()) {
-                throw new AccountNotFoundException("Account not found: " + accountNumber);
-            }
-            
-            Account account = accountOpt.get();
-            if (account.getStatus() != AccountStatus.ACTIVE) {
-                throw new InsufficientFundsException("Account is not active");
-            }
-            
-            account.withdraw(amount);
-            
-            // Update database
-            accountDAO.updateBalance(accountNumber, account.getBalance());
+        if (!amount.isPositive()) {
+            throw new InsufficientFundsException("Withdrawal amount must be positive");
+        }
+        
+        AccountLockManager.Locked locked = lockManager.lock(accountNumber);
+        try (locked;
+             UnitOfWork uow = UnitOfWork.begin()) {
+            Connection conn = uow.getConnection();
+            long stamp = accountCache.writeStamp(accountNumber);
+            PostingResult posting = accountDAO.postBalanceChange(conn, accountNumber, amount.negate());
+            Money newBalance = posting.balanceOrThrow(accountNumber, "Account");
             
-            // Save transaction
             Transaction transaction = new Transaction(
-                accountNumber, "WITHDRAWAL", amount, account.getBalance(), description);
-            transactionDAO.saveTransaction(transaction);
+                accountNumber, "WITHDRAWAL", amount, newBalance, description);
+            transactionDAO.saveTransaction(conn, transaction);
+            changeLogDAO.record(conn, ChangeLogDAO.ACCOUNT, accountNumber);
+            uow.commit();
+            accountCache.balanceChanged(accountNumber, newBalance, stamp);
+            aggregates.recordPosting(posting.getAccountType(), "WITHDRAWAL", amount.negate());
             
             logger.info("Withdrawal successful: ₹" + amount + " from account " + accountNumber);
+            return newBalance;
             
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error processing withdrawal", e);
@@ -123,58 +178,18 @@ public class BankingService {
         }
     }
     
-    public void transfer(String fromAccountNumber, String toAccountNumber, double amount, String description) 
+    // Returns the reference number shared by both legs
+    public String transfer(String fromAccountNumber, String toAccountNumber, Money amount, String description) 
             throws AccountNotFoundException, InsufficientFundsException, SQLException {
-        try {
-            Optional<Account> fromAccountOpt = accountDAO.getAccountByNumber(fromAccountNumber);
-            Optional<Account> toAccountOpt = accountDAO.getAccountByNumber(toAccountNumber);
-            
-            if (!fromAccountOpt.isPresent()) {
-                throw new AccountNotFoundException("Source account not found: " + fromAccountNumber);
-            }
-            if (!toAccountOpt.isPresent()) {
-                throw new AccountNotFoundException("Destination account not found: " + toAccountNumber);
-            }
-            
-            Account fromAccount = fromAccountOpt.get();
-            Account toAccount = toAccountOpt.get();
-            
-            if (fromAccount.getStatus() != AccountStatus.ACTIVE) {
-                throw new InsufficientFundsException("Source account is not active");
-            }
-            if (toAccount.getStatus() != AccountStatus.ACTIVE) {
-                throw new InsufficientFundsException("Destination account is not active");
-            }
-            
-            // Perform transfer
-            synchronized (fromAccount) {
-                synchronized (toAccount) {
-                    fromAccount.withdraw(amount);
-                    toAccount.deposit(amount);
-                    
-                    // Update balances in database
-                    accountDAO.updateBalance(fromAccountNumber, fromAccount.getBalance());
-                    accountDAO.updateBalance(toAccountNumber, toAccount.getBalance());
-                    
-                    // Save transactions
-                    String transferRef = "TRF" + System.currentTimeMillis();
-                    
-                    Transaction debitTransaction = new Transaction(
-                        fromAccountNumber, "TRANSFER_OUT", amount, fromAccount.getBalance(), 
-                        "Transfer to " + toAccountNumber + " - " + description);
-                    debitTransaction.setReferenceNumber(transferRef);
-                    
-                    Transaction creditTransaction = new Transaction(
-                        toAccountNumber, "TRANSFER_IN", amount, toAccount.getBalance(), 
-                        "Transfer from " + fromAccountNumber + " - " + description);
-                    creditTransaction.setReferenceNumber(transferRef);
-                    
-                    transactionDAO.saveTransaction(debitTransaction);
-                    transactionDAO.saveTransaction(creditTransaction);
-                }
-            }
-            
+        if (!amount.isPositive()) {
+            throw new InsufficientFundsException("Transfer amount must be positive");
+        }
+        
+        AccountLockManager.Locked locked = lockManager.lock(fromAccountNumber, toAccountNumber);
+        try (locked) {
+            String reference = transferEngine.transfer(fromAccountNumber, toAccountNumber, amount, description);
             logger.info("Transfer successful: ₹" + amount + " from " + fromAccountNumber + " to " + toAccountNumber);
+            return reference;
             
         } catch (SQLException e) {
             logger.log(Level.SEVERE, "Error processing transfer", e);
@@ -182,18 +197,77 @@ public class BankingService {
         }
     }
     
+    /**
+     * Queues a deposit on the PostingPipeline behind earlier postings to the
+     * same account, to be group committed with other deposits and withdrawals.
+     * The future carries what deposit returns or throws; the *Async methods
+     * below work the same way.
+     */
+    public CompletableFuture<Money> depositAsync(String accountNumber, Money amount, String description) {
+        if (!amount.isPositive()) {
+            return CompletableFuture.failedFuture(new InsufficientFundsException("Deposit amount must be positive"));
+        }
+        return postingPipeline.post(accountNumber, "DEPOSIT", amount, amount, description);
+    }
+    
+    public CompletableFuture<Money> withdrawAsync(String accountNumber, Money amount, String description) {
+        if (!amount.isPositive()) {
+            return CompletableFuture.failedFuture(new InsufficientFundsException("Withdrawal amount must be positive"));
+        }
+        return postingPipeline.post(accountNumber, "WITHDRAWAL", amount, amount.negate(), description);
+    }
+    
+    /**
+     * Queued behind, and ahead of, postings on both accounts, so a withdrawal
+     * from the destination submitted after the transfer sees its credit.
+     */
+    public CompletableFuture<String> transferAsync(String fromAccountNumber, String toAccountNumber, Money amount,
+                                                   String description) {
+        return postingPipeline.submit(fromAccountNumber, toAccountNumber,
+            () -> transfer(fromAccountNumber, toAccountNumber, amount, description));
+    }
+    
+    public PostingStats getPostingStats() {
+        return postingPipeline.getStats();
+    }
+    
+    public TransferStats getTransferStats() {
+        return transferEngine.getStats();
+    }
+    
+    public LockStats getLockStats() {
+        return lockManager.getStats();
+    }
+    
+    public CacheStats getAccountCacheStats() {
+        return accountCache.getStats();
+    }
+    
+    public CacheStats getHistoryCacheStats() {
+        return historyCache.getStats();
+    }
+    
+    // Served from in-memory counters; no database access
+    public DashboardStats getDashboardStats() {
+        return aggregates.getStats();
+    }
+    
     public Optional<Account> getAccount(String accountNumber) throws SQLException {
-        return accountDAO.getAccountByNumber(accountNumber);
+        return accountCache.get(accountNumber);
     }
     
     public List<Account> getAccountsByCustomer(int customerId) throws SQLException {
-        return accountDAO.getAccountsByCustomerId(customerId);
+        return accountCache.getByCustomer(customerId);
     }
     
     public List<Account> getAllAccounts() throws SQLException {
         return accountDAO.getAllAccounts();
     }
     
+    public Page<Account> getAccountsPage(PageCursor after, int pageSize, boolean oldestFirst) throws SQLException {
+        return accountDAO.getAccountsPage(after, pageSize, oldestFirst);
+    }
+    
     public List<Transaction> getTransactionHistory(String accountNumber) throws SQLException {
         return transactionDAO.getTransactionsByAccount(accountNumber);
     }
@@ -202,11 +276,57 @@ public class BankingService {
         return transactionDAO.getTransactionsByCustomer(customerId);
     }
     
+    // Newest HISTORY_WINDOW_SIZE transactions; only rows added since the last call are read
+    public List<Transaction> getRecentTransactions(String accountNumber) throws SQLException {
+        return historyCache.getRecent(accountNumber);
+    }
+    
+    public List<Transaction> getRecentCustomerTransactions(int customerId) throws SQLException {
+        return historyCache.getRecent(accountCache.getByCustomer(customerId).stream()
+            .map(Account::getAccountNumber)
+            .collect(Collectors.toList()));
+    }
+    
     public List<Transaction> getAllTransactions() throws SQLException {
         return transactionDAO.getAllTransactions();
     }
     
-    public List<Transaction> getHighValueTransactions(double threshold) throws SQLException {
+    public Page<Transaction> getTransactionsPage(PageCursor after, int pageSize) throws SQLException {
+        return transactionDAO.getTransactionsPage(after, pageSize);
+    }
+    
+    // Filtering, sorting and paging all run in SQL
+    public Page<Transaction> findTransactions(TransactionQuery query) throws SQLException {
+        return transactionDAO.findTransactions(query);
+    }
+    
+    public RowCursor<Transaction> openTransactionCursor(TransactionQuery query) throws SQLException {
+        return transactionDAO.openTransactionCursor(query);
+    }
+    
+    // Streams transactions in [from, to), oldest first; either bound may be null. Close the cursor.
+    public RowCursor<Transaction> openTransactionCursor(LocalDateTime from, LocalDateTime to) throws SQLException {
+        return transactionDAO.openTransactionCursor(from, to);
+    }
+    
+    // Report rows come from one grouped query each; close the cursor
+    public RowCursor<CustomerSummary> openCustomerSummaryCursor() throws SQLException {
+        return reportDAO.openCustomerSummaryCursor();
+    }
+    
+    public RowCursor<AccountSummary> openAccountSummaryCursor() throws SQLException {
+        return reportDAO.openAccountSummaryCursor();
+    }
+    
+    public List<AccountTotals> getAccountTotals() throws SQLException {
+        return accountDAO.getAccountTotals();
+    }
+    
+    public List<TransactionTotals> getTransactionTotals() throws SQLException {
+        return transactionDAO.getTransactionTotalsByType();
+    }
+    
+    public List<Transaction> getHighValueTransactions(Money threshold) throws SQLException {
         return transactionDAO.getHighValueTransactions(threshold);
     }
     
@@ -217,10 +337,16 @@ public class BankingService {
                 .collect(Collectors.toList());
     }
     
-    public double calculateTotalBalance(List<Account> accounts) {
-        return accounts.stream()
-                .mapToDouble(Account::getBalance)
-                .sum();
+    public Money calculateTotalBalance(List<Account> accounts) {
+        return Money.ofPaise(accounts.stream()
+                .mapToLong(account -> account.getBalance().getPaise())
+                .reduce(0, Math::addExact));
+    }
+    
+    public Money calculateTotalAmount(List<Transaction> transactions) {
+        return Money.ofPaise(transactions.stream()
+                .mapToLong(transaction -> transaction.getAmount().getPaise())
+                .reduce(0, Math::addExact));
     }
     
     public List<Account> getActiveAccounts(List<Account> accounts) {
@@ -229,37 +355,47 @@ public class BankingService {
                 .collect(Collectors.toList());
     }
     
-    public void creditInterest() throws SQLException {
-        List<Account> accounts = getAllAccounts();
-        
-        for (Account account : accounts) {
-            if (account.getStatus() == AccountStatus.ACTIVE) {
-                double interest = account.calculateInterest();
-                if (interest > 0) {
-                    try {
-                        deposit(account.getAccountNumber(), interest, "Monthly interest credit");
-                        logger.info("Interest credited: ₹" + interest + " to account " + account.getAccountNumber());
-                    } catch (AccountNotFoundException | InsufficientFundsException e) {
-                        logger.log(Level.WARNING, "Failed to credit interest to account: " + account.getAccountNumber(), e);
-                    }
-                }
-            }
-        }
+    // Chunked, checkpointed run; postings on other accounts continue while it works
+    public InterestRunResult creditInterest() throws SQLException {
+        return interestEngine.run();
+    }
+    
+    // Salary and payout files; posting the same file again resumes or is a no-op
+    public BulkPostingResult importPayoutFile(Path file) throws IOException, SQLException {
+        return bulkPostingService.importFile(file);
+    }
+    
+    public BulkPostingResult postBulkCredits(String batchId, List<BulkCredit> credits)
+            throws BatchConflictException, SQLException {
+        return bulkPostingService.postCredits(batchId, credits);
     }
     
     public boolean closeAccount(String accountNumber) throws SQLException, AccountNotFoundException {
-        Optional<Account> accountOpt = accountDAO.getAccountByNumber(accountNumber);
-        if (!accountOpt.isPresent()) {
-            throw new AccountNotFoundException("Account not found: " + accountNumber);
-        }
-        
-        Account account = accountOpt.get();
-        account.setStatus(AccountStatus.CLOSED);
-        
-        boolean updated = accountDAO.updateAccount(account);
-        if (updated) {
-            logger.info("Account closed successfully: " + accountNumber);
+        AccountLockManager.Locked locked = lockManager.lock(accountNumber);
+        try (locked;
+             UnitOfWork uow = UnitOfWork.begin()) {
+            // Row locked, so the status read here is still the one the UPDATE replaces
+            Account account = accountDAO.lockAccountsByNumber(uow.getConnection(), List.of(accountNumber)).get(accountNumber);
+            if (account == null) {
+                throw new AccountNotFoundException("Account not found: " + accountNumber);
+            }
+            boolean wasActive = account.getStatus() == AccountStatus.ACTIVE;
+            
+            boolean updated = accountDAO.closeAccount(uow.getConnection(), accountNumber);
+            if (updated) {
+                changeLogDAO.record(uow.getConnection(), ChangeLogDAO.ACCOUNT, accountNumber);
+            }
+            uow.commit();
+            if (updated) {
+                accountCache.statusChanged(accountNumber, AccountStatus.CLOSED);
+            }
+            if (updated && wasActive) {
+                aggregates.recordAccountClosed();
+            }
+            if (updated) {
+                logger.info("Account closed successfully: " + accountNumber);
+            }
+            return updated;
         }
-        return updated;
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package services;
+
+import models.Money;
+
+/**
+ * One credit of a bulk posting, e.g. a line of a payroll file.
+ */
+public class BulkCredit {
+    private final long lineNumber;
+    private final String accountNumber;
+    private final Money amount;
+    private final String description;
+    
+    public BulkCredit(long lineNumber, String accountNumber, Money amount, String description) {
+        this.lineNumber = lineNumber;
+        this.accountNumber = accountNumber;
+        this.amount = amount;
+        this.description = description;
+    }
+    
+    // Getters
+    public long getLineNumber() { return lineNumber; }
+    public String getAccountNumber() { return accountNumber; }
+    public Money getAmount() { return amount; }
+    public String getDescription() { return description; }
+    
+    @Override
+    public String toString() {
+        return "BulkCredit{line=" + lineNumber + ", account=" + accountNumber + ", amount=" + amount + "}";
+    }
+}
\ No newline at end of file
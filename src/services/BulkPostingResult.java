@@ -0,0 +1,64 @@
+package services;
+
+import models.Money;
+
+import java.util.List;
+
+/**
+ * Outcome of one bulk posting run. Counts cover this run only; a resumed run
+ * does not repeat lines an earlier run already committed. Rejects holds at
+ * most BULK_MAX_REPORTED_REJECTS entries; getRejected() counts all of them.
+ */
+public class BulkPostingResult {
+    private final String jobName;
+    private final String runId;
+    private final boolean resumed;
+    private final boolean alreadyCompleted;
+    private final long linesProcessed;
+    private final long credited;
+    private final long rejected;
+    private final Money totalCredited;
+    private final int chunks;
+    private final long elapsedMillis;
+    private final List<BulkReject> rejects;
+    
+    public BulkPostingResult(String jobName, String runId, boolean resumed, boolean alreadyCompleted,
+                             long linesProcessed, long credited, long rejected, Money totalCredited,
+                             int chunks, long elapsedMillis, List<BulkReject> rejects) {
+        this.jobName = jobName;
+        this.runId = runId;
+        this.resumed = resumed;
+        this.alreadyCompleted = alreadyCompleted;
+        this.linesProcessed = linesProcessed;
+        this.credited = credited;
+        this.rejected = rejected;
+        this.totalCredited = totalCredited;
+        this.chunks = chunks;
+        this.elapsedMillis = elapsedMillis;
+        this.rejects = List.copyOf(rejects);
+    }
+    
+    // Getters
+    public String getJobName() { return jobName; }
+    public String getRunId() { return runId; }
+    public boolean isResumed() { return resumed; }
+    public boolean isAlreadyCompleted() { return alreadyCompleted; }
+    public long getLinesProcessed() { return linesProcessed; }
+    public long getCredited() { return credited; }
+    public long getRejected() { return rejected; }
+    public Money getTotalCredited() { return totalCredited; }
+    public int getChunks() { return chunks; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public List<BulkReject> getRejects() { return rejects; }
+    
+    public double getCreditsPerMinute() {
+        return elapsedMillis == 0 ? 0 : credited * 60000.0 / elapsedMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("BulkPosting{job=%s, run=%s, resumed=%b, alreadyCompleted=%b, lines=%d, credited=%d, rejected=%d, total=%s, chunks=%d, elapsed=%dms}",
+                             jobName, runId, resumed, alreadyCompleted, linesProcessed, credited, rejected,
+                             totalCredited, chunks, elapsedMillis);
+    }
+}
\ No newline at end of file
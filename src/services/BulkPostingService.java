@@ -0,0 +1,437 @@
+package services;
+
+import dao.AccountDAO;
+import dao.ChangeLogDAO;
+import dao.JobCheckpoint;
+import dao.JobCheckpointDAO;
+import dao.TransactionDAO;
+import database.DatabaseConfig;
+import database.DatabaseManager;
+import database.UnitOfWork;
+import exceptions.BatchConflictException;
+import models.Account;
+import models.AccountStatus;
+import models.Money;
+import models.Transaction;
+import utils.IdGenerator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Posts salary and payout credits in bulk instead of one deposit at a time.
+ *
+ * Credits are posted in chunks of BULK_CHUNK_SIZE, each one transaction:
+ * lock every account the chunk names in a single query, reject lines whose
+ * account is missing or not active, batch the balance updates and BULK_CREDIT
+ * ledger rows, and move the job checkpoint past the chunk's last line. A bad
+ * line is reported and skipped; it never aborts the batch. A run that dies
+ * part way is resumed from the checkpoint by posting the same file or batch
+ * id again, and a batch that has completed is not posted twice. Ledger rows
+ * carry the run id as their reference number.
+ *
+ * Batches handed over directly store a hash of their credits with the
+ * checkpoint; reusing a batch id for different credits is refused rather
+ * than resumed.
+ *
+ * File imports are keyed by a hash of the file's contents and write their
+ * rejects, as CSV, to the file name plus ".rejects".
+ */
+public class BulkPostingService {
+    private static final Logger logger = Logger.getLogger(BulkPostingService.class.getName());
+    
+    private static final String JOB_PREFIX = "BULK_";
+    private static final String RUN_PREFIX = "BLK";
+    private static final String TRANSACTION_TYPE = "BULK_CREDIT";
+    private static final int MAX_BATCH_ID_LENGTH = 64;
+    
+    // One line of input: a credit, or the reason it could not be parsed
+    private static final class Line {
+        private final long number;
+        private final BulkCredit credit;
+        private final String error;
+        
+        private Line(long number, BulkCredit credit, String error) {
+            this.number = number;
+            this.credit = credit;
+            this.error = error;
+        }
+    }
+    
+    @FunctionalInterface
+    private interface LineSource {
+        // Next line carrying a credit or an error, or null at the end
+        Line next() throws IOException;
+    }
+    
+    private final AccountDAO accountDAO;
+    private final TransactionDAO transactionDAO;
+    private final JobCheckpointDAO checkpointDAO;
+    private final ChangeLogDAO changeLogDAO = new ChangeLogDAO();
+    private final int chunkSize;
+    private final DashboardAggregates aggregates = DashboardAggregates.getInstance();
+    private final AccountCache accountCache = AccountCache.getInstance();
+    
+    public BulkPostingService(AccountDAO accountDAO, TransactionDAO transactionDAO) {
+        this(accountDAO, transactionDAO, new JobCheckpointDAO(), DatabaseConfig.BULK_CHUNK_SIZE);
+    }
+    
+    BulkPostingService(AccountDAO accountDAO, TransactionDAO transactionDAO, JobCheckpointDAO checkpointDAO, int chunkSize) {
+        this.accountDAO = accountDAO;
+        this.transactionDAO = transactionDAO;
+        this.checkpointDAO = checkpointDAO;
+        this.chunkSize = chunkSize;
+    }
+    
+    public BulkPostingResult importFile(Path file) throws IOException, SQLException {
+        return importFile(file, PayoutFileFormat.forFile(file));
+    }
+    
+    /**
+     * Posts every credit in the file, resuming an unfinished import of the
+     * same contents. Rejected lines go to the rejects file.
+     */
+    public BulkPostingResult importFile(Path file, PayoutFileFormat format) throws IOException, SQLException {
+        String jobName = JOB_PREFIX + contentHash(file);
+        Path rejectsFile = file.resolveSibling(file.getFileName() + ".rejects");
+        
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long[] lineNumber = {0};
+            LineSource source = () -> {
+                String text;
+                while ((text = reader.readLine()) != null) {
+                    long number = ++lineNumber[0];
+                    if (number == 1 && text.startsWith("\uFEFF")) {
+                        text = text.substring(1);
+                    }
+                    try {
+                        BulkCredit credit = format.parse(number, text);
+                        if (credit != null) {
+                            return new Line(number, credit, null);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        return new Line(number, null, e.getMessage());
+                    }
+                }
+                return null;
+            };
+            try {
+                return run(jobName, "", source, rejectsFile);
+            } catch (BatchConflictException e) {
+                // The job name is the content hash, so the contents always match
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+    
+    /**
+     * Posts credits handed over directly, e.g. through the API, in
+     * line-number order. Posting the same batch id again resumes an
+     * unfinished batch and does nothing once it has completed; posting it
+     * with different credits throws BatchConflictException. Line numbers
+     * must strictly increase, since a resume skips every line up to the
+     * checkpoint.
+     */
+    public BulkPostingResult postCredits(String batchId, List<BulkCredit> credits)
+            throws BatchConflictException, SQLException {
+        if (batchId == null || batchId.isEmpty() || batchId.length() > MAX_BATCH_ID_LENGTH
+                || !batchId.matches("[A-Za-z0-9_.-]+")) {
+            throw new IllegalArgumentException("Batch id must be 1-" + MAX_BATCH_ID_LENGTH
+                + " letters, digits, '.', '_' or '-'");
+        }
+        long previousLine = 0;
+        for (BulkCredit credit : credits) {
+            if (credit.getLineNumber() <= previousLine) {
+                throw new IllegalArgumentException(previousLine == 0
+                    ? "Line numbers must be positive: " + credit.getLineNumber()
+                    : "Line numbers must strictly increase: line " + credit.getLineNumber() + " follows line " + previousLine);
+            }
+            previousLine = credit.getLineNumber();
+        }
+        Iterator<BulkCredit> iterator = credits.iterator();
+        LineSource source = () -> {
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            BulkCredit credit = iterator.next();
+            return new Line(credit.getLineNumber(), credit, null);
+        };
+        try {
+            return run(JOB_PREFIX + batchId, creditsHash(credits), source, null);
+        } catch (IOException e) {
+            // Only the rejects file is written, and there is none here
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // An empty inputHash skips the check
+    private BulkPostingResult run(String jobName, String inputHash, LineSource source, Path rejectsFile)
+            throws BatchConflictException, IOException, SQLException {
+        long start = System.currentTimeMillis();
+        String runId;
+        boolean resumed;
+        long lastLine;
+        
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            Optional<JobCheckpoint> checkpoint = checkpointDAO.findForUpdate(uow.getConnection(), jobName);
+            // Checkpoints written before hashes were stored have none to compare
+            if (checkpoint.isPresent() && !inputHash.isEmpty() && !checkpoint.get().getInputHash().isEmpty()
+                    && !inputHash.equals(checkpoint.get().getInputHash())) {
+                throw new BatchConflictException("Batch " + jobName.substring(JOB_PREFIX.length())
+                    + " was already posted with different credits");
+            }
+            if (checkpoint.isPresent() && !checkpoint.get().isRunning()) {
+                logger.info("Bulk posting " + jobName + " already completed as run " + checkpoint.get().getRunId());
+                return new BulkPostingResult(jobName, checkpoint.get().getRunId(), false, true, 0, 0, 0,
+                    Money.ZERO, 0, System.currentTimeMillis() - start, List.of());
+            }
+            resumed = checkpoint.isPresent();
+            if (resumed) {
+                runId = checkpoint.get().getRunId();
+                lastLine = lastLine(checkpoint.get());
+                logger.info("Resuming bulk posting " + runId + " after line " + lastLine
+                    + " (" + checkpoint.get().getProcessedCount() + " lines already processed)");
+            } else {
+                runId = IdGenerator.format(RUN_PREFIX, IdGenerator.nextId());
+                lastLine = 0;
+                checkpointDAO.start(uow.getConnection(), jobName, runId, inputHash);
+                logger.info("Starting bulk posting " + runId + " for " + jobName);
+            }
+            uow.commit();
+        }
+        
+        if (rejectsFile != null && !resumed) {
+            Files.deleteIfExists(rejectsFile);
+        }
+        
+        long linesProcessed = 0;
+        long credited = 0;
+        long rejected = 0;
+        long totalPaise = 0;
+        int chunks = 0;
+        List<BulkReject> reported = new ArrayList<>();
+        
+        List<BulkCredit> credits = new ArrayList<>(chunkSize);
+        List<BulkReject> parseRejects = new ArrayList<>();
+        long chunkLastLine = lastLine;
+        boolean done = false;
+        while (!done) {
+            Line line = source.next();
+            done = line == null;
+            if (line != null) {
+                if (line.number <= lastLine) {
+                    continue; // committed by an earlier run
+                }
+                if (line.error != null) {
+                    parseRejects.add(new BulkReject(line.number, null, line.error));
+                } else {
+                    credits.add(line.credit);
+                }
+                chunkLastLine = line.number;
+                if (credits.size() + parseRejects.size() < chunkSize) {
+                    continue;
+                }
+            }
+            
+            List<Transaction> ledger = new ArrayList<>(credits.size());
+            List<BulkReject> rejects = new ArrayList<>(parseRejects);
+            postChunk(jobName, runId, lastLine, chunkLastLine, done, credits, ledger, rejects);
+            rejects.sort((a, b) -> Long.compare(a.getLineNumber(), b.getLineNumber()));
+            if (rejectsFile != null && !rejects.isEmpty()) {
+                writeRejects(rejectsFile, rejects);
+            }
+            
+            linesProcessed += credits.size() + parseRejects.size();
+            credited += ledger.size();
+            rejected += rejects.size();
+            for (Transaction credit : ledger) {
+                totalPaise = Math.addExact(totalPaise, credit.getAmount().getPaise());
+            }
+            for (BulkReject reject : rejects) {
+                if (reported.size() < DatabaseConfig.BULK_MAX_REPORTED_REJECTS) {
+                    reported.add(reject);
+                }
+            }
+            chunks++;
+            lastLine = chunkLastLine;
+            credits.clear();
+            parseRejects.clear();
+        }
+        
+        BulkPostingResult result = new BulkPostingResult(jobName, runId, resumed, false, linesProcessed, credited,
+            rejected, Money.ofPaise(totalPaise), chunks, System.currentTimeMillis() - start, reported);
+        logger.info("Bulk posting finished: " + result);
+        return result;
+    }
+    
+    // Commits one chunk, retrying on deadlocks and lock-wait timeouts; fills ledger and adds to rejects
+    private void postChunk(String jobName, String runId, long expectedLastLine, long chunkLastLine, boolean last,
+                           List<BulkCredit> credits, List<Transaction> ledger, List<BulkReject> rejects)
+            throws SQLException {
+        int parseRejects = rejects.size();
+        long lines = credits.size() + parseRejects;
+        Map<String, Account> accounts;
+        for (int attempt = 1; ; attempt++) {
+            ledger.clear();
+            rejects.subList(parseRejects, rejects.size()).clear();
+            try {
+                accounts = attemptChunk(jobName, runId, expectedLastLine, chunkLastLine, lines, last, credits, ledger, rejects);
+                break;
+            } catch (SQLException e) {
+                if (!DatabaseManager.isRetryable(e) || attempt > DatabaseConfig.BULK_CHUNK_RETRIES) {
+                    throw e;
+                }
+                logger.log(Level.FINE, "Retrying bulk posting chunk ending at line " + chunkLastLine
+                    + " (attempt " + attempt + ")", e);
+            }
+        }
+        
+        Set<String> credited = new HashSet<>();
+        Map<String, long[]> creditedByType = new HashMap<>(); // account type -> {count, paise}
+        for (Transaction credit : ledger) {
+            credited.add(credit.getAccountNumber());
+            long[] typeTotals = creditedByType.computeIfAbsent(
+                accounts.get(credit.getAccountNumber()).getAccountType(), type -> new long[2]);
+            typeTotals[0]++;
+            typeTotals[1] += credit.getAmount().getPaise();
+        }
+        // Without the accounts' stripes a newer posting may already be cached, so drop rather than overwrite
+        credited.forEach(accountCache::invalidate);
+        creditedByType.forEach((type, typeTotals) -> aggregates.recordPostings(
+            type, TRANSACTION_TYPE, typeTotals[0], Money.ofPaise(typeTotals[1])));
+    }
+    
+    private Map<String, Account> attemptChunk(String jobName, String runId, long expectedLastLine, long chunkLastLine,
+                                              long lines, boolean last, List<BulkCredit> credits, List<Transaction> ledger,
+                                              List<BulkReject> rejects) throws SQLException {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            Connection conn = uow.getConnection();
+            
+            // Re-read under lock: another runner may have advanced or finished this batch
+            Optional<JobCheckpoint> checkpoint = checkpointDAO.findForUpdate(conn, jobName);
+            if (checkpoint.isEmpty() || !checkpoint.get().isRunning() || !runId.equals(checkpoint.get().getRunId())
+                    || lastLine(checkpoint.get()) != expectedLastLine) {
+                throw new IllegalStateException("Bulk posting " + jobName + " was advanced by another run");
+            }
+            
+            Set<String> accountNumbers = new LinkedHashSet<>();
+            for (BulkCredit credit : credits) {
+                accountNumbers.add(credit.getAccountNumber());
+            }
+            Map<String, Account> accounts = accountDAO.lockAccountsByNumber(conn, accountNumbers);
+            
+            Map<String, Money> balances = new HashMap<>();
+            for (BulkCredit credit : credits) {
+                Account account = accounts.get(credit.getAccountNumber());
+                if (account == null) {
+                    rejects.add(new BulkReject(credit.getLineNumber(), credit.getAccountNumber(), "Account not found"));
+                } else if (account.getStatus() != AccountStatus.ACTIVE) {
+                    rejects.add(new BulkReject(credit.getLineNumber(), credit.getAccountNumber(),
+                        "Account is " + account.getStatus()));
+                } else if (!credit.getAmount().isPositive()) {
+                    rejects.add(new BulkReject(credit.getLineNumber(), credit.getAccountNumber(), "Amount must be positive"));
+                } else {
+                    Money balance = balances.getOrDefault(account.getAccountNumber(), account.getBalance())
+                        .plus(credit.getAmount());
+                    balances.put(account.getAccountNumber(), balance);
+                    Transaction transaction = new Transaction(account.getAccountNumber(), TRANSACTION_TYPE,
+                        credit.getAmount(), balance, credit.getDescription());
+                    transaction.setReferenceNumber(runId);
+                    ledger.add(transaction);
+                }
+            }
+            
+            accountDAO.creditBalances(conn, ledger);
+            transactionDAO.saveTransactions(conn, ledger);
+            changeLogDAO.record(conn, ChangeLogDAO.ACCOUNT, balances.keySet());
+            checkpointDAO.advance(conn, jobName, String.valueOf(chunkLastLine), lines);
+            if (last) {
+                checkpointDAO.complete(conn, jobName);
+            }
+            uow.commit();
+            return accounts;
+        }
+    }
+    
+    // Last line committed; a new run starts with an empty key
+    private static long lastLine(JobCheckpoint checkpoint) {
+        String lastKey = checkpoint.getLastKey();
+        return lastKey == null || lastKey.isEmpty() ? 0 : Long.parseLong(lastKey);
+    }
+    
+    private static void writeRejects(Path rejectsFile, List<BulkReject> rejects) throws IOException {
+        boolean header = !Files.exists(rejectsFile);
+        try (Writer out = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (header) {
+                ExportService.writeRow(out, "line", "account_number", "reason");
+            }
+            for (BulkReject reject : rejects) {
+                ExportService.writeRow(out, String.valueOf(reject.getLineNumber()),
+                    reject.getAccountNumber() == null ? "" : reject.getAccountNumber(), reject.getReason());
+            }
+        }
+    }
+    
+    private static String contentHash(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[65536];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest()).substring(0, 32);
+    }
+    
+    private static String creditsHash(List<BulkCredit> credits) {
+        MessageDigest digest = sha256();
+        for (BulkCredit credit : credits) {
+            hashField(digest, String.valueOf(credit.getLineNumber()));
+            hashField(digest, credit.getAccountNumber());
+            hashField(digest, String.valueOf(credit.getAmount().getPaise()));
+            hashField(digest, String.valueOf(credit.getDescription()));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+    
+    // Length-prefixed, so field boundaries cannot shift between batches
+    private static void hashField(MessageDigest digest, String field) {
+        byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
\ No newline at end of file
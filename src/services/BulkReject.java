@@ -0,0 +1,27 @@
+package services;
+
+/**
+ * A line of a bulk posting that was not posted, and why. The account number
+ * is null when the line could not be parsed.
+ */
+public class BulkReject {
+    private final long lineNumber;
+    private final String accountNumber;
+    private final String reason;
+    
+    public BulkReject(long lineNumber, String accountNumber, String reason) {
+        this.lineNumber = lineNumber;
+        this.accountNumber = accountNumber;
+        this.reason = reason;
+    }
+    
+    // Getters
+    public long getLineNumber() { return lineNumber; }
+    public String getAccountNumber() { return accountNumber; }
+    public String getReason() { return reason; }
+    
+    @Override
+    public String toString() {
+        return "Line " + lineNumber + (accountNumber == null ? "" : " (" + accountNumber + ")") + ": " + reason;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package services;
+
+/**
+ * Immutable snapshot of a cache's effectiveness.
+ */
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+    private final long discardedLoads;
+    private final int size;
+    private final int maxSize;
+    
+    public CacheStats(long hits, long misses, long evictions, long expirations, long discardedLoads,
+                      int size, int maxSize) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.discardedLoads = discardedLoads;
+        this.size = size;
+        this.maxSize = maxSize;
+    }
+    
+    // Getters
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getExpirations() { return expirations; }
+    public long getDiscardedLoads() { return discardedLoads; }
+    public int getSize() { return size; }
+    public int getMaxSize() { return maxSize; }
+    
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Cache{size=%d/%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, expirations=%d, discardedLoads=%d}",
+                             size, maxSize, hits, misses, getHitRate() * 100, evictions, expirations, discardedLoads);
+    }
+}
\ No newline at end of file
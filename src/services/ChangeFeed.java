@@ -0,0 +1,206 @@
+package services;
+
+import dao.ChangeLogDAO;
+import dao.ChangeLogEntry;
+import database.DatabaseConfig;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Tells subscribers which accounts and users other writes have changed, so
+ * open screens reload only when and what they need to.
+ *
+ * One poller per process serves every subscriber. An idle poll is a single
+ * primary-key range read past the highest change id seen, which returns no
+ * rows. Change ids are allocated at insert but become visible at commit, so
+ * an id skipped below the highest one seen may still appear: skipped ids are
+ * re-read until they do or CHANGE_FEED_GAP_TIMEOUT passes, after which the
+ * write is taken to have rolled back. Each change also evicts the matching
+ * AccountCache entries, so a subscriber that reloads sees writes made by
+ * other processes.
+ */
+public class ChangeFeed {
+    private static final Logger logger = Logger.getLogger(ChangeFeed.class.getName());
+    
+    private static final ChangeFeed INSTANCE = new ChangeFeed();
+    
+    private final ChangeLogDAO changeLogDAO = new ChangeLogDAO();
+    private final AccountCache accountCache = AccountCache.getInstance();
+    private final List<Consumer<ChangeSet>> subscribers = new CopyOnWriteArrayList<>();
+    
+    // Poller thread only
+    private long highestSeen = -1; // -1 until the first poll reads the current head
+    private final TreeMap<Long, Long> gaps = new TreeMap<>(); // skipped change id -> when first skipped
+    private long lastPurgeMillis;
+    
+    private final AtomicBoolean started = new AtomicBoolean();
+    private ScheduledExecutorService poller;
+    
+    private ChangeFeed() {
+    }
+    
+    public static ChangeFeed getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Calls the listener on the poller thread after every poll that found
+     * changes. Changes committed before the first poll are not replayed;
+     * subscribers load their current state themselves.
+     */
+    public void subscribe(Consumer<ChangeSet> listener) {
+        subscribers.add(listener);
+        start();
+    }
+    
+    public void unsubscribe(Consumer<ChangeSet> listener) {
+        subscribers.remove(listener);
+    }
+    
+    private void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "change-feed-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::pollQuietly,
+            0, DatabaseConfig.CHANGE_FEED_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+    
+    public void shutdown() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+    
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (SQLException | RuntimeException e) {
+            logger.log(Level.WARNING, "Change feed poll failed; retrying on the next interval", e);
+        }
+    }
+    
+    private void poll() throws SQLException {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (highestSeen < 0) {
+            highestSeen = changeLogDAO.getLatestChangeId();
+            lastPurgeMillis = now;
+            return;
+        }
+        
+        Changes changes = new Changes();
+        for (ChangeLogEntry entry : changeLogDAO.findByIds(gaps.keySet())) {
+            gaps.remove(entry.getChangeId());
+            changes.add(entry);
+        }
+        List<ChangeLogEntry> entries;
+        do {
+            entries = changeLogDAO.findAfter(highestSeen, DatabaseConfig.CHANGE_FEED_BATCH_SIZE);
+            for (ChangeLogEntry entry : entries) {
+                // Only the ids just below a new row are tracked; a wider jump is an id range nobody used
+                for (long skipped = Math.max(highestSeen + 1, entry.getChangeId() - DatabaseConfig.CHANGE_FEED_BATCH_SIZE);
+                        skipped < entry.getChangeId(); skipped++) {
+                    gaps.put(skipped, now);
+                }
+                highestSeen = entry.getChangeId();
+                changes.add(entry);
+            }
+        } while (entries.size() == DatabaseConfig.CHANGE_FEED_BATCH_SIZE);
+        
+        gaps.values().removeIf(firstSkipped -> now - firstSkipped > DatabaseConfig.CHANGE_FEED_GAP_TIMEOUT);
+        while (gaps.size() > DatabaseConfig.CHANGE_FEED_BATCH_SIZE) {
+            gaps.pollFirstEntry();
+        }
+        
+        if (!changes.isEmpty()) {
+            publish(changes);
+        }
+        if (now - lastPurgeMillis > DatabaseConfig.CHANGE_LOG_PURGE_INTERVAL) {
+            lastPurgeMillis = now;
+            purge();
+        }
+    }
+    
+    private void publish(Changes changes) {
+        if (changes.allAccounts || changes.allUsers) {
+            accountCache.clear();
+        } else {
+            changes.accounts.forEach(accountCache::invalidate);
+            // A user change may be a newly opened account; drop the cached account list
+            changes.users.forEach(accountCache::accountOpened);
+        }
+        
+        ChangeSet changeSet = new ChangeSet(highestSeen, changes.accounts, changes.allAccounts,
+            changes.users, changes.allUsers);
+        logger.fine("Publishing " + changeSet);
+        for (Consumer<ChangeSet> listener : subscribers) {
+            try {
+                listener.accept(changeSet);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Change feed subscriber failed", e);
+            }
+        }
+    }
+    
+    // Every process purges; the deletes are idempotent
+    private void purge() throws SQLException {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(DatabaseConfig.CHANGE_LOG_RETENTION * 1_000_000);
+        int deleted;
+        long total = 0;
+        do {
+            deleted = changeLogDAO.purgeBefore(cutoff, DatabaseConfig.CHANGE_LOG_PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == DatabaseConfig.CHANGE_LOG_PURGE_BATCH_SIZE);
+        if (total > 0) {
+            logger.info("Purged " + total + " change log rows older than " + cutoff);
+        }
+    }
+    
+    // Entries of one poll, folded by entity type
+    private static final class Changes {
+        private final Set<String> accounts = new HashSet<>();
+        private final Set<Integer> users = new HashSet<>();
+        private boolean allAccounts;
+        private boolean allUsers;
+        
+        void add(ChangeLogEntry entry) {
+            if (ChangeLogDAO.ACCOUNT.equals(entry.getEntityType())) {
+                if (entry.isAllKeys()) {
+                    allAccounts = true;
+                } else {
+                    accounts.add(entry.getEntityKey());
+                }
+            } else if (ChangeLogDAO.USER.equals(entry.getEntityType())) {
+                if (entry.isAllKeys()) {
+                    allUsers = true;
+                } else {
+                    users.add(Integer.parseInt(entry.getEntityKey()));
+                }
+            }
+        }
+        
+        boolean isEmpty() {
+            return accounts.isEmpty() && users.isEmpty() && !allAccounts && !allUsers;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package services;
+
+import java.util.Set;
+
+/**
+ * Accounts and users changed since the previous notification of the change
+ * feed. A type flagged as all-changed was touched by a write too large to
+ * list key by key.
+ */
+public class ChangeSet {
+    private final long version;
+    private final Set<String> accounts;
+    private final boolean allAccounts;
+    private final Set<Integer> users;
+    private final boolean allUsers;
+    
+    public ChangeSet(long version, Set<String> accounts, boolean allAccounts, Set<Integer> users, boolean allUsers) {
+        this.version = version;
+        this.accounts = Set.copyOf(accounts);
+        this.allAccounts = allAccounts;
+        this.users = Set.copyOf(users);
+        this.allUsers = allUsers;
+    }
+    
+    // Getters
+    public long getVersion() { return version; }
+    public Set<String> getAccounts() { return accounts; }
+    public Set<Integer> getUsers() { return users; }
+    
+    public boolean hasAccountChanges() {
+        return allAccounts || !accounts.isEmpty();
+    }
+    
+    public boolean hasUserChanges() {
+        return allUsers || !users.isEmpty();
+    }
+    
+    public boolean affectsAccount(String accountNumber) {
+        return allAccounts || accounts.contains(accountNumber);
+    }
+    
+    public boolean affectsUser(int userId) {
+        return allUsers || users.contains(userId);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ChangeSet{version=%d, accounts=%s, users=%s}", version,
+                             allAccounts ? "all" : accounts.size(), allUsers ? "all" : users.size());
+    }
+}
\ No newline at end of file
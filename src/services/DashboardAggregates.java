@@ -0,0 +1,220 @@
+package services;
+
+import dao.AccountDAO;
+import dao.AccountTotals;
+import dao.TransactionDAO;
+import dao.UserDAO;
+import database.DatabaseConfig;
+import models.AccountStatus;
+import models.Money;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * In-memory dashboard counters kept current by the services on every
+ * committed posting and account change, so reads never touch the database.
+ *
+ * Writes made outside this process can leave the counters off; a background
+ * reconciliation re-reads the true totals with grouped queries every
+ * DASHBOARD_RECONCILE_INTERVAL. It snapshots the counters before the queries
+ * and adds (true total - snapshot) to each, so postings recorded while the
+ * queries run are kept rather than overwritten. A posting that committed
+ * before the queries but was recorded after the snapshot is counted twice;
+ * that window is the gap between a commit and its record call, and the next
+ * pass corrects it.
+ */
+public class DashboardAggregates {
+    private static final Logger logger = Logger.getLogger(DashboardAggregates.class.getName());
+    
+    private static final DashboardAggregates INSTANCE = new DashboardAggregates();
+    
+    private final AccountDAO accountDAO = new AccountDAO();
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+    private final UserDAO userDAO = new UserDAO();
+    
+    // Live counters
+    private final LongAdder totalAccounts = new LongAdder();
+    private final LongAdder activeAccounts = new LongAdder();
+    private final LongAdder totalCustomers = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> balancePaiseByType = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> transactionsByType = new ConcurrentHashMap<>();
+    
+    // Reconciliation statistics
+    private final LongAdder reconciliations = new LongAdder();
+    private final LongAdder driftCorrections = new LongAdder();
+    private volatile long lastReconciledMillis;
+    
+    private final AtomicBoolean started = new AtomicBoolean();
+    private ScheduledExecutorService reconciler;
+    
+    private DashboardAggregates() {
+    }
+    
+    public static DashboardAggregates getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Starts the background reconciliation; the first pass runs immediately
+     * and seeds the counters. Safe to call more than once.
+     */
+    public void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "dashboard-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileQuietly,
+            0, DatabaseConfig.DASHBOARD_RECONCILE_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+    
+    public void shutdown() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+    
+    public void recordAccountOpened(String accountType, Money openingBalance) {
+        totalAccounts.increment();
+        activeAccounts.increment();
+        counter(balancePaiseByType, accountType).add(openingBalance.getPaise());
+    }
+    
+    public void recordAccountClosed() {
+        activeAccounts.decrement();
+    }
+    
+    public void recordCustomerRegistered() {
+        totalCustomers.increment();
+    }
+    
+    public void recordTransaction(String transactionType) {
+        counter(transactionsByType, transactionType).increment();
+    }
+    
+    public void recordPosting(String accountType, String transactionType, Money balanceChange) {
+        recordPostings(accountType, transactionType, 1, balanceChange);
+    }
+    
+    // count ledger rows of one type that together moved the balance of accounts of one type by totalChange
+    public void recordPostings(String accountType, String transactionType, long count, Money totalChange) {
+        counter(balancePaiseByType, accountType).add(totalChange.getPaise());
+        counter(transactionsByType, transactionType).add(count);
+    }
+    
+    public DashboardStats getStats() {
+        Map<String, Money> balances = new TreeMap<>();
+        balancePaiseByType.forEach((type, paise) -> balances.put(type, Money.ofPaise(paise.sum())));
+        Map<String, Long> transactions = new TreeMap<>();
+        transactionsByType.forEach((type, count) -> transactions.put(type, count.sum()));
+        
+        return new DashboardStats(
+            totalAccounts.sum(),
+            activeAccounts.sum(),
+            totalCustomers.sum(),
+            balances,
+            transactions,
+            lastReconciledMillis,
+            reconciliations.sum(),
+            driftCorrections.sum());
+    }
+    
+    /**
+     * Reads the true totals from the database and corrects every counter
+     * that has drifted from them.
+     */
+    public void reconcile() throws SQLException {
+        // Taken before the queries: anything recorded after this is kept by the correction
+        long accountsBefore = totalAccounts.sum();
+        long activeBefore = activeAccounts.sum();
+        long customersBefore = totalCustomers.sum();
+        Map<String, Long> balancesBefore = snapshot(balancePaiseByType);
+        Map<String, Long> transactionsBefore = snapshot(transactionsByType);
+        
+        long accounts = 0;
+        long active = 0;
+        Map<String, Long> balances = new HashMap<>();
+        for (AccountTotals totals : accountDAO.getAccountTotals()) {
+            accounts += totals.getCount();
+            if (totals.getStatus() == AccountStatus.ACTIVE) {
+                active += totals.getCount();
+            }
+            balances.merge(totals.getAccountType(), totals.getBalance().getPaise(), Math::addExact);
+        }
+        long customers = userDAO.countCustomers();
+        Map<String, Long> transactions = transactionDAO.getTransactionCountsByType();
+        
+        int corrected = correct(totalAccounts, accounts, accountsBefore, "total accounts")
+                      + correct(activeAccounts, active, activeBefore, "active accounts")
+                      + correct(totalCustomers, customers, customersBefore, "customers")
+                      + correctAll(balancePaiseByType, balances, balancesBefore, "balance paise")
+                      + correctAll(transactionsByType, transactions, transactionsBefore, "transactions");
+        
+        driftCorrections.add(corrected);
+        reconciliations.increment();
+        lastReconciledMillis = System.currentTimeMillis();
+    }
+    
+    private void reconcileQuietly() {
+        try {
+            reconcile();
+        } catch (SQLException | RuntimeException e) {
+            logger.log(Level.WARNING, "Dashboard reconciliation failed; counters left as they were", e);
+        }
+    }
+    
+    private int correctAll(ConcurrentHashMap<String, LongAdder> counters, Map<String, Long> actual,
+                           Map<String, Long> before, String label) {
+        int corrected = 0;
+        for (Map.Entry<String, Long> entry : actual.entrySet()) {
+            corrected += correct(counter(counters, entry.getKey()), entry.getValue(),
+                before.getOrDefault(entry.getKey(), 0L), label + "[" + entry.getKey() + "]");
+        }
+        // Keys that vanished from the database (e.g. every row of a type deleted)
+        for (Map.Entry<String, Long> entry : before.entrySet()) {
+            if (!actual.containsKey(entry.getKey())) {
+                corrected += correct(counter(counters, entry.getKey()), 0, entry.getValue(),
+                    label + "[" + entry.getKey() + "]");
+            }
+        }
+        return corrected;
+    }
+    
+    private int correct(LongAdder counter, long actual, long before, String label) {
+        long drift = actual - before;
+        if (drift == 0) {
+            return 0;
+        }
+        counter.add(drift);
+        // The first pass seeds from zero, so only later corrections are worth reporting
+        if (reconciliations.sum() > 0) {
+            logger.info("Dashboard " + label + " corrected by " + drift);
+            return 1;
+        }
+        return 0;
+    }
+    
+    private static Map<String, Long> snapshot(ConcurrentHashMap<String, LongAdder> counters) {
+        Map<String, Long> values = new HashMap<>();
+        counters.forEach((key, counter) -> values.put(key, counter.sum()));
+        return values;
+    }
+    
+    private static LongAdder counter(ConcurrentHashMap<String, LongAdder> counters, String key) {
+        return counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package services;
+
+import models.Money;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the dashboard aggregates.
+ */
+public class DashboardStats {
+    private final long totalAccounts;
+    private final long activeAccounts;
+    private final long totalCustomers;
+    private final Map<String, Money> balanceByAccountType;
+    private final Map<String, Long> transactionsByType;
+    private final long lastReconciledMillis;
+    private final long reconciliations;
+    private final long driftCorrections;
+    
+    public DashboardStats(long totalAccounts, long activeAccounts, long totalCustomers,
+                          Map<String, Money> balanceByAccountType, Map<String, Long> transactionsByType,
+                          long lastReconciledMillis, long reconciliations, long driftCorrections) {
+        this.totalAccounts = totalAccounts;
+        this.activeAccounts = activeAccounts;
+        this.totalCustomers = totalCustomers;
+        this.balanceByAccountType = Collections.unmodifiableMap(balanceByAccountType);
+        this.transactionsByType = Collections.unmodifiableMap(transactionsByType);
+        this.lastReconciledMillis = lastReconciledMillis;
+        this.reconciliations = reconciliations;
+        this.driftCorrections = driftCorrections;
+    }
+    
+    // Getters
+    public long getTotalAccounts() { return totalAccounts; }
+    public long getActiveAccounts() { return activeAccounts; }
+    public long getTotalCustomers() { return totalCustomers; }
+    public Map<String, Money> getBalanceByAccountType() { return balanceByAccountType; }
+    public Map<String, Long> getTransactionsByType() { return transactionsByType; }
+    public long getLastReconciledMillis() { return lastReconciledMillis; }
+    public long getReconciliations() { return reconciliations; }
+    public long getDriftCorrections() { return driftCorrections; }
+    
+    public Money getTotalBalance() {
+        Money total = Money.ZERO;
+        for (Money balance : balanceByAccountType.values()) {
+            total = total.plus(balance);
+        }
+        return total;
+    }
+    
+    public long getTotalTransactions() {
+        long total = 0;
+        for (long count : transactionsByType.values()) {
+            total += count;
+        }
+        return total;
+    }
+    
+    public boolean isReconciled() {
+        return reconciliations > 0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Dashboard{accounts=%d, active=%d, customers=%d, balance=%s, transactions=%d, reconciliations=%d, drift=%d}",
+                             totalAccounts, activeAccounts, totalCustomers, getTotalBalance(), getTotalTransactions(),
+                             reconciliations, driftCorrections);
+    }
+}
\ No newline at end of file
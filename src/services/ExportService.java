@@ -0,0 +1,112 @@
+package services;
+
+import dao.AccountDAO;
+import dao.RowCursor;
+import dao.TransactionDAO;
+import models.Account;
+import models.Transaction;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Logger;
+
+/**
+ * CSV exports that stream rows from a RowCursor straight to the writer, so
+ * heap use does not grow with the size of the table being exported.
+ */
+public class ExportService {
+    private static final Logger logger = Logger.getLogger(ExportService.class.getName());
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private final AccountDAO accountDAO;
+    private final TransactionDAO transactionDAO;
+    
+    public ExportService() {
+        this.accountDAO = new AccountDAO();
+        this.transactionDAO = new TransactionDAO();
+    }
+    
+    /**
+     * Writes transactions in [from, to) oldest first; either bound may be null.
+     * Returns the number of rows written.
+     */
+    public long exportTransactions(Writer out, LocalDateTime from, LocalDateTime to) throws SQLException, IOException {
+        out.write("transaction_id,account_number,type,amount,balance_after,timestamp,reference_number,description\n");
+        
+        try (RowCursor<Transaction> cursor = transactionDAO.openTransactionCursor(from, to)) {
+            while (cursor.next()) {
+                Transaction transaction = cursor.get();
+                writeRow(out,
+                    transaction.getTransactionId(),
+                    transaction.getAccountNumber(),
+                    transaction.getType(),
+                    transaction.getAmount().toString(),
+                    transaction.getBalanceAfter().toString(),
+                    format(transaction.getTimestamp()),
+                    transaction.getReferenceNumber(),
+                    transaction.getDescription());
+            }
+            out.flush();
+            logger.info("Exported " + cursor.getRowCount() + " transactions");
+            return cursor.getRowCount();
+        }
+    }
+    
+    public long exportAccounts(Writer out) throws SQLException, IOException {
+        out.write("account_number,account_holder_name,type,balance,customer_id,status,created_date\n");
+        
+        try (RowCursor<Account> cursor = accountDAO.openAccountCursor()) {
+            while (cursor.next()) {
+                Account account = cursor.get();
+                writeRow(out,
+                    account.getAccountNumber(),
+                    account.getAccountHolderName(),
+                    account.getAccountType(),
+                    account.getBalance().toString(),
+                    String.valueOf(account.getCustomerId()),
+                    account.getStatus().name(),
+                    format(account.getCreatedDate()));
+            }
+            out.flush();
+            logger.info("Exported " + cursor.getRowCount() + " accounts");
+            return cursor.getRowCount();
+        }
+    }
+    
+    private static String format(LocalDateTime timestamp) {
+        return timestamp == null ? "" : timestamp.format(TIMESTAMP_FORMAT);
+    }
+    
+    // Also used for the rejects file of BulkPostingService
+    static void writeRow(Writer out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeField(out, fields[i]);
+        }
+        out.write('\n');
+    }
+    
+    // RFC 4180: quote fields containing a delimiter, quote or line break; double embedded quotes
+    private static void writeField(Writer out, String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        out.write(field.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
\ No newline at end of file
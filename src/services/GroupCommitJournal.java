@@ -0,0 +1,150 @@
+package services;
+
+import dao.AccountDAO;
+import dao.ChangeLogDAO;
+import dao.PostingResult;
+import dao.TransactionDAO;
+import database.UnitOfWork;
+import models.Money;
+import models.Transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Commits a batch of single-account postings as one database transaction:
+ * one guarded balance update per posting, every ledger row in one JDBC batch,
+ * the change log in another, then a single commit. The batch shares one log
+ * flush instead of paying one per posting.
+ *
+ * A posting the balance guard rejects changes nothing and fails on its own;
+ * the rest of the batch still commits. If the batch as a whole fails, each
+ * posting is retried in a transaction of its own so one bad row cannot sink
+ * the others. Futures complete only after the transaction holding their
+ * posting has committed.
+ */
+class GroupCommitJournal {
+    private static final Logger logger = Logger.getLogger(GroupCommitJournal.class.getName());
+    
+    /**
+     * A deposit or withdrawal waiting to be committed. Amount is positive;
+     * change is what it does to the balance.
+     */
+    static final class Entry {
+        private final String accountNumber;
+        private final String type;
+        private final Money amount;
+        private final Money change;
+        private final String description;
+        private final CompletableFuture<Money> future = new CompletableFuture<>();
+        
+        Entry(String accountNumber, String type, Money amount, Money change, String description) {
+            this.accountNumber = accountNumber;
+            this.type = type;
+            this.amount = amount;
+            this.change = change;
+            this.description = description;
+        }
+        
+        CompletableFuture<Money> getFuture() {
+            return future;
+        }
+    }
+    
+    private final AccountDAO accountDAO = new AccountDAO();
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+    private final ChangeLogDAO changeLogDAO = new ChangeLogDAO();
+    private final AccountLockManager lockManager = AccountLockManager.getInstance();
+    private final AccountCache accountCache = AccountCache.getInstance();
+    private final DashboardAggregates aggregates = DashboardAggregates.getInstance();
+    
+    /**
+     * Commits the entries in order and completes each future. Returns the
+     * number of commits it took.
+     */
+    int commit(List<Entry> batch) {
+        // Stable sort: rows are locked in ascending account order like lockAccounts, and each account's postings keep their order
+        List<Entry> ordered = new ArrayList<>(batch);
+        ordered.sort(Comparator.comparing(entry -> entry.accountNumber));
+        
+        PostingResult[] results;
+        try {
+            results = post(ordered);
+        } catch (SQLException | RuntimeException e) {
+            // Nothing was committed
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(e);
+                return 0;
+            }
+            logger.log(Level.WARNING, "Group commit of " + batch.size() + " postings failed; committing them one by one", e);
+            int commits = 0;
+            for (Entry entry : batch) {
+                commits += commit(List.of(entry));
+            }
+            return commits;
+        }
+        
+        for (int i = 0; i < ordered.size(); i++) {
+            Entry entry = ordered.get(i);
+            if (results[i].isApplied()) {
+                aggregates.recordPosting(results[i].getAccountType(), entry.type, entry.change);
+            }
+            try {
+                entry.future.complete(results[i].balanceOrThrow(entry.accountNumber, "Account"));
+            } catch (Exception e) {
+                entry.future.completeExceptionally(e);
+            }
+        }
+        return 1;
+    }
+    
+    // Returns once the batch has committed and is cached; throws having committed nothing
+    private PostingResult[] post(List<Entry> ordered) throws SQLException {
+        Set<String> accounts = new LinkedHashSet<>();
+        for (Entry entry : ordered) {
+            accounts.add(entry.accountNumber);
+        }
+        
+        PostingResult[] results = new PostingResult[ordered.size()];
+        AccountLockManager.Locked locked = lockManager.lock(accounts.toArray(new String[0]));
+        try (locked;
+             UnitOfWork uow = UnitOfWork.begin()) {
+            Connection conn = uow.getConnection();
+            Map<String, Long> stamps = accountCache.writeStamps(accounts);
+            List<Transaction> ledger = new ArrayList<>(ordered.size());
+            Set<String> changed = new LinkedHashSet<>();
+            for (int i = 0; i < ordered.size(); i++) {
+                Entry entry = ordered.get(i);
+                results[i] = accountDAO.postBalanceChange(conn, entry.accountNumber, entry.change);
+                if (results[i].isApplied()) {
+                    ledger.add(new Transaction(entry.accountNumber, entry.type, entry.amount,
+                        results[i].getBalance(), entry.description));
+                    changed.add(entry.accountNumber);
+                }
+            }
+            transactionDAO.saveTransactions(conn, ledger);
+            changeLogDAO.record(conn, ChangeLogDAO.ACCOUNT, changed);
+            uow.commit();
+            // Entries are in account order, so the last applied one per account holds its final balance
+            Map<String, Money> balances = new HashMap<>();
+            for (int i = 0; i < ordered.size(); i++) {
+                if (results[i].isApplied()) {
+                    balances.put(ordered.get(i).accountNumber, results[i].getBalance());
+                }
+            }
+            accountCache.balancesChanged(balances, stamps);
+        }
+        logger.fine("Group committed " + ordered.size() + " postings on " + accounts.size() + " accounts");
+        return results;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package services;
+
+import dao.AccountDAO;
+import dao.ChangeLogDAO;
+import dao.JobCheckpoint;
+import dao.JobCheckpointDAO;
+import dao.TransactionDAO;
+import models.Account;
+import models.Money;
+import models.Transaction;
+import database.DatabaseConfig;
+import database.UnitOfWork;
+import utils.IdGenerator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * Credits monthly interest to every active account in chunks.
+ *
+ * Each chunk is one transaction: lock the next INTEREST_CHUNK_SIZE active
+ * accounts in account-number order, compute interest with each account type's
+ * own rate, batch the balance updates and INTEREST_CREDIT ledger rows, and
+ * move the job checkpoint past the chunk. A run that dies part way is resumed
+ * from the checkpoint by the next call, and no account is credited twice in
+ * one run. Ledger rows carry the run id as their reference number.
+ */
+public class InterestEngine {
+    private static final Logger logger = Logger.getLogger(InterestEngine.class.getName());
+    
+    private static final String JOB_NAME = "INTEREST_CREDIT";
+    private static final String RUN_PREFIX = "INT";
+    
+    private final AccountDAO accountDAO;
+    private final TransactionDAO transactionDAO;
+    private final JobCheckpointDAO checkpointDAO;
+    private final ChangeLogDAO changeLogDAO = new ChangeLogDAO();
+    private final int chunkSize;
+    private final DashboardAggregates aggregates = DashboardAggregates.getInstance();
+    private final AccountCache accountCache = AccountCache.getInstance();
+    
+    public InterestEngine(AccountDAO accountDAO, TransactionDAO transactionDAO) {
+        this(accountDAO, transactionDAO, new JobCheckpointDAO(), DatabaseConfig.INTEREST_CHUNK_SIZE);
+    }
+    
+    InterestEngine(AccountDAO accountDAO, TransactionDAO transactionDAO, JobCheckpointDAO checkpointDAO, int chunkSize) {
+        this.accountDAO = accountDAO;
+        this.transactionDAO = transactionDAO;
+        this.checkpointDAO = checkpointDAO;
+        this.chunkSize = chunkSize;
+    }
+    
+    /**
+     * Resumes the unfinished run if there is one, otherwise starts a new run.
+     */
+    public InterestRunResult run() throws SQLException {
+        long start = System.currentTimeMillis();
+        String runId;
+        boolean resumed;
+        
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            Optional<JobCheckpoint> checkpoint = checkpointDAO.findForUpdate(uow.getConnection(), JOB_NAME);
+            resumed = checkpoint.isPresent() && checkpoint.get().isRunning();
+            if (resumed) {
+                runId = checkpoint.get().getRunId();
+                logger.info("Resuming interest run " + runId + " after account '" + checkpoint.get().getLastKey()
+                    + "' (" + checkpoint.get().getProcessedCount() + " accounts already processed)");
+            } else {
+                runId = IdGenerator.format(RUN_PREFIX, IdGenerator.nextId());
+                checkpointDAO.start(uow.getConnection(), JOB_NAME, runId);
+                logger.info("Starting interest run " + runId);
+            }
+            uow.commit();
+        }
+        
+        long scanned = 0;
+        long credited = 0;
+        long totalPaise = 0;
+        int chunks = 0;
+        
+        while (true) {
+            try (UnitOfWork uow = UnitOfWork.begin()) {
+                Connection conn = uow.getConnection();
+                
+                // Re-read under lock: another runner may have advanced or finished this run
+                Optional<JobCheckpoint> checkpoint = checkpointDAO.findForUpdate(conn, JOB_NAME);
+                if (checkpoint.isEmpty() || !checkpoint.get().isRunning()
+                        || !runId.equals(checkpoint.get().getRunId())) {
+                    break;
+                }
+                
+                List<Account> accounts = accountDAO.lockActiveAccountsAfter(conn, checkpoint.get().getLastKey(), chunkSize);
+                if (accounts.isEmpty()) {
+                    checkpointDAO.complete(conn, JOB_NAME);
+                    uow.commit();
+                    break;
+                }
+                
+                List<Transaction> credits = new ArrayList<>(accounts.size());
+                long chunkPaise = 0;
+                Map<String, long[]> creditedByType = new HashMap<>(); // account type -> {count, paise}
+                for (Account account : accounts) {
+                    Money interest = account.calculateInterest();
+                    if (interest.isPositive()) {
+                        Transaction credit = new Transaction(account.getAccountNumber(), "INTEREST_CREDIT",
+                            interest, account.getBalance().plus(interest), "Monthly interest credit");
+                        credit.setReferenceNumber(runId);
+                        credits.add(credit);
+                        chunkPaise = Math.addExact(chunkPaise, interest.getPaise());
+                        long[] typeTotals = creditedByType.computeIfAbsent(account.getAccountType(), type -> new long[2]);
+                        typeTotals[0]++;
+                        typeTotals[1] += interest.getPaise();
+                    }
+                }
+                
+                accountDAO.creditBalances(conn, credits);
+                transactionDAO.saveTransactions(conn, credits);
+                List<String> creditedAccounts = new ArrayList<>(credits.size());
+                for (Transaction credit : credits) {
+                    creditedAccounts.add(credit.getAccountNumber());
+                }
+                changeLogDAO.record(conn, ChangeLogDAO.ACCOUNT, creditedAccounts);
+                checkpointDAO.advance(conn, JOB_NAME, accounts.get(accounts.size() - 1).getAccountNumber(), accounts.size());
+                uow.commit();
+                // No stripe lock is held, so a later deposit may already have cached a newer balance
+                for (Transaction credit : credits) {
+                    accountCache.invalidate(credit.getAccountNumber());
+                }
+                creditedByType.forEach((type, typeTotals) -> aggregates.recordPostings(
+                    type, "INTEREST_CREDIT", typeTotals[0], Money.ofPaise(typeTotals[1])));
+                
+                // Only once committed, so a failed chunk is not reported as credited
+                totalPaise = Math.addExact(totalPaise, chunkPaise);
+                scanned += accounts.size();
+                credited += credits.size();
+                chunks++;
+            }
+        }
+        
+        InterestRunResult result = new InterestRunResult(runId, resumed, scanned, credited,
+            Money.ofPaise(totalPaise), chunks, System.currentTimeMillis() - start);
+        logger.info("Interest run finished: " + result);
+        return result;
+    }
+}
\ No newline at end of file
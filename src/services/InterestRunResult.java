@@ -0,0 +1,42 @@
+package services;
+
+import models.Money;
+
+/**
+ * Outcome of one interest crediting run.
+ */
+public class InterestRunResult {
+    private final String runId;
+    private final boolean resumed;
+    private final long accountsScanned;
+    private final long accountsCredited;
+    private final Money totalInterest;
+    private final int chunks;
+    private final long elapsedMillis;
+    
+    public InterestRunResult(String runId, boolean resumed, long accountsScanned, long accountsCredited,
+                             Money totalInterest, int chunks, long elapsedMillis) {
+        this.runId = runId;
+        this.resumed = resumed;
+        this.accountsScanned = accountsScanned;
+        this.accountsCredited = accountsCredited;
+        this.totalInterest = totalInterest;
+        this.chunks = chunks;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    // Getters
+    public String getRunId() { return runId; }
+    public boolean isResumed() { return resumed; }
+    public long getAccountsScanned() { return accountsScanned; }
+    public long getAccountsCredited() { return accountsCredited; }
+    public Money getTotalInterest() { return totalInterest; }
+    public int getChunks() { return chunks; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    
+    @Override
+    public String toString() {
+        return String.format("InterestRun{id=%s, resumed=%b, scanned=%d, credited=%d, total=%s, chunks=%d, elapsed=%dms}",
+                             runId, resumed, accountsScanned, accountsCredited, totalInterest, chunks, elapsedMillis);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package services;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram over fixed buckets from 50us to 10s. Recording
+ * is a couple of LongAdder increments, so it is safe on every request path;
+ * percentiles are reported as the upper bound of the bucket they fall in.
+ */
+public class LatencyHistogram {
+    private static final long[] BUCKET_BOUNDS_MICROS = {
+        50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000,
+        100_000, 250_000, 500_000, 1_000_000, 2_500_000, 5_000_000, 10_000_000
+    };
+    
+    private final String name;
+    // Live statistics; the last bucket counts everything above the largest bound
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+    
+    public LatencyHistogram(String name) {
+        this.name = name;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+    
+    public void recordNanos(long elapsedNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(elapsedNanos, 0));
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+    
+    public LatencyStats getStats() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        long max = maxMicros.get();
+        long mean = total == 0 ? 0 : totalMicros.sum() / total;
+        return new LatencyStats(name, total, mean,
+            percentile(counts, total, 0.50, max), percentile(counts, total, 0.90, max),
+            percentile(counts, total, 0.99, max), max);
+    }
+    
+    private static long percentile(long[] counts, long total, double quantile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < BUCKET_BOUNDS_MICROS.length ? Math.min(BUCKET_BOUNDS_MICROS[i], max) : max;
+            }
+        }
+        return max;
+    }
+}
\ No newline at end of file
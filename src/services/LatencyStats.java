@@ -0,0 +1,41 @@
+package services;
+
+/**
+ * Immutable snapshot of a LatencyHistogram. Percentiles are bucket upper
+ * bounds, capped at the largest value recorded.
+ */
+public class LatencyStats {
+    private final String name;
+    private final long count;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p90Micros;
+    private final long p99Micros;
+    private final long maxMicros;
+    
+    public LatencyStats(String name, long count, long meanMicros, long p50Micros, long p90Micros,
+                        long p99Micros, long maxMicros) {
+        this.name = name;
+        this.count = count;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p90Micros = p90Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+    
+    // Getters
+    public String getName() { return name; }
+    public long getCount() { return count; }
+    public long getMeanMicros() { return meanMicros; }
+    public long getP50Micros() { return p50Micros; }
+    public long getP90Micros() { return p90Micros; }
+    public long getP99Micros() { return p99Micros; }
+    public long getMaxMicros() { return maxMicros; }
+    
+    @Override
+    public String toString() {
+        return String.format("Latency{%s: count=%d, mean=%dus, p50<=%dus, p90<=%dus, p99<=%dus, max=%dus}",
+                             name, count, meanMicros, p50Micros, p90Micros, p99Micros, maxMicros);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package services;
+
+/**
+ * Immutable snapshot of in-process account lock activity.
+ */
+public class LockStats {
+    private final long acquisitions;
+    private final long contended;
+    private final long timeouts;
+    private final long averageWaitMicros;
+    private final long maxWaitMicros;
+    
+    public LockStats(long acquisitions, long contended, long timeouts, long averageWaitMicros, long maxWaitMicros) {
+        this.acquisitions = acquisitions;
+        this.contended = contended;
+        this.timeouts = timeouts;
+        this.averageWaitMicros = averageWaitMicros;
+        this.maxWaitMicros = maxWaitMicros;
+    }
+    
+    // Getters
+    public long getAcquisitions() { return acquisitions; }
+    public long getContended() { return contended; }
+    public long getTimeouts() { return timeouts; }
+    public long getAverageWaitMicros() { return averageWaitMicros; }
+    public long getMaxWaitMicros() { return maxWaitMicros; }
+    
+    @Override
+    public String toString() {
+        return String.format("AccountLocks{acquired=%d, contended=%d, timeouts=%d, avgWait=%dus, maxWait=%dus}",
+                             acquisitions, contended, timeouts, averageWaitMicros, maxWaitMicros);
+    }
+}
\ No newline at end of file
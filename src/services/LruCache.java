@@ -0,0 +1,206 @@
+package services;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Size- and TTL-bounded read-through cache with least-recently-used eviction.
+ *
+ * A load races with writes to the same key: the database read may finish
+ * before a concurrent write commits but reach the cache after it. Every write
+ * bumps a per-stripe write stamp, and a load is only installed if its stripe
+ * was not written while it was reading, so a stale load can never overwrite
+ * a newer value.
+ */
+class LruCache<K, V> {
+    private static final int STRIPES = 64;
+    
+    @FunctionalInterface
+    interface Loader<K, V> {
+        V load(K key) throws SQLException; // null when the key does not exist
+    }
+    
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt;
+        
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+    
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final AtomicLongArray stripeStamps = new AtomicLongArray(STRIPES);
+    private final AtomicLong writeStamp = new AtomicLong();
+    
+    // Live statistics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder discardedLoads = new LongAdder();
+    
+    LruCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    V get(K key, Loader<K, V> loader) throws SQLException {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        
+        int stripe = stripe(key);
+        long stamp = stripeStamps.get(stripe);
+        V loaded = loader.load(key);
+        if (loaded != null) {
+            synchronized (entries) {
+                if (stripeStamps.get(stripe) == stamp) {
+                    entries.put(key, new Entry<>(loaded, System.nanoTime()));
+                } else {
+                    discardedLoads.increment();
+                }
+            }
+        }
+        return loaded;
+    }
+    
+    V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAt < ttlNanos) {
+                    hits.increment();
+                    return entry.value;
+                }
+                entries.remove(key);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+    
+    /**
+     * Stamp to pass to putIfUnwritten after a bulk read that covers many keys.
+     */
+    long writeStamp() {
+        return writeStamp.get();
+    }
+    
+    // Installs a value read in bulk, unless any key was written since the stamp was taken
+    void putIfUnwritten(K key, V value, long stamp) {
+        synchronized (entries) {
+            if (writeStamp.get() == stamp) {
+                entries.put(key, new Entry<>(value, System.nanoTime()));
+            } else {
+                discardedLoads.increment();
+            }
+        }
+    }
+    
+    /**
+     * Stamp to pass to updateIfUnwritten, taken before the write it reports.
+     */
+    long writeStamp(K key) {
+        return stripeStamps.get(stripe(key));
+    }
+    
+    /**
+     * Applies committed changes like update, but only to keys whose stripe was
+     * not written since their stamp was taken; the others are dropped, since a
+     * newer value may have been cached meanwhile. All stamps are checked before
+     * any change is applied, so the changes cannot void each other's stamps.
+     */
+    void updateIfUnwritten(Map<K, UnaryOperator<V>> changes, Map<K, Long> stamps) {
+        synchronized (entries) {
+            List<K> unwritten = new ArrayList<>(changes.size());
+            for (K key : changes.keySet()) {
+                if (stripeStamps.get(stripe(key)) == stamps.get(key)) {
+                    unwritten.add(key);
+                }
+            }
+            for (Map.Entry<K, UnaryOperator<V>> change : changes.entrySet()) {
+                K key = change.getKey();
+                markWritten(key);
+                Entry<V> entry = entries.get(key);
+                if (entry == null) {
+                    continue;
+                }
+                if (unwritten.contains(key)) {
+                    entries.put(key, new Entry<>(change.getValue().apply(entry.value), entry.loadedAt));
+                } else {
+                    entries.remove(key);
+                }
+            }
+        }
+    }
+    
+    // Applies a committed change to the cached value, if there is one; keeps its TTL
+    void update(K key, UnaryOperator<V> change) {
+        synchronized (entries) {
+            markWritten(key);
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                entries.put(key, new Entry<>(change.apply(entry.value), entry.loadedAt));
+            }
+        }
+    }
+    
+    void invalidate(K key) {
+        synchronized (entries) {
+            markWritten(key);
+            entries.remove(key);
+        }
+    }
+    
+    void clear() {
+        synchronized (entries) {
+            for (int i = 0; i < STRIPES; i++) {
+                stripeStamps.incrementAndGet(i);
+            }
+            writeStamp.incrementAndGet();
+            entries.clear();
+        }
+    }
+    
+    CacheStats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(),
+                              discardedLoads.sum(), size, maxSize);
+    }
+    
+    private void markWritten(K key) {
+        stripeStamps.incrementAndGet(stripe(key));
+        writeStamp.incrementAndGet();
+    }
+    
+    private static int stripe(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+}
\ No newline at end of file
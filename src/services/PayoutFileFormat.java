@@ -0,0 +1,115 @@
+package services;
+
+import models.Money;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Line formats of salary and payout files. Blank lines, lines starting with
+ * '#' and a CSV header line are skipped.
+ *
+ * CSV: account_number,amount[,description], fields optionally double-quoted.
+ * Fixed width: account number in columns 1-16, amount in 17-31, description
+ * from column 32; fields are space padded.
+ */
+public enum PayoutFileFormat {
+    CSV {
+        @Override
+        BulkCredit parseLine(long lineNumber, String line) {
+            List<String> fields = splitCsv(line);
+            String first = fields.get(0).trim();
+            if (first.equalsIgnoreCase("account_number") || first.equalsIgnoreCase("account")) {
+                return null; // header
+            }
+            if (fields.size() < 2 || fields.size() > 3) {
+                throw new IllegalArgumentException("Expected account_number,amount[,description] but found "
+                    + fields.size() + " fields");
+            }
+            return credit(lineNumber, first, fields.get(1), fields.size() == 3 ? fields.get(2) : null);
+        }
+    },
+    FIXED_WIDTH {
+        @Override
+        BulkCredit parseLine(long lineNumber, String line) {
+            if (line.length() < ACCOUNT_WIDTH + 1) {
+                throw new IllegalArgumentException("Line too short for fixed-width layout");
+            }
+            int amountEnd = Math.min(line.length(), ACCOUNT_WIDTH + AMOUNT_WIDTH);
+            return credit(lineNumber, line.substring(0, ACCOUNT_WIDTH).trim(), line.substring(ACCOUNT_WIDTH, amountEnd),
+                line.length() > amountEnd ? line.substring(amountEnd) : null);
+        }
+    };
+    
+    static final int ACCOUNT_WIDTH = 16;
+    static final int AMOUNT_WIDTH = 15;
+    static final String DEFAULT_DESCRIPTION = "Bulk credit";
+    
+    /**
+     * Parses one line, returning null for lines that carry no credit.
+     *
+     * @throws IllegalArgumentException with the reason if the line is malformed
+     */
+    public BulkCredit parse(long lineNumber, String line) {
+        if (line.isBlank() || line.startsWith("#")) {
+            return null;
+        }
+        return parseLine(lineNumber, line);
+    }
+    
+    abstract BulkCredit parseLine(long lineNumber, String line);
+    
+    // CSV for files named *.csv, fixed width otherwise
+    public static PayoutFileFormat forFile(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".csv") ? CSV : FIXED_WIDTH;
+    }
+    
+    private static BulkCredit credit(long lineNumber, String accountNumber, String amountText, String description) {
+        if (accountNumber.isEmpty()) {
+            throw new IllegalArgumentException("Account number is missing");
+        }
+        Money amount;
+        try {
+            amount = Money.parse(amountText);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid amount '" + amountText.trim() + "'");
+        }
+        if (!amount.isPositive()) {
+            throw new IllegalArgumentException("Amount must be positive");
+        }
+        String text = description == null ? "" : description.trim();
+        return new BulkCredit(lineNumber, accountNumber, amount, text.isEmpty() ? DEFAULT_DESCRIPTION : text);
+    }
+    
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
\ No newline at end of file
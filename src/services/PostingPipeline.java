@@ -0,0 +1,388 @@
+package services;
+
+import database.DatabaseConfig;
+
+import models.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Runs postings on a fixed set of writer threads so callers get a future
+ * back instead of blocking on JDBC.
+ *
+ * Account numbers hash onto POSTING_SHARDS shards, each a bounded FIFO queue
+ * drained by its own writer, so postings keyed by the same account run one
+ * at a time in submission order. A full shard pushes back: submit waits up to
+ * POSTING_ENQUEUE_TIMEOUT for room and otherwise fails the future with
+ * RejectedExecutionException, leaving the caller to retry or shed the load.
+ * Database concurrency is the writer count, whatever the number of callers.
+ *
+ * Deposits and withdrawals queued through post() are group committed: a
+ * writer takes every such posting waiting in its queue, lingers up to
+ * JOURNAL_LINGER_MICROS for more while the batch is short of
+ * JOURNAL_BATCH_SIZE, and commits the batch through GroupCommitJournal in a
+ * single transaction. Other tasks run on their own, in queue order.
+ *
+ * A posting keyed by two accounts on different shards, such as a transfer,
+ * is queued on both shards and runs once both writers have reached it; the
+ * writer that arrives first holds its shard until the posting has run. It is
+ * therefore ordered with every posting keyed by either account. Such postings
+ * are enqueued one at a time, so they sit in the same relative order on every
+ * queue and two of them can never wait on each other.
+ *
+ * Futures complete on the writer thread. Dependent stages added without an
+ * executor run there too and hold up the shard, so slow follow-up work
+ * belongs on the *Async stage variants.
+ */
+public class PostingPipeline {
+    private static final Logger logger = Logger.getLogger(PostingPipeline.class.getName());
+    
+    private static final long WRITER_POLL_MILLIS = 100; // how soon an idle writer notices shutdown
+    
+    private static final PostingPipeline INSTANCE = new PostingPipeline(DatabaseConfig.POSTING_SHARDS,
+        DatabaseConfig.POSTING_QUEUE_CAPACITY, DatabaseConfig.JOURNAL_BATCH_SIZE, DatabaseConfig.JOURNAL_LINGER_MICROS);
+    
+    /**
+     * The synchronous posting to run on the writer.
+     */
+    @FunctionalInterface
+    public interface PostingTask<T> {
+        T post() throws Exception;
+    }
+    
+    // Meeting point of the two writers of a posting queued on two shards
+    private static final class CrossShard {
+        private int arrived; // guarded by this
+        private boolean finished;
+        private boolean cancelled; // the second half never made it into its queue
+    }
+    
+    // Either a task to run or a journal entry to group commit
+    private static final class Posting<T> {
+        private final PostingTask<T> task;
+        private final GroupCommitJournal.Entry entry;
+        private final CrossShard crossShard;
+        private final CompletableFuture<T> future;
+        private final long enqueuedNanos = System.nanoTime();
+        
+        private Posting(PostingTask<T> task, GroupCommitJournal.Entry entry, CrossShard crossShard,
+                        CompletableFuture<T> future) {
+            this.task = task;
+            this.entry = entry;
+            this.crossShard = crossShard;
+            this.future = future;
+        }
+        
+        static <T> Posting<T> of(PostingTask<T> task) {
+            return new Posting<>(task, null, null, new CompletableFuture<>());
+        }
+        
+        static <T> Posting<T> crossShard(PostingTask<T> task) {
+            return new Posting<>(task, null, new CrossShard(), new CompletableFuture<>());
+        }
+        
+        static Posting<Money> of(GroupCommitJournal.Entry entry) {
+            return new Posting<>(null, entry, null, entry.getFuture());
+        }
+        
+        void run() {
+            try {
+                future.complete(task.post());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+    
+    private final List<BlockingQueue<Posting<?>>> shards;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final GroupCommitJournal journal = new GroupCommitJournal();
+    private final Object crossShardEnqueue = new Object();
+    
+    // Live statistics
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private final LatencyHistogram queueWait = new LatencyHistogram("posting queue wait");
+    private final LatencyHistogram latency = new LatencyHistogram("posting latency");
+    
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean closed;
+    private ExecutorService writers;
+    
+    /**
+     * A pipeline with its own writers, for benchmarks and tools; the
+     * application shares getInstance(). A batch size of 1 commits every
+     * posting on its own.
+     */
+    public PostingPipeline(int shardCount, int queueCapacity, int batchSize, long lingerMicros) {
+        this.shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+        this.queueCapacity = queueCapacity;
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerNanos = TimeUnit.MICROSECONDS.toNanos(lingerMicros);
+    }
+    
+    public static PostingPipeline getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Queues a posting behind every earlier posting keyed by the same account.
+     * The returned future fails with RejectedExecutionException if the shard
+     * stays full or the pipeline is shut down.
+     */
+    public <T> CompletableFuture<T> submit(String accountNumber, PostingTask<T> task) {
+        return enqueue(accountNumber, Posting.of(task));
+    }
+    
+    /**
+     * Queues a posting behind every earlier posting keyed by either account,
+     * and ahead of every later one. When the accounts hash to different shards
+     * both shards wait for it, so prefer the single-account submit where one
+     * account is enough to order the posting.
+     */
+    public <T> CompletableFuture<T> submit(String firstAccountNumber, String secondAccountNumber, PostingTask<T> task) {
+        int first = shardIndex(firstAccountNumber);
+        int second = shardIndex(secondAccountNumber);
+        if (first == second) {
+            return submit(firstAccountNumber, task);
+        }
+        
+        start();
+        Posting<T> posting = Posting.crossShard(task);
+        synchronized (crossShardEnqueue) {
+            if (!offer(shards.get(first), posting)) {
+                return rejected(posting, firstAccountNumber);
+            }
+            if (!offer(shards.get(second), posting)) {
+                synchronized (posting.crossShard) {
+                    posting.crossShard.cancelled = true;
+                    posting.crossShard.notifyAll();
+                }
+                shards.get(first).remove(posting); // if a writer already took it, it sees the cancellation
+                return rejected(posting, secondAccountNumber);
+            }
+        }
+        submitted.increment();
+        if (closed && (shards.get(first).remove(posting) | shards.get(second).remove(posting))) {
+            posting.future.completeExceptionally(new RejectedExecutionException("Posting pipeline is shut down"));
+        }
+        return posting.future;
+    }
+    
+    /**
+     * Queues a deposit or withdrawal for group commit, in order with every
+     * other posting keyed by the account. The amount is positive and the
+     * change its effect on the balance; the future carries the new balance.
+     */
+    public CompletableFuture<Money> post(String accountNumber, String type, Money amount, Money change,
+                                         String description) {
+        return enqueue(accountNumber, Posting.of(new GroupCommitJournal.Entry(accountNumber, type, amount, change, description)));
+    }
+    
+    private <T> CompletableFuture<T> enqueue(String accountNumber, Posting<T> posting) {
+        start();
+        BlockingQueue<Posting<?>> queue = shards.get(shardIndex(accountNumber));
+        if (!offer(queue, posting)) {
+            return rejected(posting, accountNumber);
+        }
+        submitted.increment();
+        if (closed && queue.remove(posting)) {
+            // Lost a race with shutdown; no writer will take it
+            posting.future.completeExceptionally(new RejectedExecutionException("Posting pipeline is shut down"));
+        }
+        return posting.future;
+    }
+    
+    private boolean offer(BlockingQueue<Posting<?>> queue, Posting<?> posting) {
+        try {
+            return !closed && queue.offer(posting, DatabaseConfig.POSTING_ENQUEUE_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private <T> CompletableFuture<T> rejected(Posting<T> posting, String accountNumber) {
+        rejected.increment();
+        posting.future.completeExceptionally(new RejectedExecutionException(closed
+            ? "Posting pipeline is shut down" : "Posting queue full for account " + accountNumber));
+        return posting.future;
+    }
+    
+    private int shardIndex(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return ((h ^ (h >>> 16)) & 0x7fffffff) % shards.size();
+    }
+    
+    private void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(shards.size(), r -> {
+            Thread thread = new Thread(r, "posting-writer-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (BlockingQueue<Posting<?>> queue : shards) {
+            writers.execute(() -> drain(queue));
+        }
+    }
+    
+    private void drain(BlockingQueue<Posting<?>> queue) {
+        Posting<?> carried = null; // a task met while filling a batch, run next
+        try {
+            while (!closed) {
+                Posting<?> posting = carried != null ? carried : queue.poll(WRITER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                carried = null;
+                if (posting == null) {
+                    continue;
+                }
+                if (posting.entry == null) {
+                    if (posting.crossShard == null || arriveAtCrossShard(posting)) {
+                        queueWait.recordNanos(System.nanoTime() - posting.enqueuedNanos);
+                        posting.run();
+                        finished(posting);
+                        finishCrossShard(posting);
+                    }
+                    continue;
+                }
+                
+                List<Posting<?>> batch = new ArrayList<>();
+                batch.add(posting);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    Posting<?> next = queue.poll();
+                    if (next == null) {
+                        long remaining = deadline - System.nanoTime();
+                        next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                        if (next == null) {
+                            break;
+                        }
+                    }
+                    if (next.entry == null) {
+                        carried = next;
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (carried != null) {
+                carried.future.completeExceptionally(new CancellationException("Posting pipeline shut down"));
+            }
+        }
+    }
+    
+    /**
+     * Returns true on the second writer to reach a cross-shard posting, which
+     * then runs it. The first writer waits here, holding its shard, until the
+     * posting has run, was cancelled, or the pipeline shuts down.
+     */
+    private boolean arriveAtCrossShard(Posting<?> posting) throws InterruptedException {
+        CrossShard crossShard = posting.crossShard;
+        synchronized (crossShard) {
+            if (crossShard.cancelled) {
+                return false;
+            }
+            if (++crossShard.arrived == 2) {
+                return true;
+            }
+            while (!crossShard.finished && !crossShard.cancelled && !closed) {
+                crossShard.wait(WRITER_POLL_MILLIS);
+            }
+            return false;
+        }
+    }
+    
+    private void finishCrossShard(Posting<?> posting) {
+        if (posting.crossShard != null) {
+            synchronized (posting.crossShard) {
+                posting.crossShard.finished = true;
+                posting.crossShard.notifyAll();
+            }
+        }
+    }
+    
+    private void commit(List<Posting<?>> batch) {
+        List<GroupCommitJournal.Entry> entries = new ArrayList<>(batch.size());
+        long now = System.nanoTime();
+        for (Posting<?> posting : batch) {
+            queueWait.recordNanos(now - posting.enqueuedNanos);
+            entries.add(posting.entry);
+        }
+        commits.add(journal.commit(entries));
+        for (Posting<?> posting : batch) {
+            finished(posting);
+        }
+    }
+    
+    private void finished(Posting<?> posting) {
+        latency.recordNanos(System.nanoTime() - posting.enqueuedNanos);
+        if (posting.future.isCompletedExceptionally()) {
+            failed.increment();
+        } else {
+            completed.increment();
+        }
+    }
+    
+    /**
+     * Stops accepting postings. Writers finish the posting they are running;
+     * postings still queued fail with CancellationException.
+     */
+    public void shutdown() {
+        closed = true;
+        if (writers != null) {
+            writers.shutdown();
+        }
+        int cancelled = 0;
+        for (BlockingQueue<Posting<?>> queue : shards) {
+            Posting<?> posting;
+            while ((posting = queue.poll()) != null) {
+                // A cross-shard posting sits in two queues; count it once
+                if (posting.future.completeExceptionally(new CancellationException("Posting pipeline shut down"))) {
+                    cancelled++;
+                }
+            }
+        }
+        if (cancelled > 0) {
+            logger.warning("Cancelled " + cancelled + " queued postings at shutdown");
+        }
+    }
+    
+    public PostingStats getStats() {
+        int queued = 0;
+        int maxShardDepth = 0;
+        for (BlockingQueue<Posting<?>> queue : shards) {
+            int depth = queue.size();
+            queued += depth;
+            maxShardDepth = Math.max(maxShardDepth, depth);
+        }
+        return new PostingStats(shards.size(), queueCapacity, queued, maxShardDepth, submitted.sum(),
+            completed.sum(), failed.sum(), rejected.sum(), commits.sum(), queueWait.getStats(), latency.getStats());
+    }
+}
\ No newline at end of file
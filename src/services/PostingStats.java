@@ -0,0 +1,57 @@
+package services;
+
+/**
+ * Immutable snapshot of posting pipeline activity.
+ */
+public class PostingStats {
+    private final int shards;
+    private final int queueCapacity;
+    private final int queued;
+    private final int maxShardDepth;
+    private final long submitted;
+    private final long completed;
+    private final long failed;
+    private final long rejected;
+    private final long commits;
+    private final LatencyStats queueWait;
+    private final LatencyStats latency;
+    
+    public PostingStats(int shards, int queueCapacity, int queued, int maxShardDepth, long submitted,
+                        long completed, long failed, long rejected, long commits, LatencyStats queueWait, LatencyStats latency) {
+        this.shards = shards;
+        this.queueCapacity = queueCapacity;
+        this.queued = queued;
+        this.maxShardDepth = maxShardDepth;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.failed = failed;
+        this.rejected = rejected;
+        this.commits = commits;
+        this.queueWait = queueWait;
+        this.latency = latency;
+    }
+    
+    // Getters
+    public int getShards() { return shards; }
+    public int getQueueCapacity() { return queueCapacity; }
+    public int getQueued() { return queued; }
+    public int getMaxShardDepth() { return maxShardDepth; }
+    public long getSubmitted() { return submitted; }
+    public long getCompleted() { return completed; }
+    public long getFailed() { return failed; }
+    public long getRejected() { return rejected; }
+    public long getCommits() { return commits; }
+    public LatencyStats getQueueWait() { return queueWait; }
+    public LatencyStats getLatency() { return latency; }
+    
+    // Average group-commit batch; 1 when nothing is being batched
+    public double getPostingsPerCommit() {
+        return commits == 0 ? 0 : (double) (completed + failed) / commits;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Postings{queued=%d, maxShardDepth=%d/%d, submitted=%d, completed=%d, failed=%d, rejected=%d, commits=%d, %s, %s}",
+                             queued, maxShardDepth, queueCapacity, submitted, completed, failed, rejected, commits, queueWait, latency);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package services;
+
+import database.DatabaseConfig;
+import models.Permission;
+import models.User;
+import models.UserRole;
+
+/**
+ * A signed-in user. Role and permissions are fixed at sign-in, so checks
+ * against a session never go back to the database.
+ */
+public class Session {
+    private final String token;
+    private final User user;
+    private final UserRole role;
+    private final long permissions;
+    private final long createdMillis;
+    private volatile long lastAccessMillis;
+    
+    Session(String token, User user, long createdMillis) {
+        this.token = token;
+        this.user = user;
+        this.role = user.getRole();
+        this.permissions = Permission.maskFor(role);
+        this.createdMillis = createdMillis;
+        this.lastAccessMillis = createdMillis;
+    }
+    
+    public boolean hasPermission(Permission permission) {
+        return (permissions & permission.bit()) != 0;
+    }
+    
+    boolean isExpired(long nowMillis) {
+        return nowMillis - lastAccessMillis > DatabaseConfig.SESSION_IDLE_TIMEOUT
+            || nowMillis - createdMillis > DatabaseConfig.SESSION_ABSOLUTE_TIMEOUT;
+    }
+    
+    void touch(long nowMillis) {
+        lastAccessMillis = nowMillis;
+    }
+    
+    // Getters
+    public String getToken() { return token; }
+    public User getUser() { return user; }
+    public int getUserId() { return user.getUserId(); }
+    public UserRole getRole() { return role; }
+    public long getCreatedMillis() { return createdMillis; }
+    public long getLastAccessMillis() { return lastAccessMillis; }
+    
+    @Override
+    public String toString() {
+        // Never log the token
+        return "Session{user=" + user.getUsername() + ", role=" + role + "}";
+    }
+}
\ No newline at end of file
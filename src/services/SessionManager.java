@@ -0,0 +1,138 @@
+package services;
+
+import database.DatabaseConfig;
+import models.User;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Every signed-in session of this process, keyed by an opaque random token.
+ *
+ * A session expires after SESSION_IDLE_TIMEOUT without use or
+ * SESSION_ABSOLUTE_TIMEOUT after sign-in, whichever comes first. Lookups
+ * reject expired sessions on the spot; a background sweeper removes the ones
+ * nobody looks up again. Lookups are a single concurrent map read, so any
+ * number of request threads can validate tokens without contending.
+ */
+public class SessionManager {
+    private static final Logger logger = Logger.getLogger(SessionManager.class.getName());
+    
+    private static final SessionManager INSTANCE = new SessionManager();
+    
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    
+    // Live statistics
+    private final LongAdder created = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    
+    private final AtomicBoolean started = new AtomicBoolean();
+    private ScheduledExecutorService sweeper;
+    
+    private SessionManager() {
+    }
+    
+    public static SessionManager getInstance() {
+        return INSTANCE;
+    }
+    
+    public Session create(User user) {
+        start();
+        byte[] bytes = new byte[DatabaseConfig.SESSION_TOKEN_BYTES];
+        random.nextBytes(bytes);
+        Session session = new Session(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes),
+            user, System.currentTimeMillis());
+        sessions.put(session.getToken(), session);
+        created.increment();
+        return session;
+    }
+    
+    /**
+     * Returns the live session for a token and marks it used, or empty if the
+     * token is unknown or its session has expired.
+     */
+    public Optional<Session> get(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return Optional.empty();
+        }
+        long now = System.currentTimeMillis();
+        if (session.isExpired(now)) {
+            if (sessions.remove(token, session)) {
+                expired.increment();
+            }
+            return Optional.empty();
+        }
+        session.touch(now);
+        return Optional.of(session);
+    }
+    
+    public void invalidate(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+    
+    public int getActiveSessions() {
+        return sessions.size();
+    }
+    
+    public long getSessionsCreated() {
+        return created.sum();
+    }
+    
+    public long getSessionsExpired() {
+        return expired.sum();
+    }
+    
+    private void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly,
+            DatabaseConfig.SESSION_SWEEP_INTERVAL, DatabaseConfig.SESSION_SWEEP_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+    
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+    
+    private void sweepQuietly() {
+        try {
+            long now = System.currentTimeMillis();
+            int removed = 0;
+            for (Session session : sessions.values()) {
+                if (session.isExpired(now) && sessions.remove(session.getToken(), session)) {
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                expired.add(removed);
+                logger.fine("Swept " + removed + " expired sessions");
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Session sweep failed; retrying on the next interval", e);
+        }
+    }
+}
\ No newline at end of file
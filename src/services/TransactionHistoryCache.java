@@ -0,0 +1,127 @@
+package services;
+
+import dao.Page;
+import dao.TransactionDAO;
+import dao.TransactionQuery;
+import database.DatabaseConfig;
+import models.Transaction;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Recent transaction history per account, kept current by tail fetches.
+ *
+ * Each account holds its newest HISTORY_WINDOW_SIZE transactions. The first
+ * read loads one page; every later read only asks for rows at or after the
+ * newest timestamp seen, less HISTORY_TAIL_OVERLAP, and merges them in. The
+ * overlap catches rows whose transaction committed after a later-stamped one;
+ * rows already held are skipped by key. Anything older than the window is
+ * paged on demand with findTransactions and is not cached.
+ */
+public class TransactionHistoryCache {
+    private static final TransactionHistoryCache INSTANCE = new TransactionHistoryCache();
+    
+    // Newest first, ties broken by transaction id as in TransactionQuery
+    public static final Comparator<Transaction> NEWEST_FIRST = Comparator
+        .comparing(Transaction::getTimestamp)
+        .thenComparing(Transaction::getTransactionId)
+        .reversed();
+    
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+    // A window expires HISTORY_CACHE_TTL after it was loaded, however often it is read, and is rebuilt from a fresh page
+    private final LruCache<String, AccountHistory> histories = new LruCache<>(
+        DatabaseConfig.HISTORY_CACHE_MAX_ACCOUNTS, DatabaseConfig.HISTORY_CACHE_TTL);
+    
+    private TransactionHistoryCache() {
+    }
+    
+    public static TransactionHistoryCache getInstance() {
+        return INSTANCE;
+    }
+    
+    // Newest-first window for one account, brought up to date first
+    public List<Transaction> getRecent(String accountNumber) throws SQLException {
+        return histories.get(accountNumber, AccountHistory::new).refresh();
+    }
+    
+    /**
+     * Newest-first window across several accounts. Every row in the combined
+     * top HISTORY_WINDOW_SIZE is in its own account's window, so the result
+     * is an unbroken prefix of the combined history.
+     */
+    public List<Transaction> getRecent(Collection<String> accountNumbers) throws SQLException {
+        List<Transaction> combined = new ArrayList<>();
+        for (String accountNumber : accountNumbers) {
+            combined.addAll(getRecent(accountNumber));
+        }
+        combined.sort(NEWEST_FIRST);
+        return combined.size() > DatabaseConfig.HISTORY_WINDOW_SIZE
+            ? new ArrayList<>(combined.subList(0, DatabaseConfig.HISTORY_WINDOW_SIZE))
+            : combined;
+    }
+    
+    public void invalidate(String accountNumber) {
+        histories.invalidate(accountNumber);
+    }
+    
+    public CacheStats getStats() {
+        return histories.getStats();
+    }
+    
+    private final class AccountHistory {
+        private final String accountNumber;
+        private final TreeSet<Transaction> window = new TreeSet<>(NEWEST_FIRST);
+        private LocalDateTime newest;
+        private boolean loaded;
+        
+        AccountHistory(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+        
+        synchronized List<Transaction> refresh() throws SQLException {
+            if (!loaded) {
+                TransactionQuery query = TransactionQuery.builder()
+                    .account(accountNumber)
+                    .limit(DatabaseConfig.HISTORY_WINDOW_SIZE)
+                    .build();
+                merge(transactionDAO.findTransactions(query).getItems());
+                loaded = true;
+            } else {
+                LocalDateTime from = newest == null ? null
+                    : newest.minusNanos(DatabaseConfig.HISTORY_TAIL_OVERLAP * 1_000_000);
+                TransactionQuery query = TransactionQuery.builder()
+                    .account(accountNumber)
+                    .between(from, null)
+                    .sort(TransactionQuery.Sort.OLDEST_FIRST)
+                    .limit(DatabaseConfig.MAX_PAGE_SIZE)
+                    .build();
+                
+                Page<Transaction> page = transactionDAO.findTransactions(query);
+                merge(page.getItems());
+                while (page.hasMore()) {
+                    page = transactionDAO.findTransactions(query.toBuilder().after(page.getNext()).build());
+                    merge(page.getItems());
+                }
+            }
+            return new ArrayList<>(window);
+        }
+        
+        private void merge(List<Transaction> transactions) {
+            for (Transaction transaction : transactions) {
+                // Equal under the comparator means same key: the row is already held
+                if (window.add(transaction) && (newest == null || transaction.getTimestamp().isAfter(newest))) {
+                    newest = transaction.getTimestamp();
+                }
+            }
+            while (window.size() > DatabaseConfig.HISTORY_WINDOW_SIZE) {
+                window.pollLast();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package services;
+
+import dao.AccountDAO;
+import dao.ChangeLogDAO;
+import dao.PostingResult;
+import dao.TransactionDAO;
+import models.Money;
+import models.Transaction;
+import exceptions.InsufficientFundsException;
+import exceptions.AccountNotFoundException;
+import database.DatabaseConfig;
+import database.DatabaseManager;
+import database.UnitOfWork;
+import utils.IdGenerator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.logging.Level;
+
+/**
+ * Moves money between two accounts in one database transaction.
+ * Both rows are locked in account-number order before either balance changes,
+ * so opposing transfers queue behind each other instead of deadlocking. When
+ * MySQL still aborts the transaction for lock contention the whole transfer is
+ * retried with jittered exponential backoff.
+ */
+public class TransferEngine {
+    private static final Logger logger = Logger.getLogger(TransferEngine.class.getName());
+    
+    private final AccountDAO accountDAO;
+    private final TransactionDAO transactionDAO;
+    private final ChangeLogDAO changeLogDAO = new ChangeLogDAO();
+    private final DashboardAggregates aggregates = DashboardAggregates.getInstance();
+    private final AccountCache accountCache = AccountCache.getInstance();
+    
+    // Live statistics
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder deadlocks = new LongAdder();
+    private final LongAdder lockWaitTimeouts = new LongAdder();
+    private final LongAdder retriesExhausted = new LongAdder();
+    
+    public TransferEngine(AccountDAO accountDAO, TransactionDAO transactionDAO) {
+        this.accountDAO = accountDAO;
+        this.transactionDAO = transactionDAO;
+    }
+    
+    /**
+     * Executes the transfer, retrying on deadlocks and lock-wait timeouts.
+     * Returns the reference number shared by both ledger rows.
+     */
+    public String transfer(String fromAccountNumber, String toAccountNumber, Money amount, String description)
+            throws AccountNotFoundException, InsufficientFundsException, SQLException {
+        // Allocated once so every retry of this transfer carries the same reference
+        String transferRef = IdGenerator.nextTransferReference();
+        for (int attempt = 1; ; attempt++) {
+            attempts.increment();
+            try {
+                attemptTransfer(transferRef, fromAccountNumber, toAccountNumber, amount, description);
+                completed.increment();
+                return transferRef;
+            } catch (SQLException e) {
+                if (!DatabaseManager.isRetryable(e)) {
+                    throw e;
+                }
+                recordContention(e);
+                if (attempt > DatabaseConfig.TRANSFER_MAX_RETRIES) {
+                    retriesExhausted.increment();
+                    logger.log(Level.WARNING, "Transfer from " + fromAccountNumber + " to " + toAccountNumber
+                        + " abandoned after " + attempt + " attempts", e);
+                    throw e;
+                }
+                retries.increment();
+                logger.fine("Retrying transfer from " + fromAccountNumber + " to " + toAccountNumber
+                    + " after lock contention (attempt " + attempt + "): " + e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+    
+    private void attemptTransfer(String transferRef, String fromAccountNumber, String toAccountNumber,
+                                 Money amount, String description)
+            throws AccountNotFoundException, InsufficientFundsException, SQLException {
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            Connection conn = uow.getConnection();
+            
+            Set<String> locked = accountDAO.lockAccounts(conn, List.of(fromAccountNumber, toAccountNumber));
+            if (!locked.contains(fromAccountNumber)) {
+                throw new AccountNotFoundException("Source account not found: " + fromAccountNumber);
+            }
+            if (!locked.contains(toAccountNumber)) {
+                throw new AccountNotFoundException("Destination account not found: " + toAccountNumber);
+            }
+            
+            Map<String, Long> stamps = accountCache.writeStamps(locked);
+            PostingResult debit = accountDAO.postBalanceChange(conn, fromAccountNumber, amount.negate());
+            Money fromBalance = debit.balanceOrThrow(fromAccountNumber, "Source account");
+            PostingResult credit = accountDAO.postBalanceChange(conn, toAccountNumber, amount);
+            Money toBalance = credit.balanceOrThrow(toAccountNumber, "Destination account");
+            
+            Transaction debitTransaction = new Transaction(
+                fromAccountNumber, "TRANSFER_OUT", amount, fromBalance,
+                "Transfer to " + toAccountNumber + " - " + description);
+            debitTransaction.setReferenceNumber(transferRef);
+            
+            Transaction creditTransaction = new Transaction(
+                toAccountNumber, "TRANSFER_IN", amount, toBalance,
+                "Transfer from " + fromAccountNumber + " - " + description);
+            creditTransaction.setReferenceNumber(transferRef);
+            
+            transactionDAO.saveTransaction(conn, debitTransaction);
+            transactionDAO.saveTransaction(conn, creditTransaction);
+            changeLogDAO.record(conn, ChangeLogDAO.ACCOUNT, List.of(fromAccountNumber, toAccountNumber));
+            uow.commit();
+            
+            Map<String, Money> balances = new HashMap<>();
+            balances.put(fromAccountNumber, fromBalance);
+            balances.put(toAccountNumber, toBalance);
+            accountCache.balancesChanged(balances, stamps);
+            aggregates.recordPosting(debit.getAccountType(), "TRANSFER_OUT", amount.negate());
+            aggregates.recordPosting(credit.getAccountType(), "TRANSFER_IN", amount);
+        }
+    }
+    
+    private void recordContention(SQLException e) {
+        if (DatabaseManager.isDeadlock(e)) {
+            deadlocks.increment();
+        } else if (DatabaseManager.isLockWaitTimeout(e)) {
+            lockWaitTimeouts.increment();
+        }
+    }
+    
+    // Full jitter keeps retrying transfers on a hot account from colliding again in lockstep
+    private void backoff(int attempt) throws SQLException {
+        long ceiling = Math.min(DatabaseConfig.TRANSFER_RETRY_MAX_DELAY,
+                                DatabaseConfig.TRANSFER_RETRY_BASE_DELAY << Math.min(attempt - 1, 16));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientException("Interrupted while waiting to retry transfer", e);
+        }
+    }
+    
+    public TransferStats getStats() {
+        return new TransferStats(
+            completed.sum(),
+            attempts.sum(),
+            retries.sum(),
+            deadlocks.sum(),
+            lockWaitTimeouts.sum(),
+            retriesExhausted.sum());
+    }
+}
\ No newline at end of file
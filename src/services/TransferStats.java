@@ -0,0 +1,37 @@
+package services;
+
+/**
+ * Immutable snapshot of transfer engine activity.
+ */
+public class TransferStats {
+    private final long completed;
+    private final long attempts;
+    private final long retries;
+    private final long deadlocks;
+    private final long lockWaitTimeouts;
+    private final long retriesExhausted;
+    
+    public TransferStats(long completed, long attempts, long retries, long deadlocks,
+                         long lockWaitTimeouts, long retriesExhausted) {
+        this.completed = completed;
+        this.attempts = attempts;
+        this.retries = retries;
+        this.deadlocks = deadlocks;
+        this.lockWaitTimeouts = lockWaitTimeouts;
+        this.retriesExhausted = retriesExhausted;
+    }
+    
+    // Getters
+    public long getCompleted() { return completed; }
+    public long getAttempts() { return attempts; }
+    public long getRetries() { return retries; }
+    public long getDeadlocks() { return deadlocks; }
+    public long getLockWaitTimeouts() { return lockWaitTimeouts; }
+    public long getRetriesExhausted() { return retriesExhausted; }
+    
+    @Override
+    public String toString() {
+        return String.format("Transfers{completed=%d, attempts=%d, retries=%d, deadlocks=%d, lockWaitTimeouts=%d, exhausted=%d}",
+                             completed, attempts, retries, deadlocks, lockWaitTimeouts, retriesExhausted);
+    }
+}
\ No newline at end of file
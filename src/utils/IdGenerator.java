@@ -0,0 +1,159 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Time-ordered unique identifiers for transactions and transfer references.
+ *
+ * Each id packs 41 bits of milliseconds since 2024-01-01 UTC, a 10-bit node id
+ * and a 12-bit per-millisecond sequence into a positive long. Ids from one JVM
+ * are strictly increasing; ids from different JVMs never collide because no
+ * two of them hold the same node id. A JVM either runs with its own
+ * -Dbanking.node.id (0-1023), or leases one from the database at startup
+ * (see database.NodeIdLease). Until it has a node id, or once its lease has
+ * lapsed, nextId() throws instead of guessing.
+ *
+ * Rendered ids are the prefix followed by the value as 19 zero-padded digits,
+ * so string order matches numeric order and new rows append to the end of the
+ * primary key index.
+ */
+public final class IdGenerator {
+    private static final Logger logger = Logger.getLogger(IdGenerator.class.getName());
+    
+    public static final String TRANSACTION_PREFIX = "TXN";
+    public static final String TRANSFER_PREFIX = "TRF";
+    
+    private static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final int DIGITS = 19; // Long.MAX_VALUE has 19 decimal digits
+    
+    // Node id and how long this JVM may use it
+    private static final class Node {
+        final long id;
+        final long validUntilNanos;
+        final boolean leased;
+        
+        Node(long id, long validUntilNanos, boolean leased) {
+            this.id = id;
+            this.validUntilNanos = validUntilNanos;
+            this.leased = leased;
+        }
+    }
+    
+    private static volatile Node node = configuredNode();
+    
+    // Last issued (timestamp << SEQUENCE_BITS | sequence)
+    private static final AtomicLong state = new AtomicLong();
+    
+    private static final ThreadLocal<char[]> buffer = ThreadLocal.withInitial(() -> new char[32]);
+    
+    private IdGenerator() {
+        // Utility class
+    }
+    
+    /**
+     * Returns the next id. Never blocks: when the sequence of the current
+     * millisecond is exhausted, or the wall clock steps backwards, the id
+     * borrows the following millisecond so ordering is preserved.
+     *
+     * @throws IllegalStateException if this JVM holds no node id
+     */
+    public static long nextId() {
+        Node current = node;
+        if (current == null || (current.leased && System.nanoTime() - current.validUntilNanos >= 0)) {
+            throw new IllegalStateException(current == null
+                ? "No node id: set -Dbanking.node.id or initialize the database to lease one"
+                : "Node id lease " + current.id + " has lapsed; ids are not issued until it is renewed");
+        }
+        long now = System.currentTimeMillis() - EPOCH;
+        while (true) {
+            long last = state.get();
+            long next = (last >>> SEQUENCE_BITS) < now ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (current.id << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+    
+    public static String nextTransactionId() {
+        return format(TRANSACTION_PREFIX, nextId());
+    }
+    
+    public static String nextTransferReference() {
+        return format(TRANSFER_PREFIX, nextId());
+    }
+    
+    /**
+     * Renders prefix + 19 zero-padded digits through a per-thread buffer, so the
+     * returned String is the only allocation.
+     */
+    public static String format(String prefix, long id) {
+        char[] chars = buffer.get();
+        int length = prefix.length() + DIGITS;
+        prefix.getChars(0, prefix.length(), chars, 0);
+        long remaining = id;
+        for (int i = length - 1; i >= prefix.length(); i--) {
+            chars[i] = (char) ('0' + (remaining % 10));
+            remaining /= 10;
+        }
+        return new String(chars, 0, length);
+    }
+    
+    // -1 until a node id is configured or leased
+    public static long getNodeId() {
+        Node current = node;
+        return current == null ? -1 : current.id;
+    }
+    
+    public static boolean isNodeIdConfigured() {
+        Node current = node;
+        return current != null && !current.leased;
+    }
+    
+    public static int getNodeIdCount() {
+        return (int) (MAX_NODE_ID + 1);
+    }
+    
+    /**
+     * Lets this JVM issue ids as the given node until the deadline, measured
+     * on System.nanoTime(). Called by the lease holder on every renewal.
+     */
+    public static synchronized void leaseNodeId(long nodeId, long validUntilNanos) {
+        if (isNodeIdConfigured()) {
+            throw new IllegalStateException("Node id is configured as " + node.id + "; it is not leased");
+        }
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be 0-" + MAX_NODE_ID + ": " + nodeId);
+        }
+        node = new Node(nodeId, validUntilNanos, true);
+    }
+    
+    // The lease was lost or released; ids stop until another one is leased
+    public static synchronized void revokeNodeId() {
+        if (node != null && node.leased) {
+            node = null;
+        }
+    }
+    
+    private static Node configuredNode() {
+        String configured = System.getProperty("banking.node.id");
+        if (configured == null) {
+            return null;
+        }
+        try {
+            long nodeId = Long.parseLong(configured.trim());
+            if (nodeId >= 0 && nodeId <= MAX_NODE_ID) {
+                logger.info("Using configured node id " + nodeId);
+                return new Node(nodeId, 0, false);
+            }
+        } catch (NumberFormatException e) {
+            // Fall through to the error below
+        }
+        throw new IllegalStateException("Invalid banking.node.id '" + configured + "', expected 0-" + MAX_NODE_ID);
+    }
+}
\ No newline at end of file